@@ -0,0 +1,270 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package codec;
+
+import utility.Util;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Table driven single byte EBCDIC code page.
+ * <p>
+ * The tables are derived once from the matching JDK charset and then used directly, so converting a byte or a
+ * character costs one array lookup with none of the CharsetDecoder buffer and state handling. This lets text be
+ * downloaded in binary mode, which spares z/OSMF the conversion, and converted on the client instead.
+ * <p>
+ * Any single byte EBCDIC code page known to the JDK can be used, e.g. IBM-037, IBM-1047, IBM-273 or IBM-1140.
+ * Characters outside the code page are encoded as the EBCDIC substitute character 0x3F.
+ *
+ * @version 1.0
+ */
+public class EbcdicCodePage {
+
+    /**
+     * EBCDIC substitute character
+     */
+    public static final byte SUB = 0x3F;
+
+    private static final Map<String, EbcdicCodePage> CODE_PAGES = new ConcurrentHashMap<>();
+
+    private final String name;
+
+    private final char[] decodeTable = new char[256];
+
+    private final byte[] encodeTable = new byte[65536];
+
+    /**
+     * UTF-8 bytes of each code point, indexed by EBCDIC byte
+     */
+    private final byte[][] utf8Table = new byte[256][];
+
+    private EbcdicCodePage(String name, char[] decodeTable) {
+        this.name = name;
+        System.arraycopy(decodeTable, 0, this.decodeTable, 0, 256);
+        Arrays.fill(encodeTable, SUB);
+        for (int b = 255; b >= 0; b--) {
+            char c = decodeTable[b];
+            // the lowest byte wins where several map to one character, e.g. NL 0x15 and LF 0x25 to '\n'
+            if (c != '\uFFFD') {
+                encodeTable[c] = (byte) b;
+            }
+            utf8Table[b] = String.valueOf(c).getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Retrieve a code page by its name or number, e.g. "IBM-1047", "IBM1047", "Cp1047" or "1047"
+     *
+     * @param name code page name
+     * @return code page
+     * @throws IllegalArgumentException if the code page is unknown or not a single byte code page
+     */
+    public static EbcdicCodePage forName(String name) {
+        Util.checkNullParameter(name == null, "name is null");
+        String number = name.toUpperCase(Locale.ROOT).replaceFirst("^(X-)?(IBM-?|CP)", "");
+        Util.checkIllegalParameter(!number.matches("\\d+"), "unknown code page " + name);
+        return forNumber(Integer.parseInt(number));
+    }
+
+    /**
+     * Retrieve a code page by its number, e.g. 1047 as used by DownloadParams encoding
+     *
+     * @param number code page number
+     * @return code page
+     * @throws IllegalArgumentException if the code page is unknown or not a single byte code page
+     */
+    public static EbcdicCodePage forNumber(int number) {
+        String name = String.format("IBM-%03d", number);
+        return CODE_PAGES.computeIfAbsent(name, n -> {
+            char[] table = getDecodeTable(getCharset(number));
+            Util.checkIllegalParameter(table[0x40] != ' ' || table[0xC1] != 'A', "not an EBCDIC code page " + n);
+            return new EbcdicCodePage(n, table);
+        });
+    }
+
+    /**
+     * Retrieve the code page name
+     *
+     * @return name value, e.g. IBM-1047
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Decode a single EBCDIC byte
+     *
+     * @param b EBCDIC byte
+     * @return character value
+     */
+    public char decode(byte b) {
+        return decodeTable[b & 0xFF];
+    }
+
+    /**
+     * Encode a single character
+     *
+     * @param c character value
+     * @return EBCDIC byte, SUB if the character is not in the code page
+     */
+    public byte encode(char c) {
+        return encodeTable[c];
+    }
+
+    /**
+     * Decode EBCDIC bytes into characters
+     *
+     * @param src    EBCDIC bytes
+     * @param srcOff offset of the first byte to decode
+     * @param dst    destination characters
+     * @param dstOff offset of the first character to write
+     * @param length number of bytes to decode
+     */
+    public void decode(byte[] src, int srcOff, char[] dst, int dstOff, int length) {
+        char[] table = decodeTable;
+        for (int i = 0; i < length; i++) {
+            dst[dstOff + i] = table[src[srcOff + i] & 0xFF];
+        }
+    }
+
+    /**
+     * Encode characters into EBCDIC bytes
+     *
+     * @param src    characters
+     * @param srcOff offset of the first character to encode
+     * @param dst    destination EBCDIC bytes
+     * @param dstOff offset of the first byte to write
+     * @param length number of characters to encode
+     */
+    public void encode(char[] src, int srcOff, byte[] dst, int dstOff, int length) {
+        byte[] table = encodeTable;
+        for (int i = 0; i < length; i++) {
+            dst[dstOff + i] = table[src[srcOff + i]];
+        }
+    }
+
+    /**
+     * Decode EBCDIC bytes into a String
+     *
+     * @param src    EBCDIC bytes
+     * @param offset offset of the first byte to decode
+     * @param length number of bytes to decode
+     * @return decoded text
+     */
+    public String decode(byte[] src, int offset, int length) {
+        char[] chars = new char[length];
+        decode(src, offset, chars, 0, length);
+        return new String(chars);
+    }
+
+    /**
+     * Decode the remaining EBCDIC bytes of a buffer into a String without moving its position, e.g. a record
+     * returned by RecordReader
+     *
+     * @param src EBCDIC bytes
+     * @return decoded text
+     */
+    public String decode(ByteBuffer src) {
+        Util.checkNullParameter(src == null, "src is null");
+        char[] chars = new char[src.remaining()];
+        if (src.hasArray()) {
+            decode(src.array(), src.arrayOffset() + src.position(), chars, 0, chars.length);
+        } else {
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = decode(src.get(src.position() + i));
+            }
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Encode a String into EBCDIC bytes
+     *
+     * @param text text to encode
+     * @return EBCDIC bytes
+     */
+    public byte[] encode(String text) {
+        Util.checkNullParameter(text == null, "text is null");
+        char[] chars = text.toCharArray();
+        byte[] bytes = new byte[chars.length];
+        encode(chars, 0, bytes, 0, chars.length);
+        return bytes;
+    }
+
+    /**
+     * Convert EBCDIC bytes into UTF-8 bytes
+     *
+     * @param src    EBCDIC bytes
+     * @param srcOff offset of the first byte to convert
+     * @param length number of bytes to convert
+     * @param dst    destination, needs room for 3 bytes per converted byte
+     * @param dstOff offset of the first byte to write
+     * @return number of bytes written to dst
+     */
+    public int toUtf8(byte[] src, int srcOff, int length, byte[] dst, int dstOff) {
+        byte[][] table = utf8Table;
+        int pos = dstOff;
+        for (int i = 0; i < length; i++) {
+            byte[] utf8 = table[src[srcOff + i] & 0xFF];
+            if (utf8.length == 1) {
+                dst[pos++] = utf8[0];
+            } else {
+                for (byte b : utf8) {
+                    dst[pos++] = b;
+                }
+            }
+        }
+        return pos - dstOff;
+    }
+
+    @Override
+    public String toString() {
+        return "EbcdicCodePage{" +
+                "name=" + name +
+                '}';
+    }
+
+    private static Charset getCharset(int number) {
+        for (String candidate : List.of("IBM%03d", "IBM0%d", "x-IBM%d", "Cp%03d")) {
+            try {
+                Charset charset = Charset.forName(String.format(candidate, number));
+                if (charset.canEncode() && charset.newEncoder().maxBytesPerChar() == 1.0f) {
+                    return charset;
+                }
+            } catch (IllegalCharsetNameException | UnsupportedCharsetException ignored) {
+            }
+        }
+        throw new IllegalArgumentException("unknown or multi byte code page " + number);
+    }
+
+    private static char[] getDecodeTable(Charset charset) {
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        char[] table = new char[256];
+        for (int b = 0; b < 256; b++) {
+            try {
+                CharBuffer chars = decoder.reset().decode(ByteBuffer.wrap(new byte[]{(byte) b}));
+                table[b] = chars.remaining() == 1 ? chars.get() : '\uFFFD';
+            } catch (CharacterCodingException e) {
+                table[b] = '\uFFFD';
+            }
+        }
+        return table;
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package codec;
+
+import utility.Util;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * InputStream converting an EBCDIC byte stream into UTF-8 bytes with a table driven code page, see
+ * EbcdicCodePage. Wrap a binary mode download with it to get the content text mode would have returned
+ * without z/OSMF doing the conversion.
+ *
+ * @version 1.0
+ */
+public class EbcdicInputStream extends InputStream {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream inputStream;
+
+    private final EbcdicCodePage codePage;
+
+    private final byte[] inBuffer;
+
+    private final byte[] outBuffer;
+
+    private int position;
+
+    private int limit;
+
+    /**
+     * EbcdicInputStream constructor
+     *
+     * @param inputStream EBCDIC byte stream
+     * @param codePage    code page of the stream
+     */
+    public EbcdicInputStream(InputStream inputStream, EbcdicCodePage codePage) {
+        Util.checkNullParameter(inputStream == null, "inputStream is null");
+        Util.checkNullParameter(codePage == null, "codePage is null");
+        this.inputStream = inputStream;
+        this.codePage = codePage;
+        this.inBuffer = new byte[BUFFER_SIZE];
+        this.outBuffer = new byte[BUFFER_SIZE * 3];
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return outBuffer[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        int count = Math.min(len, limit - position);
+        System.arraycopy(outBuffer, position, b, off, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return limit - position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        inputStream.close();
+    }
+
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = inputStream.read(inBuffer);
+        } while (read == 0);
+        if (read < 0) {
+            return false;
+        }
+        position = 0;
+        limit = codePage.toUtf8(inBuffer, 0, read, outBuffer, 0);
+        return true;
+    }
+
+}
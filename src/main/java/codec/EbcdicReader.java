@@ -0,0 +1,70 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package codec;
+
+import utility.Util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+/**
+ * Reader decoding an EBCDIC byte stream with a table driven code page, see EbcdicCodePage.
+ *
+ * @version 1.0
+ */
+public class EbcdicReader extends Reader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream inputStream;
+
+    private final EbcdicCodePage codePage;
+
+    private final byte[] buffer;
+
+    /**
+     * EbcdicReader constructor
+     *
+     * @param inputStream EBCDIC byte stream
+     * @param codePage    code page of the stream
+     */
+    public EbcdicReader(InputStream inputStream, EbcdicCodePage codePage) {
+        Util.checkNullParameter(inputStream == null, "inputStream is null");
+        Util.checkNullParameter(codePage == null, "codePage is null");
+        this.inputStream = inputStream;
+        this.codePage = codePage;
+        this.buffer = new byte[BUFFER_SIZE];
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        int read = inputStream.read(buffer, 0, Math.min(len, buffer.length));
+        if (read > 0) {
+            codePage.decode(buffer, 0, cbuf, off, read);
+        }
+        return read;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = inputStream.read();
+        return b < 0 ? -1 : codePage.decode((byte) b);
+    }
+
+    @Override
+    public void close() throws IOException {
+        inputStream.close();
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package codec;
+
+import utility.Util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+/**
+ * Writer encoding characters into an EBCDIC byte stream with a table driven code page, see EbcdicCodePage.
+ * Characters outside the code page are written as the EBCDIC substitute character.
+ *
+ * @version 1.0
+ */
+public class EbcdicWriter extends Writer {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final OutputStream outputStream;
+
+    private final EbcdicCodePage codePage;
+
+    private final byte[] buffer;
+
+    /**
+     * EbcdicWriter constructor
+     *
+     * @param outputStream EBCDIC byte stream
+     * @param codePage     code page of the stream
+     */
+    public EbcdicWriter(OutputStream outputStream, EbcdicCodePage codePage) {
+        Util.checkNullParameter(outputStream == null, "outputStream is null");
+        Util.checkNullParameter(codePage == null, "codePage is null");
+        this.outputStream = outputStream;
+        this.codePage = codePage;
+        this.buffer = new byte[BUFFER_SIZE];
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        while (len > 0) {
+            int chunk = Math.min(len, buffer.length);
+            codePage.encode(cbuf, off, buffer, 0, chunk);
+            outputStream.write(buffer, 0, chunk);
+            off += chunk;
+            len -= chunk;
+        }
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        outputStream.write(codePage.encode((char) c));
+    }
+
+    @Override
+    public void flush() throws IOException {
+        outputStream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        outputStream.close();
+    }
+
+}
@@ -0,0 +1,230 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package codec;
+
+import utility.Util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * InputStream framing records in the record mode layout, each record prefixed by its 4 byte big endian length.
+ * <p>
+ * Records are pulled from their source only as the stream is read, so the stream can be handed to a chunked
+ * upload, see ZosDsn writeDsnRecords, with memory use bound by a single record whatever the number of records.
+ * A record is sent from its position to its limit, the position of the given ByteBuffer is left unchanged.
+ *
+ * @version 1.0
+ */
+public class RecordInputStream extends InputStream {
+
+    /**
+     * Number of records requested ahead from a publisher
+     */
+    public static final int DEFAULT_PREFETCH = 16;
+
+    private final Iterator<ByteBuffer> records;
+
+    private final Runnable onClose;
+
+    private final byte[] header = new byte[4];
+
+    private int headerPosition = header.length;
+
+    private ByteBuffer body;
+
+    private long recordCount;
+
+    /**
+     * RecordInputStream constructor
+     *
+     * @param records records to frame
+     */
+    public RecordInputStream(Iterator<ByteBuffer> records) {
+        this(records, () -> {
+        });
+    }
+
+    private RecordInputStream(Iterator<ByteBuffer> records, Runnable onClose) {
+        Util.checkNullParameter(records == null, "records is null");
+        this.records = records;
+        this.onClose = onClose;
+    }
+
+    /**
+     * Create a stream subscribing to a publisher of records. Records are requested prefetch at a time as the
+     * stream is read, closing the stream cancels the subscription.
+     *
+     * @param publisher records to frame
+     * @param prefetch  number of records requested ahead
+     * @return stream, an error signaled by the publisher is thrown as an IOException by read
+     */
+    public static RecordInputStream fromPublisher(Flow.Publisher<ByteBuffer> publisher, int prefetch) {
+        Util.checkNullParameter(publisher == null, "publisher is null");
+        Util.checkIllegalParameter(prefetch < 1, "prefetch must be at least 1");
+        PublisherIterator iterator = new PublisherIterator(prefetch);
+        publisher.subscribe(iterator);
+        return new RecordInputStream(iterator, iterator::cancel);
+    }
+
+    /**
+     * Retrieve the number of records framed so far
+     *
+     * @return record count
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        int count = 0;
+        while (count < len) {
+            if (headerPosition == header.length && (body == null || !body.hasRemaining())) {
+                if (!nextRecord()) {
+                    break;
+                }
+            }
+            if (headerPosition < header.length) {
+                int chunk = Math.min(len - count, header.length - headerPosition);
+                System.arraycopy(header, headerPosition, b, off + count, chunk);
+                headerPosition += chunk;
+                count += chunk;
+            } else {
+                int chunk = Math.min(len - count, body.remaining());
+                body.get(b, off + count, chunk);
+                count += chunk;
+            }
+        }
+        return count == 0 ? -1 : count;
+    }
+
+    @Override
+    public void close() {
+        onClose.run();
+    }
+
+    private boolean nextRecord() throws IOException {
+        try {
+            if (!records.hasNext()) {
+                return false;
+            }
+            ByteBuffer record = records.next();
+            if (record == null) {
+                throw new IOException("record " + (recordCount + 1) + " is null");
+            }
+            body = record.duplicate();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        int length = body.remaining();
+        header[0] = (byte) (length >>> 24);
+        header[1] = (byte) (length >>> 16);
+        header[2] = (byte) (length >>> 8);
+        header[3] = (byte) length;
+        headerPosition = 0;
+        recordCount++;
+        return true;
+    }
+
+    /**
+     * Subscriber exposing the records of a publisher as a blocking iterator, requesting a record for each one
+     * taken so no more than prefetch records are ever queued
+     */
+    private static class PublisherIterator implements Flow.Subscriber<ByteBuffer>, Iterator<ByteBuffer> {
+
+        private static final Object COMPLETE = new Object();
+
+        private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+
+        private final int prefetch;
+
+        private volatile Flow.Subscription subscription;
+
+        private Object next;
+
+        private PublisherIterator(int prefetch) {
+            this.prefetch = prefetch;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(prefetch);
+        }
+
+        @Override
+        public void onNext(ByteBuffer item) {
+            queue.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            queue.add(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            queue.add(COMPLETE);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                try {
+                    next = queue.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new UncheckedIOException(new IOException("interrupted waiting for a record", e));
+                }
+            }
+            if (next instanceof Throwable) {
+                throw new UncheckedIOException(new IOException("record publisher failed", (Throwable) next));
+            }
+            return next != COMPLETE;
+        }
+
+        @Override
+        public ByteBuffer next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ByteBuffer record = (ByteBuffer) next;
+            next = null;
+            subscription.request(1);
+            return record;
+        }
+
+        private void cancel() {
+            Flow.Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,269 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package codec;
+
+import utility.Util;
+import utility.UtilDataset;
+import zosfiles.response.Dataset;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+
+/**
+ * Streaming reader splitting binary or record mode dataset content into its records.
+ * <p>
+ * Records are handed back as a ByteBuffer over the internal read buffer. The same ByteBuffer is reused for each
+ * record and is only valid until the next call to next, so no allocation happens per record. Copy the content
+ * if it is needed for longer.
+ * <pre>
+ * try (RecordReader reader = RecordReader.forDataset(inputStream, dataset, UtilDataset.DataType.RECORD)) {
+ *     ByteBuffer record;
+ *     while ((record = reader.next()) != null) {
+ *         ...
+ *     }
+ * }
+ * </pre>
+ *
+ * @version 1.0
+ */
+public class RecordReader implements Closeable {
+
+    /**
+     * Format enum of the record layout of a byte stream.
+     * <p>
+     * RECORD records prefixed by a 4 byte big endian length, as returned by a record mode download.
+     * FIXED records of the logical record length without any prefix, as returned for RECFM=F or FB.
+     * VARIABLE records prefixed by their record descriptor word (RDW).
+     * VARIABLE_BLOCKED blocks prefixed by their block descriptor word (BDW), each holding records prefixed by
+     * their RDW.
+     */
+    public enum Format {
+        RECORD, FIXED, VARIABLE, VARIABLE_BLOCKED
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream inputStream;
+
+    private final Format format;
+
+    private final int recordLength;
+
+    private byte[] buffer;
+
+    private ByteBuffer record;
+
+    private int position;
+
+    private int limit;
+
+    private boolean eof;
+
+    private int blockRemaining;
+
+    private long recordCount;
+
+    /**
+     * RecordReader constructor
+     *
+     * @param inputStream  content stream
+     * @param format       record layout of the stream, see Format enum
+     * @param recordLength logical record length, only used by FIXED
+     */
+    public RecordReader(InputStream inputStream, Format format, int recordLength) {
+        Util.checkNullParameter(inputStream == null, "inputStream is null");
+        Util.checkNullParameter(format == null, "format is null");
+        Util.checkIllegalParameter(format == Format.FIXED && recordLength < 1, "recordLength not specified");
+        this.inputStream = inputStream;
+        this.format = format;
+        this.recordLength = recordLength;
+        this.buffer = new byte[Math.max(BUFFER_SIZE, recordLength)];
+        this.record = ByteBuffer.wrap(buffer);
+    }
+
+    /**
+     * Create a reader for the downloaded content of a dataset, the record layout follows from the data type of
+     * the download and the record format and logical record length of the dataset
+     *
+     * @param inputStream content stream
+     * @param dataset     dataset information, see ZosDsn getDataSetInfo
+     * @param dataType    data type the content was downloaded with, BINARY or RECORD
+     * @return reader
+     * @throws IllegalArgumentException for text mode content or a record format without a record layout
+     */
+    public static RecordReader forDataset(InputStream inputStream, Dataset dataset, UtilDataset.DataType dataType) {
+        Util.checkNullParameter(dataset == null, "dataset is null");
+        Util.checkNullParameter(dataType == null, "dataType is null");
+        Util.checkIllegalParameter(dataType == UtilDataset.DataType.TEXT, "text mode content holds no records");
+        if (dataType == UtilDataset.DataType.RECORD) {
+            return new RecordReader(inputStream, Format.RECORD, 0);
+        }
+
+        String recfm = dataset.getRecfm().orElse("").toUpperCase(Locale.ROOT);
+        if (recfm.startsWith("F")) {
+            int lrecl = Integer.parseInt(dataset.getLrectl().orElse("0"));
+            return new RecordReader(inputStream, Format.FIXED, lrecl);
+        }
+        if (recfm.startsWith("V")) {
+            return new RecordReader(inputStream, recfm.contains("B") ? Format.VARIABLE_BLOCKED : Format.VARIABLE, 0);
+        }
+        throw new IllegalArgumentException("no record layout for recfm " + recfm + ", use record mode");
+    }
+
+    /**
+     * Read the next record
+     *
+     * @return record content, valid until the next call, or null at the end of the stream
+     * @throws IOException error reading the stream or a truncated or malformed record
+     */
+    public ByteBuffer next() throws IOException {
+        if (!fill(1)) {
+            if (format == Format.VARIABLE_BLOCKED && blockRemaining > 0) {
+                throw new IOException("truncated block after record " + recordCount);
+            }
+            return null;
+        }
+
+        int length;
+        switch (format) {
+            case RECORD:
+                length = readInt(4);
+                position += 4;
+                break;
+            case FIXED:
+                length = recordLength;
+                break;
+            case VARIABLE:
+                length = readDescriptor("record") - 4;
+                position += 4;
+                break;
+            case VARIABLE_BLOCKED:
+                if (blockRemaining == 0) {
+                    blockRemaining = readDescriptor("block") - 4;
+                    position += 4;
+                    if (blockRemaining == 0 || !fill(1)) {
+                        return next();
+                    }
+                }
+                int rdw = readDescriptor("record");
+                if (rdw > blockRemaining) {
+                    throw new IOException("record " + (recordCount + 1) + " exceeds its block");
+                }
+                blockRemaining -= rdw;
+                length = rdw - 4;
+                position += 4;
+                break;
+            default:
+                throw new IllegalStateException("unknown format " + format);
+        }
+
+        if (length < 0) {
+            throw new IOException("invalid length " + length + " of record " + (recordCount + 1));
+        }
+        if (!fill(length)) {
+            throw new IOException("truncated record " + (recordCount + 1));
+        }
+        record.limit(position + length).position(position);
+        position += length;
+        recordCount++;
+        return record;
+    }
+
+    /**
+     * Retrieve the number of records read so far
+     *
+     * @return record count
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        inputStream.close();
+    }
+
+    /**
+     * Read a descriptor word. The length is held by its first 2 bytes, a block descriptor with the high bit set
+     * holds a 31 bit length in all 4 bytes.
+     *
+     * @param type block or record, used in error messages
+     * @return length including the descriptor
+     * @throws IOException error reading the stream or a truncated or malformed descriptor
+     */
+    private int readDescriptor(String type) throws IOException {
+        int length;
+        if ("block".equals(type) && (buffer[position] & 0x80) != 0) {
+            length = readInt(4) & 0x7FFFFFFF;
+        } else {
+            length = readInt(2);
+        }
+        if (length < 4) {
+            throw new IOException("invalid " + type + " descriptor length " + length + " at record " +
+                    (recordCount + 1));
+        }
+        return length;
+    }
+
+    /**
+     * Read a big endian unsigned integer at the current position without consuming it
+     *
+     * @param size number of bytes, 2 or 4
+     * @return integer value
+     * @throws IOException error reading the stream or a truncated stream
+     */
+    private int readInt(int size) throws IOException {
+        if (!fill(Math.max(size, 4))) {
+            throw new IOException("truncated descriptor of record " + (recordCount + 1));
+        }
+        int value = 0;
+        for (int i = 0; i < size; i++) {
+            value = (value << 8) | (buffer[position + i] & 0xFF);
+        }
+        return value;
+    }
+
+    /**
+     * Make sure the buffer holds the given number of bytes from the current position on, compacting and
+     * growing it as needed
+     *
+     * @param count number of bytes needed
+     * @return boolean false if the stream ends first
+     * @throws IOException error reading the stream
+     */
+    private boolean fill(int count) throws IOException {
+        if (limit - position >= count) {
+            return true;
+        }
+        if (position + count > buffer.length) {
+            byte[] target = count > buffer.length ? new byte[Math.max(count, buffer.length * 2)] : buffer;
+            System.arraycopy(buffer, position, target, 0, limit - position);
+            if (target != buffer) {
+                buffer = target;
+                record = ByteBuffer.wrap(buffer);
+            }
+            limit -= position;
+            position = 0;
+        }
+        while (!eof && limit - position < count) {
+            int read = inputStream.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                eof = true;
+            } else {
+                limit += read;
+            }
+        }
+        return limit - position >= count;
+    }
+
+}
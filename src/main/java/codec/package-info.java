@@ -0,0 +1,4 @@
+/**
+ * client side code page and record conversion used by the SDK
+ */
+package codec;
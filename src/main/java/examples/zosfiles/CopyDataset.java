@@ -16,6 +16,7 @@ import org.apache.logging.log4j.Logger;
 import rest.Response;
 import zosfiles.ZosDsnCopy;
 import zosfiles.input.CopyParams;
+import zosfiles.response.TransferSummary;
 
 /**
  * Class example to showcase CopyDataset functionality.
@@ -45,6 +46,26 @@ public class CopyDataset extends ZosConnection {
         fromDataSetName = "XXX";  // specify a partition dataset only no member
         toDataSetName = "XXX"; // specify a partition dataset only no member
         copyFullPartitionDatasetByCopyParams(connection, fromDataSetName, toDataSetName);
+        copyMembersByPattern(connection, fromDataSetName, toDataSetName, "XXX");
+    }
+
+    /**
+     * Example on how to call ZosDsnCopy copyMembers method.
+     * Copies the members matching a pattern with several copy requests in flight at once.
+     *
+     * @param connection      ZOSConnection
+     * @param fromDataSetName source partition dataset (e.g. 'SOURCE.DATASET')
+     * @param toDataSetName   destination partition dataset (e.g. 'TARGET.DATASET')
+     * @param pattern         member pattern (e.g. 'ABC*')
+     * @throws Exception error processing copy request
+     */
+    public static void copyMembersByPattern(ZOSConnection connection, String fromDataSetName, String toDataSetName,
+                                            String pattern) throws Exception {
+        ZosDsnCopy zosDsnCopy = new ZosDsnCopy(connection);
+        TransferSummary summary = zosDsnCopy.copyMembers(fromDataSetName, toDataSetName, pattern, true, 8);
+        LOG.info(summary);
+        summary.getFailed().forEach(r -> LOG.info("{} {}", r.getName().orElse(""),
+                r.getError().map(Exception::getMessage).orElse("")));
     }
 
     /**
@@ -15,6 +15,9 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import rest.Response;
 import zosfiles.ZosDsn;
+import zosfiles.response.TransferSummary;
+
+import java.util.List;
 
 /**
  * Class example to showcase DeleteDataset functionality.
@@ -44,6 +47,24 @@ public class DeleteDataset extends ZosConnection {
 
         deleteDataSet(dataSetName);
         deleteMember(dataSetName, member);
+
+        String pattern = "XXX";
+        deleteDataSetsByPattern(pattern);
+    }
+
+    /**
+     * Preview the datasets matching a pattern and delete them, eight at a time
+     *
+     * @param pattern dataset name pattern (e.g. 'HLQ.TEST.**')
+     * @throws Exception error processing request
+     */
+    public static void deleteDataSetsByPattern(String pattern) throws Exception {
+        ZosDsn zosDsn = new ZosDsn(connection);
+        List<String> dataSetNames = zosDsn.previewDeleteDatasets(pattern);
+        LOG.info("deleting " + dataSetNames);
+        TransferSummary summary = zosDsn.deleteDatasets(dataSetNames, 8);
+        LOG.info(summary);
+        summary.getFailed().forEach(LOG::error);
     }
 
     /**
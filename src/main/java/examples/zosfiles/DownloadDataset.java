@@ -9,17 +9,32 @@
  */
 package examples.zosfiles;
 
+import codec.EbcdicCodePage;
+import codec.EbcdicInputStream;
+import codec.RecordReader;
 import core.ZOSConnection;
 import examples.ZosConnection;
 import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import utility.TransferDigest;
+import utility.UtilDataset;
 import utility.UtilIO;
+import zosfiles.ZosDsn;
 import zosfiles.ZosDsnDownload;
 import zosfiles.input.DownloadParams;
+import zosfiles.response.Dataset;
+import zosfiles.response.TransferResult;
+import zosfiles.response.TransferSummary;
 
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Set;
 
 /**
  * Class example to showcase DownloadDataset functionality.
@@ -41,11 +56,152 @@ public class DownloadDataset extends ZosConnection {
      */
     public static void main(String[] args) throws Exception {
         String datasetMember = "XXX";
+        String dataSetName = "XXX";
+        String directory = "XXX";
 
         DownloadParams params = new DownloadParams.Builder().build();
         ZOSConnection connection = new ZOSConnection(hostName, zosmfPort, userName, password);
 
         DownloadDataset.downloadDsnMember(connection, datasetMember, params);
+        DownloadDataset.downloadAllMembers(connection, dataSetName, directory);
+
+        String largeDataSetName = "XXX";
+        DownloadDataset.compareRangeDownload(connection, largeDataSetName, Paths.get(directory));
+        DownloadDataset.downloadDsnConvertLocally(connection, largeDataSetName, Paths.get(directory), 1047);
+        DownloadDataset.readRecords(connection, largeDataSetName, 1047);
+        DownloadDataset.downloadArchive(connection, dataSetName, Paths.get(directory));
+        DownloadDataset.downloadWithDigests(connection, dataSetName, Paths.get(directory));
+    }
+
+    /**
+     * Download all members of a partitioned dataset computing their SHA-256 digests on the way and save the
+     * digests next to the members in the format checked by "sha256sum -c"
+     *
+     * @param connection  ZOSConnection object
+     * @param dataSetName partitioned data set name
+     * @param directory   local directory to write the members to
+     * @throws Exception error processing request
+     */
+    public static void downloadWithDigests(ZOSConnection connection, String dataSetName, Path directory)
+            throws Exception {
+        DownloadParams params = new DownloadParams.Builder()
+                .directory(directory.toString())
+                .maxConcurrentRequests(8)
+                .digests(Set.of(TransferDigest.Algorithm.SHA256))
+                .build();
+        TransferSummary summary = new ZosDsnDownload(connection).downloadAllMembers(dataSetName, params);
+        Files.writeString(directory.resolve("SHA256SUMS"),
+                summary.getDigestManifest(TransferDigest.Algorithm.SHA256));
+        LOG.info(summary);
+    }
+
+    /**
+     * Download all members of a partitioned dataset into a single zip file, eight members at a time
+     *
+     * @param connection  ZOSConnection object
+     * @param dataSetName partitioned data set name
+     * @param directory   local directory to write the zip file to
+     * @throws Exception error processing request
+     */
+    public static void downloadArchive(ZOSConnection connection, String dataSetName, Path directory)
+            throws Exception {
+        DownloadParams params = new DownloadParams.Builder().maxConcurrentRequests(8).build();
+        try (OutputStream outputStream = Files.newOutputStream(directory.resolve(dataSetName + ".zip"))) {
+            TransferSummary summary = new ZosDsnDownload(connection).downloadPdsArchive(dataSetName, outputStream,
+                    UtilDataset.ArchiveFormat.ZIP, params);
+            LOG.info(summary);
+        }
+    }
+
+    /**
+     * Download a dataset in record mode and log the number and length of its records along with the first one
+     *
+     * @param connection  ZOSConnection object
+     * @param dataSetName sequential data set name
+     * @param codePage    code page of the dataset, e.g. 1047
+     * @throws Exception error processing request
+     */
+    public static void readRecords(ZOSConnection connection, String dataSetName, int codePage) throws Exception {
+        Dataset dataset = new ZosDsn(connection).getDataSetInfo(dataSetName);
+        DownloadParams params = new DownloadParams.Builder().record(true).build();
+        InputStream content = new ZosDsnDownload(connection).downloadDsn(dataSetName, params);
+        if (content == null) {
+            return;
+        }
+        long bytes = 0;
+        try (RecordReader reader = RecordReader.forDataset(content, dataset, UtilDataset.DataType.RECORD)) {
+            ByteBuffer record;
+            while ((record = reader.next()) != null) {
+                if (reader.getRecordCount() == 1) {
+                    LOG.info(EbcdicCodePage.forNumber(codePage).decode(record));
+                }
+                bytes += record.remaining();
+            }
+            LOG.info("{} records, {} bytes", reader.getRecordCount(), bytes);
+        }
+    }
+
+    /**
+     * Download a dataset in binary mode and convert it from EBCDIC to UTF-8 on the client instead of having
+     * z/OSMF convert it. Binary mode returns the records of the dataset without line separators.
+     *
+     * @param connection  ZOSConnection object
+     * @param dataSetName data set name
+     * @param directory   local directory to write the file to
+     * @param codePage    code page of the dataset, e.g. 1047
+     * @throws Exception error processing request
+     */
+    public static void downloadDsnConvertLocally(ZOSConnection connection, String dataSetName, Path directory,
+                                                 int codePage) throws Exception {
+        DownloadParams params = new DownloadParams.Builder().binary(true).build();
+        InputStream content = new ZosDsnDownload(connection).downloadDsn(dataSetName, params);
+        if (content != null) {
+            try (InputStream inputStream = new EbcdicInputStream(content, EbcdicCodePage.forNumber(codePage))) {
+                long bytes = Files.copy(inputStream, directory.resolve(dataSetName + ".txt"));
+                LOG.info("converted {} bytes", bytes);
+            }
+        }
+    }
+
+    /**
+     * Download a large sequential dataset once as a single stream and once split into concurrent record ranges
+     * and log the throughput of both
+     *
+     * @param connection  ZOSConnection object
+     * @param dataSetName sequential data set name
+     * @param directory   local directory to write the files to
+     * @throws Exception error processing request
+     */
+    public static void compareRangeDownload(ZOSConnection connection, String dataSetName, Path directory)
+            throws Exception {
+        ZosDsnDownload zosDsnDownload = new ZosDsnDownload(connection);
+        DownloadParams params = new DownloadParams.Builder().maxConcurrentRequests(8).build();
+
+        TransferResult single = zosDsnDownload.downloadDsnToFile(dataSetName, directory.resolve("single.txt"), params);
+        LOG.info("single stream {} bytes/sec", String.format("%.0f", single.getBytesPerSecond()));
+
+        TransferResult ranges = zosDsnDownload.downloadDsnByRanges(dataSetName, directory.resolve("ranges.txt"), params);
+        LOG.info("record ranges {} bytes/sec", String.format("%.0f", ranges.getBytesPerSecond()));
+    }
+
+    /**
+     * Download all members of a partitioned dataset into a local directory, four members at a time
+     *
+     * @param connection  ZOSConnection object
+     * @param dataSetName partitioned data set name
+     * @param directory   local directory to write the members to
+     * @throws Exception error processing request
+     */
+    public static void downloadAllMembers(ZOSConnection connection, String dataSetName, String directory)
+            throws Exception {
+        DownloadParams params = new DownloadParams.Builder()
+                .directory(directory)
+                .maxConcurrentRequests(4)
+                .failFast(false)
+                .build();
+        TransferSummary summary = new ZosDsnDownload(connection).downloadAllMembers(dataSetName, params);
+        LOG.info(summary);
+        summary.getFailed().forEach(LOG::error);
     }
 
     /**
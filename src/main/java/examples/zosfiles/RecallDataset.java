@@ -0,0 +1,64 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package examples.zosfiles;
+
+import core.ZOSConnection;
+import examples.ZosConnection;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import zosfiles.ZosDsnRecall;
+import zosfiles.response.Dataset;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Class example to showcase ZosDsnRecall functionality.
+ *
+ * @version 1.0
+ */
+public class RecallDataset extends ZosConnection {
+
+    private static final Logger LOG = LogManager.getLogger(RecallDataset.class);
+
+    /**
+     * Main method defines z/OSMF host and user connection and other parameters needed to showcase
+     * ZosDsnRecall functionality. Calls RecallDataset example methods.
+     *
+     * @param args for main not used
+     * @throws Exception error in processing request
+     */
+    public static void main(String[] args) throws Exception {
+        ZOSConnection connection = new ZOSConnection(hostName, zosmfPort, userName, password);
+        RecallDataset.recallAll(connection, List.of("XXX", "XXX", "XXX"));
+    }
+
+    /**
+     * Recall migrated datasets in parallel, log each one as it becomes available and wait for all of them
+     *
+     * @param connection   ZOSConnection object
+     * @param dataSetNames names of the datasets to recall
+     * @throws Exception error processing request
+     */
+    public static void recallAll(ZOSConnection connection, List<String> dataSetNames) throws Exception {
+        Map<String, CompletableFuture<Dataset>> futures = new ZosDsnRecall(connection)
+                .recallDatasets(dataSetNames, 8, ZosDsnRecall.DEFAULT_POLL_INTERVAL_MILLIS, 30 * 60 * 1000);
+        futures.forEach((name, future) -> future.whenComplete((dataset, error) -> {
+            if (error != null) {
+                LOG.error("{} not recalled: {}", name, error.getMessage());
+            } else {
+                LOG.info("{} recalled to {}", name, dataset.getVol().orElse(""));
+            }
+        }));
+        CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0])).exceptionally(e -> null).join();
+    }
+
+}
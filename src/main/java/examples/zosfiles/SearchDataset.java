@@ -0,0 +1,63 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package examples.zosfiles;
+
+import core.ZOSConnection;
+import examples.ZosConnection;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import zosfiles.ZosDsnSearch;
+import zosfiles.input.SearchParams;
+import zosfiles.response.TransferSummary;
+
+import java.util.List;
+
+/**
+ * Class example to showcase ZosDsnSearch functionality.
+ *
+ * @version 1.0
+ */
+public class SearchDataset extends ZosConnection {
+
+    private static final Logger LOG = LogManager.getLogger(SearchDataset.class);
+
+    /**
+     * Main method defines z/OSMF host and user connection and other parameters needed to showcase
+     * ZosDsnSearch functionality. Calls SearchDataset example methods.
+     *
+     * @param args for main not used
+     * @throws Exception error in processing request
+     */
+    public static void main(String[] args) throws Exception {
+        String dataSetName = "XXX";
+
+        ZOSConnection connection = new ZOSConnection(hostName, zosmfPort, userName, password);
+        SearchDataset.search(connection, List.of("XXX", "XXX"), dataSetName);
+    }
+
+    /**
+     * Search all members of a partitioned dataset for several strings at once and log each hit as soon as
+     * it is found
+     *
+     * @param connection  ZOSConnection object
+     * @param patterns    strings to search for
+     * @param dataSetName partitioned data set name
+     * @throws Exception error processing request
+     */
+    public static void search(ZOSConnection connection, List<String> patterns, String dataSetName)
+            throws Exception {
+        ZosDsnSearch zosDsnSearch = new ZosDsnSearch(connection);
+        SearchParams params = new SearchParams.Builder().ignoreCase(true).maxConcurrentRequests(8).build();
+        TransferSummary summary = zosDsnSearch.search(patterns, List.of(dataSetName), params,
+                hit -> LOG.info("{}:{} {}", hit.getName().orElse(""), hit.getLineNumber(), hit.getLine().orElse("")));
+        LOG.info(summary);
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package examples.zosfiles;
+
+import core.ZOSConnection;
+import examples.ZosConnection;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import zosfiles.PdsSync;
+import zosfiles.response.TransferSummary;
+
+import java.nio.file.Paths;
+
+/**
+ * Class example to showcase PdsSync functionality.
+ *
+ * @version 1.0
+ */
+public class SyncDataset extends ZosConnection {
+
+    private static final Logger LOG = LogManager.getLogger(SyncDataset.class);
+
+    /**
+     * Main method defines z/OSMF host and user connection and other parameters needed to showcase
+     * PdsSync functionality. Calls SyncDataset example methods.
+     *
+     * @param args for main not used
+     * @throws Exception error in processing request
+     */
+    public static void main(String[] args) throws Exception {
+        String dataSetName = "XXX";
+        String directory = "XXX";
+
+        ZOSConnection connection = new ZOSConnection(hostName, zosmfPort, userName, password);
+        SyncDataset.sync(connection, dataSetName, directory);
+    }
+
+    /**
+     * Synchronize a partitioned dataset with a local directory in both directions, only members changed
+     * since the previous sync are transferred
+     *
+     * @param connection  ZOSConnection object
+     * @param dataSetName partitioned data set name
+     * @param directory   local directory holding one file per member
+     * @throws Exception error processing request
+     */
+    public static void sync(ZOSConnection connection, String dataSetName, String directory) throws Exception {
+        PdsSync pdsSync = new PdsSync(connection, dataSetName, Paths.get(directory), ".txt");
+        TransferSummary summary = pdsSync.sync(PdsSync.Direction.BOTH, 8);
+        LOG.info(summary);
+        summary.getFailed().forEach(r -> LOG.info("{} {}", r.getName().orElse(""),
+                r.getError().map(Exception::getMessage).orElse("")));
+    }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package examples.zosfiles;
+
+import core.ZOSConnection;
+import examples.ZosConnection;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import zosfiles.DatasetWatcher;
+
+import java.util.List;
+
+/**
+ * Class example to showcase DatasetWatcher functionality.
+ *
+ * @version 1.0
+ */
+public class WatchDataset extends ZosConnection {
+
+    private static final Logger LOG = LogManager.getLogger(WatchDataset.class);
+
+    /**
+     * Main method defines z/OSMF host and user connection and other parameters needed to showcase
+     * DatasetWatcher functionality. Calls WatchDataset example methods.
+     *
+     * @param args for main not used
+     * @throws Exception error in processing request
+     */
+    public static void main(String[] args) throws Exception {
+        ZOSConnection connection = new ZOSConnection(hostName, zosmfPort, userName, password);
+        WatchDataset.watch(connection, List.of("XXX", "XXX"), 10 * 60 * 1000);
+    }
+
+    /**
+     * Log member changes of partitioned datasets for a while
+     *
+     * @param connection   ZOSConnection object
+     * @param dataSetNames partitioned data set names
+     * @param millis       time to watch for
+     * @throws Exception error processing request
+     */
+    public static void watch(ZOSConnection connection, List<String> dataSetNames, long millis) throws Exception {
+        try (DatasetWatcher watcher = new DatasetWatcher(connection, dataSetNames)) {
+            watcher.start(LOG::info, e -> LOG.error(e.getMessage()));
+            Thread.sleep(millis);
+        }
+    }
+
+}
@@ -9,12 +9,20 @@
  */
 package examples.zosfiles;
 
+import codec.EbcdicCodePage;
 import core.ZOSConnection;
 import examples.ZosConnection;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import rest.Response;
 import zosfiles.ZosDsn;
+import zosfiles.input.UploadParams;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.stream.IntStream;
 
 /**
  * Class example to showcase WriteDataset functionality.
@@ -44,6 +52,44 @@ public class WriteDataset extends ZosConnection {
 
         var content = "NEW CONTENT\nTHE SECOND LINE UPDATED";
         WriteDataset.writeToDsnMember(dataSetName, member, content);
+
+        String localFile = "XXX";
+        WriteDataset.writeFileToDsn(dataSetName, Paths.get(localFile));
+
+        String fixedDataSetName = "XXX";
+        WriteDataset.writeRecordsToDsn(fixedDataSetName, 1_000_000);
+    }
+
+    /**
+     * Write generated records in record mode to a sequential dataset replacing its content. The records are
+     * created as the upload reads them, so memory use does not depend on their number.
+     *
+     * @param dataSetName name of a sequential dataset (e.g. 'DATASET.SEQ')
+     * @param count       number of records to write
+     * @throws Exception error processing request
+     */
+    public static void writeRecordsToDsn(String dataSetName, int count) throws Exception {
+        EbcdicCodePage codePage = EbcdicCodePage.forNumber(1047);
+        Iterator<ByteBuffer> records = IntStream.rangeClosed(1, count)
+                .mapToObj(i -> ByteBuffer.wrap(codePage.encode(String.format("RECORD %08d", i))))
+                .iterator();
+        Response response = new ZosDsn(connection).writeDsnRecords(dataSetName, records,
+                new UploadParams.Builder().build());
+        LOG.info("http response code " + response.getStatusCode());
+    }
+
+    /**
+     * Stream a local file in binary mode into the given sequential dataset replacing its content.
+     *
+     * @param dataSetName name of a sequential dataset (e.g. 'DATASET.SEQ')
+     * @param file        local file to upload
+     * @throws Exception error processing request
+     */
+    public static void writeFileToDsn(String dataSetName, Path file) throws Exception {
+        ZosDsn zosDsn = new ZosDsn(connection);
+        UploadParams params = new UploadParams.Builder().binary(true).build();
+        Response response = zosDsn.writeDsn(dataSetName, file, params);
+        LOG.info("http response code " + response.getStatusCode());
     }
 
     /**
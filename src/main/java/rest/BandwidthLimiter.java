@@ -0,0 +1,298 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package rest;
+
+import core.ZOSConnection;
+import utility.Util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket limiting the bytes per second of streamed request and response bodies and of the text bodies
+ * of BULK requests.
+ * <p>
+ * The bucket holds up to burstBytes tokens and is refilled at bytesPerSecond. Each chunk read from a limited
+ * stream takes its size in tokens, a reader running short of tokens waits until the bucket is refilled. A
+ * limiter can be set globally and per ZOSConnection, a stream is bound by both when both are set.
+ * <p>
+ * Only BULK priority transfers are limited, see Priority enum. The bulk paths of the SDK, e.g. UtilFiles
+ * runConcurrently and downloadResumable or DatasetScheduler, run their requests as BULK so interactive
+ * requests on the same connection keep the full bandwidth. Dataset downloads, e.g. ZosDsnDownload downloadDsn
+ * and downloadDsnToFile, and spool content reads of GetJobs run as BULK as well unless another priority is
+ * given, see DownloadParams priority and GetJobs getSpoolContent. The priority of a stream is taken when its
+ * request is created, see callWithPriority to run own transfers as BULK.
+ * <pre>
+ * BandwidthLimiter.setGlobal(new BandwidthLimiter(10 * 1024 * 1024));
+ * BandwidthLimiter.setLimiter(connection, new BandwidthLimiter(2 * 1024 * 1024));
+ * </pre>
+ *
+ * @version 1.0
+ */
+public class BandwidthLimiter {
+
+    /**
+     * Priority enum of a transfer.
+     * <p>
+     * INTERACTIVE transfers are never limited, the default priority of a thread.
+     * BULK transfers share the bandwidth of the global and connection limiters, the default of the dataset
+     * downloads ZosDsnDownload downloadDsn and downloadDsnToFile and of the spool reads GetJobs getSpoolContent
+     * and getSpoolContentById.
+     */
+    public enum Priority {
+        INTERACTIVE, BULK
+    }
+
+    private static final ThreadLocal<Priority> PRIORITY = ThreadLocal.withInitial(() -> Priority.INTERACTIVE);
+
+    private static final Map<ZOSConnection, BandwidthLimiter> LIMITERS =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static volatile BandwidthLimiter global;
+
+    private final long bytesPerSecond;
+
+    private final long burstBytes;
+
+    private double tokens;
+
+    private long lastRefill = System.nanoTime();
+
+    /**
+     * BandwidthLimiter constructor allowing a burst of one second
+     *
+     * @param bytesPerSecond sustained rate
+     */
+    public BandwidthLimiter(long bytesPerSecond) {
+        this(bytesPerSecond, bytesPerSecond);
+    }
+
+    /**
+     * BandwidthLimiter constructor
+     *
+     * @param bytesPerSecond sustained rate
+     * @param burstBytes     number of bytes that can be transferred at once after an idle period
+     */
+    public BandwidthLimiter(long bytesPerSecond, long burstBytes) {
+        Util.checkIllegalParameter(bytesPerSecond < 1, "bytesPerSecond must be at least 1");
+        Util.checkIllegalParameter(burstBytes < 1, "burstBytes must be at least 1");
+        this.bytesPerSecond = bytesPerSecond;
+        this.burstBytes = burstBytes;
+        this.tokens = burstBytes;
+    }
+
+    /**
+     * Set the limiter shared by all BULK transfers
+     *
+     * @param limiter limiter or null to remove it
+     */
+    public static void setGlobal(BandwidthLimiter limiter) {
+        global = limiter;
+    }
+
+    /**
+     * Retrieve the limiter shared by all BULK transfers
+     *
+     * @return limiter value
+     */
+    public static Optional<BandwidthLimiter> getGlobal() {
+        return Optional.ofNullable(global);
+    }
+
+    /**
+     * Set the limiter shared by the BULK transfers of a connection, in addition to the global one
+     *
+     * @param connection connection information, see ZOSConnection object
+     * @param limiter    limiter or null to remove it
+     */
+    public static void setLimiter(ZOSConnection connection, BandwidthLimiter limiter) {
+        Util.checkNullParameter(connection == null, "connection is null");
+        if (limiter == null) {
+            LIMITERS.remove(connection);
+        } else {
+            LIMITERS.put(connection, limiter);
+        }
+    }
+
+    /**
+     * Retrieve the limiter of a connection
+     *
+     * @param connection connection information, see ZOSConnection object
+     * @return limiter value
+     */
+    public static Optional<BandwidthLimiter> getLimiter(ZOSConnection connection) {
+        Util.checkNullParameter(connection == null, "connection is null");
+        return Optional.ofNullable(LIMITERS.get(connection));
+    }
+
+    /**
+     * Retrieve the priority of the requests created by the current thread
+     *
+     * @return priority value
+     */
+    public static Priority getPriority() {
+        return PRIORITY.get();
+    }
+
+    /**
+     * Run an action with the given priority for the requests it creates on the current thread
+     *
+     * @param priority priority value
+     * @param action   action to run
+     * @param <T>      result type
+     * @return result of the action
+     * @throws Exception error thrown by the action
+     */
+    public static <T> T callWithPriority(Priority priority, Callable<T> action) throws Exception {
+        Util.checkNullParameter(priority == null, "priority is null");
+        Util.checkNullParameter(action == null, "action is null");
+        Priority previous = PRIORITY.get();
+        PRIORITY.set(priority);
+        try {
+            return action.call();
+        } finally {
+            PRIORITY.set(previous);
+        }
+    }
+
+    /**
+     * Wrap a request or response body stream into a stream bound by the limiters of the connection, or
+     * return it as is for INTERACTIVE priority or when no limiter is set
+     *
+     * @param connection  connection information, see ZOSConnection object
+     * @param inputStream body stream
+     * @return limited stream
+     */
+    public static InputStream limit(ZOSConnection connection, InputStream inputStream) {
+        if (inputStream == null || PRIORITY.get() != Priority.BULK) {
+            return inputStream;
+        }
+        List<BandwidthLimiter> limiters = new ArrayList<>(2);
+        Optional.ofNullable(connection).map(LIMITERS::get).ifPresent(limiters::add);
+        getGlobal().ifPresent(limiters::add);
+        return limiters.isEmpty() ? inputStream : new LimitedInputStream(inputStream, limiters);
+    }
+
+    /**
+     * Retrieve the sustained rate
+     *
+     * @return bytes per second
+     */
+    public long getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    /**
+     * Retrieve the burst size
+     *
+     * @return burst bytes
+     */
+    public long getBurstBytes() {
+        return burstBytes;
+    }
+
+    /**
+     * Take tokens for the given number of bytes, waiting until the bucket holds them
+     *
+     * @param bytes number of bytes
+     * @throws InterruptedException interrupted while waiting
+     */
+    public void acquire(long bytes) throws InterruptedException {
+        long waitNanos = reserve(bytes);
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Take tokens for the given number of bytes without waiting. The bucket can go into debt, later callers
+     * then wait for it to be paid back, so the rate holds across all callers while each one waits only once.
+     *
+     * @param bytes number of bytes
+     * @return nanoseconds to wait before the bytes may be transferred
+     */
+    synchronized long reserve(long bytes) {
+        long now = System.nanoTime();
+        tokens = Math.min(burstBytes, tokens + (now - lastRefill) * (double) bytesPerSecond / 1_000_000_000L);
+        lastRefill = now;
+        tokens -= bytes;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens * 1_000_000_000L / bytesPerSecond);
+    }
+
+    @Override
+    public String toString() {
+        return "BandwidthLimiter{" +
+                "bytesPerSecond=" + bytesPerSecond +
+                ", burstBytes=" + burstBytes +
+                '}';
+    }
+
+    /**
+     * InputStream taking tokens from its limiters for every chunk read
+     */
+    private static class LimitedInputStream extends FilterInputStream {
+
+        private final List<BandwidthLimiter> limiters;
+
+        private LimitedInputStream(InputStream inputStream, List<BandwidthLimiter> limiters) {
+            super(inputStream);
+            this.limiters = limiters;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                throttle(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int count = super.read(b, off, len);
+            if (count > 0) {
+                throttle(count);
+            }
+            return count;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long count = super.skip(n);
+            if (count > 0) {
+                throttle(count);
+            }
+            return count;
+        }
+
+        private void throttle(long bytes) throws IOException {
+            long waitNanos = 0;
+            for (BandwidthLimiter limiter : limiters) {
+                waitNanos = Math.max(waitNanos, limiter.reserve(bytes));
+            }
+            if (waitNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("interrupted waiting for bandwidth");
+                }
+            }
+        }
+
+    }
+
+}
@@ -9,7 +9,10 @@
  */
 package rest;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
 /**
  * Holds Http response information
@@ -29,6 +32,16 @@ public class Response {
      */
     private final Optional<Integer> statusCode;
 
+    /**
+     * Holds Http response headers, keys are case-insensitive
+     */
+    private final Map<String, String> headers;
+
+    /**
+     * Holds the z/OSMF error document of a failed http request
+     */
+    private final Optional<ZosmfError> error;
+
     /**
      * Response constructor
      *
@@ -37,8 +50,37 @@ public class Response {
      * @author Frank Giordano
      */
     public Response(Object responsePhrase, Integer statusCode) {
+        this(responsePhrase, statusCode, null);
+    }
+
+    /**
+     * Response constructor
+     *
+     * @param responsePhrase http response information
+     * @param statusCode     http response status code
+     * @param headers        http response headers
+     */
+    public Response(Object responsePhrase, Integer statusCode, Map<String, String> headers) {
+        this(responsePhrase, statusCode, headers, null);
+    }
+
+    /**
+     * Response constructor
+     *
+     * @param responsePhrase http response information
+     * @param statusCode     http response status code
+     * @param headers        http response headers
+     * @param error          z/OSMF error document of a failed http request
+     */
+    public Response(Object responsePhrase, Integer statusCode, Map<String, String> headers, ZosmfError error) {
         this.responsePhrase = Optional.ofNullable(responsePhrase);
         this.statusCode = Optional.ofNullable(statusCode);
+        Map<String, String> values = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        if (headers != null) {
+            values.putAll(headers);
+        }
+        this.headers = Collections.unmodifiableMap(values);
+        this.error = Optional.ofNullable(error);
     }
 
     /**
@@ -61,6 +103,34 @@ public class Response {
         return statusCode;
     }
 
+    /**
+     * Retrieve headers value
+     *
+     * @return headers value
+     */
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Retrieve a single header value
+     *
+     * @param name header name, case-insensitive
+     * @return header value
+     */
+    public Optional<String> getHeader(String name) {
+        return Optional.ofNullable(headers.get(name));
+    }
+
+    /**
+     * Retrieve error value
+     *
+     * @return z/OSMF error document, empty if the request succeeded or the body held none
+     */
+    public Optional<ZosmfError> getError() {
+        return error;
+    }
+
     /**
      * Does object contain all empty values
      *
@@ -76,6 +146,8 @@ public class Response {
         return "Response{" +
                 "responsePhrase=" + responsePhrase +
                 ", statusCode=" + statusCode +
+                ", headers=" + headers +
+                ", error=" + error +
                 '}';
     }
 
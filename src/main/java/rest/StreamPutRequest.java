@@ -0,0 +1,99 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package rest;
+
+import core.ZOSConnection;
+import org.apache.http.HttpHeaders;
+import org.apache.http.client.methods.HttpPut;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import utility.Util;
+import utility.UtilRest;
+
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Http put operation that streams its body from an input stream using chunked transfer encoding
+ *
+ * @version 1.0
+ */
+public class StreamPutRequest extends ZoweRequest {
+
+    private static final Logger LOG = LogManager.getLogger(StreamPutRequest.class);
+
+    private HttpPut request;
+
+    private final InputStream body;
+
+    /**
+     * StreamPutRequest constructor.
+     *
+     * @param connection connection information, see ZOSConnection object
+     * @param url        rest url value
+     * @param body       stream the request content is read from, it is consumed once while sending and bound
+     *                   by the bandwidth limiters of a BULK priority transfer, see BandwidthLimiter
+     * @throws Exception error setting constructor variables
+     */
+    public StreamPutRequest(ZOSConnection connection, String url, InputStream body) throws Exception {
+        super(connection, ZoweRequestType.VerbType.PUT_STREAM);
+        if (!UtilRest.isUrlValid(url)) throw new Exception("url is invalid");
+        this.body = BandwidthLimiter.limit(connection,
+                Optional.ofNullable(body).orElseThrow(() -> new Exception("body not specified")));
+        request = new HttpPut(url);
+        request.setEntity(new InputStreamEntity(this.body));
+        setup();
+    }
+
+    /**
+     * Execute the formulated http request
+     */
+    @Override
+    public Response executeRequest() throws Exception {
+        LOG.debug("StreamPutRequest::executeRequest");
+        return executeTextRequest(request);
+    }
+
+    /**
+     * Set the standard headers for the http request
+     */
+    @Override
+    public void setStandardHeaders() {
+        request.setHeader(HttpHeaders.AUTHORIZATION, "Basic " + Util.getAuthEncoding(connection));
+        request.setHeader("Content-Type", "text/plain; charset=UTF-8");
+        request.setHeader(X_CSRF_ZOSMF_HEADER_KEY, X_CSRF_ZOSMF_HEADER_VALUE);
+    }
+
+    /**
+     * Set any headers needed for the http request
+     *
+     * @param headers headers to add to the request
+     */
+    @Override
+    public void setHeaders(Map<String, String> headers) {
+        headers.forEach((key, value) -> request.setHeader(key, value));
+    }
+
+    /**
+     * Set the following incoming url with a new http request, the body stream is reused
+     *
+     * @param url rest url end point
+     * @throws Exception error setting the http request
+     */
+    @Override
+    public void setRequest(String url) throws Exception {
+        request = new HttpPut(Optional.ofNullable(url).orElseThrow(() -> new Exception("url not specified")));
+        request.setEntity(new InputStreamEntity(body));
+        setup();
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package rest;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Holds the Json error document z/OSMF returns with a failed request, e.g.
+ * {"category":4,"rc":8,"reason":528,"message":"Dynamic allocation Error","details":["IKJ56225I ..."]}
+ *
+ * @version 1.0
+ */
+public class ZosmfError {
+
+    /**
+     * Error category, e.g. 4 for a dynamic allocation error
+     */
+    private final Optional<Long> category;
+
+    /**
+     * Return code of the failing service
+     */
+    private final Optional<Long> rc;
+
+    /**
+     * Reason code of the failing service
+     */
+    private final Optional<Long> reason;
+
+    /**
+     * Error message
+     */
+    private final Optional<String> message;
+
+    /**
+     * Further messages of the failing service
+     */
+    private final List<String> details;
+
+    /**
+     * ZosmfError constructor
+     *
+     * @param category error category
+     * @param rc       return code
+     * @param reason   reason code
+     * @param message  error message
+     * @param details  further messages, may be null
+     */
+    public ZosmfError(Long category, Long rc, Long reason, String message, List<String> details) {
+        this.category = Optional.ofNullable(category);
+        this.rc = Optional.ofNullable(rc);
+        this.reason = Optional.ofNullable(reason);
+        this.message = Optional.ofNullable(message);
+        this.details = details == null ? List.of() : Collections.unmodifiableList(details);
+    }
+
+    /**
+     * Retrieve category value
+     *
+     * @return category value
+     */
+    public Optional<Long> getCategory() {
+        return category;
+    }
+
+    /**
+     * Retrieve rc value
+     *
+     * @return rc value
+     */
+    public Optional<Long> getRc() {
+        return rc;
+    }
+
+    /**
+     * Retrieve reason value
+     *
+     * @return reason value
+     */
+    public Optional<Long> getReason() {
+        return reason;
+    }
+
+    /**
+     * Retrieve message value
+     *
+     * @return message value
+     */
+    public Optional<String> getMessage() {
+        return message;
+    }
+
+    /**
+     * Retrieve details value
+     *
+     * @return details value
+     */
+    public List<String> getDetails() {
+        return details;
+    }
+
+    @Override
+    public String toString() {
+        return "ZosmfError{" +
+                "category=" + category +
+                ", rc=" + rc +
+                ", reason=" + reason +
+                ", message=" + message +
+                ", details=" + details +
+                '}';
+    }
+
+}
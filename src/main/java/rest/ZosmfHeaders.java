@@ -136,6 +136,11 @@ public class ZosmfHeaders {
      * By default Etag is returned only for files smaller than a system determined value (which is at least 8mb)
      */
     public final static String X_IBM_RETURN_ETAG = "X_IBM_RETURN_ETAG";
+    /**
+     * Header to retrieve a range of records, e.g. "SSS-EEE" or "SSS,NNN" where SSS is the zero based start record
+     * Valid for text and record mode data set retrieval
+     */
+    public final static String X_IBM_RECORD_RANGE = "X_IBM_RECORD_RANGE";
     /**
      * Header that specifies GZIP compression is supported
      * Recent versions of z/OSMF issue a warning if this header is omitted
@@ -178,6 +183,7 @@ public class ZosmfHeaders {
                     .put("X_IBM_RESPONSE_TIMEOUT", "X-IBM-Response-Timeout")
                     .putAll("X_IBM_RETURN_ETAG", "X-IBM-Return-Etag", "true")
                     .putAll("ACCEPT_ENCODING", "Accept-Encoding", "gzip")
+                    .put("X_IBM_RECORD_RANGE", "X-IBM-Record-Range")
                     .build();
 
 }
@@ -0,0 +1,57 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package rest;
+
+import java.util.Optional;
+
+/**
+ * Failed http request, keeps the status code and the z/OSMF error document so callers can classify the
+ * failure without parsing the message, which also holds dataset names
+ *
+ * @version 1.0
+ */
+public class ZosmfRequestException extends Exception {
+
+    private final int statusCode;
+
+    private final transient ZosmfError error;
+
+    /**
+     * ZosmfRequestException constructor
+     *
+     * @param message    error message
+     * @param statusCode http status code
+     * @param error      z/OSMF error document, may be null
+     */
+    public ZosmfRequestException(String message, int statusCode, ZosmfError error) {
+        super(message);
+        this.statusCode = statusCode;
+        this.error = error;
+    }
+
+    /**
+     * Retrieve statusCode value
+     *
+     * @return http status code
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Retrieve error value
+     *
+     * @return z/OSMF error document
+     */
+    public Optional<ZosmfError> getError() {
+        return Optional.ofNullable(error);
+    }
+
+}
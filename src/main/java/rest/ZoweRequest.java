@@ -10,10 +10,13 @@
 package rest;
 
 import core.ZOSConnection;
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.InputStreamEntity;
 import org.apache.http.conn.ssl.NoopHostnameVerifier;
 import org.apache.http.conn.ssl.TrustAllStrategy;
 import org.apache.http.impl.client.HttpClients;
@@ -25,6 +28,8 @@ import org.apache.logging.log4j.Logger;
 import utility.Util;
 import utility.UtilRest;
 
+import java.io.InputStream;
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -121,14 +126,15 @@ public abstract class ZoweRequest {
         int statusCode = execute(request);
 
         if (UtilRest.isHttpError(statusCode)) {
-            return new Response(httpResponse.getStatusLine().getReasonPhrase(), statusCode);
+            return getErrorResponse(statusCode);
         }
 
-        return new Response(UtilRest.getJsonResponseEntity(httpResponse), statusCode);
+        return new Response(UtilRest.getJsonResponseEntity(httpResponse), statusCode, getResponseHeaders());
     }
 
     /**
-     * Execute a Zowe rest call request and return a text object
+     * Execute a Zowe rest call request and return a text object. The body of a BULK priority request is read
+     * bound by the bandwidth limiters, see BandwidthLimiter
      *
      * @param request http verb request
      * @param <T>     http verb type
@@ -140,14 +146,25 @@ public abstract class ZoweRequest {
         int statusCode = execute(request);
 
         if (UtilRest.isHttpError(statusCode)) {
-            return new Response(httpResponse.getStatusLine().getReasonPhrase(), statusCode);
+            return getErrorResponse(statusCode);
         }
 
-        return new Response(UtilRest.getTextResponseEntity(httpResponse), statusCode);
+        HttpEntity entity = httpResponse.getEntity();
+        if (entity != null && BandwidthLimiter.getPriority() == BandwidthLimiter.Priority.BULK) {
+            InputStream content = entity.getContent();
+            InputStream limited = BandwidthLimiter.limit(connection, content);
+            if (limited != content) {
+                httpResponse.setEntity(new InputStreamEntity(limited, entity.getContentLength(),
+                        ContentType.get(entity)));
+            }
+        }
+
+        return new Response(UtilRest.getTextResponseEntity(httpResponse), statusCode, getResponseHeaders());
     }
 
     /**
-     * Execute a Zowe rest call request and return a stream object
+     * Execute a Zowe rest call request and return a stream object, bound by the bandwidth limiters of a BULK
+     * priority transfer, see BandwidthLimiter
      *
      * @param request http verb request
      * @param <T>     http verb type
@@ -159,15 +176,48 @@ public abstract class ZoweRequest {
         int statusCode = execute(request);
 
         if (UtilRest.isHttpError(statusCode)) {
-            return new Response(httpResponse.getStatusLine().getReasonPhrase(), statusCode);
+            return getErrorResponse(statusCode);
         }
 
         HttpEntity entity = httpResponse.getEntity();
         if (entity != null) {
-            return new Response(entity.getContent(), statusCode);
+            return new Response(BandwidthLimiter.limit(connection, entity.getContent()), statusCode,
+                    getResponseHeaders());
+        }
+
+        return new Response(null, statusCode, getResponseHeaders());
+    }
+
+    /**
+     * Build the response of a failed http request, keeping the z/OSMF error document of its body
+     *
+     * @param statusCode http status code
+     * @return response object
+     */
+    private Response getErrorResponse(int statusCode) {
+        ZosmfError error = null;
+        try {
+            error = UtilRest.getZosmfError((String) UtilRest.getTextResponseEntity(httpResponse));
+        } catch (Exception e) {
+            LOG.debug("ZoweRequest::getErrorResponse - error body not readable {}", e.getMessage());
         }
+        return new Response(httpResponse.getStatusLine().getReasonPhrase(), statusCode, getResponseHeaders(), error);
+    }
 
-        return new Response(null, statusCode);
+    /**
+     * Retrieve the headers of the last http response
+     *
+     * @return map of header names and values
+     */
+    private Map<String, String> getResponseHeaders() {
+        Map<String, String> headers = new HashMap<>();
+        Header[] allHeaders = httpResponse.getAllHeaders();
+        if (allHeaders != null) {
+            for (Header header : allHeaders) {
+                headers.put(header.getName(), header.getValue());
+            }
+        }
+        return headers;
     }
 
     /**
@@ -11,6 +11,8 @@ package rest;
 
 import core.ZOSConnection;
 
+import java.io.InputStream;
+
 /**
  * Request factory that generates the desire CRUD operation
  *
@@ -61,4 +63,22 @@ public class ZoweRequestFactory {
         return request;
     }
 
+    /**
+     * Assign the request to a streaming Http verb type request object
+     *
+     * @param connection connection information, see ZOSConnection object
+     * @param url        rest url value
+     * @param body       stream the request body is read from
+     * @param type       request http type, see ZoweRequestType.VerbType object
+     * @return ZoweRequest value
+     * @throws Exception error with type not found
+     */
+    public static ZoweRequest buildStreamRequest(ZOSConnection connection, String url, InputStream body,
+                                                 ZoweRequestType.VerbType type) throws Exception {
+        if (type == ZoweRequestType.VerbType.PUT_STREAM) {
+            return new StreamPutRequest(connection, url, body);
+        }
+        throw new Exception("no valid stream type specified");
+    }
+
 }
@@ -21,7 +21,7 @@ public class ZoweRequestType {
      * Http request verb value types
      */
     public enum VerbType {
-        GET_JSON, GET_TEXT, PUT_JSON, PUT_TEXT, DELETE_JSON, DELETE_TEXT, POST_JSON, POST_TEXT, GET_STREAM
+        GET_JSON, GET_TEXT, PUT_JSON, PUT_TEXT, DELETE_JSON, DELETE_TEXT, POST_JSON, POST_TEXT, GET_STREAM, PUT_STREAM
     }
 
 }
@@ -0,0 +1,180 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package utility;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Multi-pattern matcher finding every occurrence of a set of patterns in a single pass over a byte stream.
+ * <p>
+ * The patterns are compiled into an Aho-Corasick automaton with the failure transitions folded into a full
+ * transition table, so matching costs one table lookup per input byte whatever the number of patterns.
+ * The caller drives the automaton one byte at a time with next and asks for the patterns ending at the
+ * current position with getMatches, which lets content be matched as it streams in without building
+ * Strings. Patterns are matched on their UTF-8 bytes, ignoreCase folds ASCII letters only.
+ *
+ * @version 1.0
+ */
+public class AhoCorasick {
+
+    private static final int[] NO_MATCHES = new int[0];
+
+    private final List<String> patterns;
+
+    private final boolean ignoreCase;
+
+    /**
+     * Transition table, 256 entries per state
+     */
+    private int[] transitions;
+
+    /**
+     * Pattern indexes ending in each state, including those reached through failure transitions
+     */
+    private int[][] matches;
+
+    /**
+     * AhoCorasick constructor
+     *
+     * @param patterns   patterns to search for, may not be empty
+     * @param ignoreCase match ASCII letters regardless of their case
+     */
+    public AhoCorasick(Collection<String> patterns, boolean ignoreCase) {
+        Util.checkNullParameter(patterns == null, "patterns is null");
+        Util.checkIllegalParameter(patterns.isEmpty(), "patterns not specified");
+        Util.checkIllegalParameter(patterns.stream().anyMatch(p -> p == null || p.isEmpty()),
+                "patterns contain an empty pattern");
+        this.patterns = List.copyOf(patterns);
+        this.ignoreCase = ignoreCase;
+        build();
+    }
+
+    /**
+     * Retrieve the initial state of the automaton
+     *
+     * @return initial state
+     */
+    public int start() {
+        return 0;
+    }
+
+    /**
+     * Advance the automaton by one input byte
+     *
+     * @param state current state
+     * @param b     input byte
+     * @return next state
+     */
+    public int next(int state, byte b) {
+        return transitions[(state << 8) | fold(b & 0xFF)];
+    }
+
+    /**
+     * Retrieve the patterns that end at the input byte which led to the given state
+     *
+     * @param state current state
+     * @return indexes of the matching patterns, empty if none
+     */
+    public int[] getMatches(int state) {
+        return matches[state];
+    }
+
+    /**
+     * Retrieve a pattern by its index
+     *
+     * @param index pattern index
+     * @return pattern value
+     */
+    public String getPattern(int index) {
+        return patterns.get(index);
+    }
+
+    /**
+     * Retrieve the patterns in index order
+     *
+     * @return list of patterns
+     */
+    public List<String> getPatterns() {
+        return patterns;
+    }
+
+    /**
+     * Build the trie of the patterns, then compute the failure transitions breadth first and fold them into
+     * the transition table
+     */
+    private void build() {
+        List<int[]> trie = new ArrayList<>();
+        List<List<Integer>> outputs = new ArrayList<>();
+        trie.add(newState());
+        outputs.add(new ArrayList<>());
+
+        for (int i = 0; i < patterns.size(); i++) {
+            int state = 0;
+            for (byte b : patterns.get(i).getBytes(StandardCharsets.UTF_8)) {
+                int c = fold(b & 0xFF);
+                if (trie.get(state)[c] < 0) {
+                    trie.get(state)[c] = trie.size();
+                    trie.add(newState());
+                    outputs.add(new ArrayList<>());
+                }
+                state = trie.get(state)[c];
+            }
+            outputs.get(state).add(i);
+        }
+
+        int[] fail = new int[trie.size()];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < 256; c++) {
+            int child = trie.get(0)[c];
+            if (child < 0) {
+                trie.get(0)[c] = 0;
+            } else {
+                fail[child] = 0;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            outputs.get(state).addAll(outputs.get(fail[state]));
+            for (int c = 0; c < 256; c++) {
+                int child = trie.get(state)[c];
+                if (child < 0) {
+                    trie.get(state)[c] = trie.get(fail[state])[c];
+                } else {
+                    fail[child] = trie.get(fail[state])[c];
+                    queue.add(child);
+                }
+            }
+        }
+
+        transitions = new int[trie.size() << 8];
+        matches = new int[trie.size()][];
+        for (int state = 0; state < trie.size(); state++) {
+            System.arraycopy(trie.get(state), 0, transitions, state << 8, 256);
+            List<Integer> output = outputs.get(state);
+            matches[state] = output.isEmpty() ? NO_MATCHES : output.stream().distinct().mapToInt(i -> i).toArray();
+        }
+    }
+
+    private static int[] newState() {
+        int[] state = new int[256];
+        Arrays.fill(state, -1);
+        return state;
+    }
+
+    private int fold(int c) {
+        if (ignoreCase && c >= 'A' && c <= 'Z') {
+            return c + ('a' - 'A');
+        }
+        return c;
+    }
+
+}
@@ -0,0 +1,220 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package utility;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * Small on disk record of how far a download has progressed so it can be resumed after a failure or a
+ * restart of the process. The checkpoint is stored next to the target file with a ".checkpoint" suffix.
+ *
+ * @version 1.0
+ */
+public class TransferCheckpoint {
+
+    /**
+     * Suffix appended to the target file name to build the checkpoint file name
+     */
+    public static final String SUFFIX = ".checkpoint";
+
+    private static final String NAME = "name";
+    private static final String ETAG = "etag";
+    private static final String RECORDS = "records";
+    private static final String BYTES = "bytes";
+
+    /**
+     * Checkpoint file location
+     */
+    private final Path path;
+
+    /**
+     * Name of the source being transferred, e.g. dataset name or spool file
+     */
+    private final String name;
+
+    /**
+     * ETag of the source content when the transfer started
+     */
+    private Optional<String> etag = Optional.empty();
+
+    /**
+     * Number of complete records written to the target file
+     */
+    private long records;
+
+    /**
+     * Number of bytes of the target file holding those complete records
+     */
+    private long bytes;
+
+    /**
+     * TransferCheckpoint constructor, starts a new checkpoint from the beginning of the source
+     *
+     * @param target local file the source is transferred to
+     * @param name   name of the source being transferred
+     */
+    public TransferCheckpoint(Path target, String name) {
+        Util.checkNullParameter(target == null, "target is null");
+        Util.checkNullParameter(name == null, "name is null");
+        this.path = target.resolveSibling(target.getFileName() + SUFFIX);
+        this.name = name;
+    }
+
+    /**
+     * Load the checkpoint of a previous transfer of the same source into the target file. The checkpoint is
+     * only returned if the target file still holds at least the checkpointed number of bytes.
+     *
+     * @param target local file the source is transferred to
+     * @param name   name of the source being transferred
+     * @return checkpoint value or empty if there is nothing to resume
+     * @throws Exception error reading the checkpoint file
+     */
+    public static Optional<TransferCheckpoint> load(Path target, String name) throws Exception {
+        TransferCheckpoint checkpoint = new TransferCheckpoint(target, name);
+        if (!Files.exists(checkpoint.path) || !Files.exists(target)) {
+            return Optional.empty();
+        }
+
+        Properties properties = new Properties();
+        try (InputStream inputStream = Files.newInputStream(checkpoint.path)) {
+            properties.load(inputStream);
+        }
+        if (!name.equals(properties.getProperty(NAME))) {
+            return Optional.empty();
+        }
+        checkpoint.etag = Optional.ofNullable(properties.getProperty(ETAG));
+        checkpoint.records = Long.parseLong(properties.getProperty(RECORDS, "0"));
+        checkpoint.bytes = Long.parseLong(properties.getProperty(BYTES, "0"));
+        if (Files.size(target) < checkpoint.bytes) {
+            return Optional.empty();
+        }
+        return Optional.of(checkpoint);
+    }
+
+    /**
+     * Persist the checkpoint, the file is replaced atomically so a crash never leaves a partial checkpoint
+     *
+     * @throws Exception error writing the checkpoint file
+     */
+    public void save() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty(NAME, name);
+        etag.ifPresent(e -> properties.setProperty(ETAG, e));
+        properties.setProperty(RECORDS, String.valueOf(records));
+        properties.setProperty(BYTES, String.valueOf(bytes));
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (OutputStream outputStream = Files.newOutputStream(temp)) {
+            properties.store(outputStream, null);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Remove the checkpoint file once the transfer completed
+     *
+     * @throws Exception error deleting the checkpoint file
+     */
+    public void delete() throws Exception {
+        Files.deleteIfExists(path);
+    }
+
+    /**
+     * Restart the checkpoint from the beginning of the source
+     */
+    public void reset() {
+        etag = Optional.empty();
+        records = 0;
+        bytes = 0;
+    }
+
+    /**
+     * Record the progress of the transfer
+     *
+     * @param records number of complete records written
+     * @param bytes   number of bytes holding those records
+     */
+    public void update(long records, long bytes) {
+        this.records = records;
+        this.bytes = bytes;
+    }
+
+    /**
+     * Retrieve path value
+     *
+     * @return path value
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Retrieve name value
+     *
+     * @return name value
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retrieve etag value
+     *
+     * @return etag value
+     */
+    public Optional<String> getEtag() {
+        return etag;
+    }
+
+    /**
+     * Assign etag value
+     *
+     * @param etag ETag of the source content
+     */
+    public void setEtag(String etag) {
+        this.etag = Optional.ofNullable(etag);
+    }
+
+    /**
+     * Retrieve records value
+     *
+     * @return records value
+     */
+    public long getRecords() {
+        return records;
+    }
+
+    /**
+     * Retrieve bytes value
+     *
+     * @return bytes value
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return "TransferCheckpoint{" +
+                "path=" + path +
+                ", name='" + name + '\'' +
+                ", etag=" + etag +
+                ", records=" + records +
+                ", bytes=" + bytes +
+                '}';
+    }
+
+}
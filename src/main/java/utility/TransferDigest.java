@@ -0,0 +1,185 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package utility;
+
+import com.google.common.io.BaseEncoding;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.zip.CRC32C;
+
+/**
+ * Computes digests of transferred content as it flows, so no second pass over the local file is needed.
+ * <p>
+ * Several algorithms can be computed at once, each chunk is fed to all of them. Digests are returned as lower
+ * case hex strings, CRC32C as 8 hex digits, the same formats as printed by common checksum tools.
+ *
+ * @version 1.0
+ */
+public class TransferDigest {
+
+    /**
+     * Algorithm enum of the supported digests.
+     * <p>
+     * CRC32C Castagnoli checksum, cheap and hardware accelerated, to detect corruption.
+     * SHA256 SHA-256 hash for audit purposes.
+     */
+    public enum Algorithm {
+        CRC32C("CRC32C"), SHA256("SHA-256");
+
+        private final String name;
+
+        Algorithm(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Retrieve the algorithm name as shown to users
+         *
+         * @return name value, e.g. SHA-256
+         */
+        public String getName() {
+            return name;
+        }
+    }
+
+    private static final BaseEncoding HEX = BaseEncoding.base16().lowerCase();
+
+    private final CRC32C crc32c;
+
+    private final MessageDigest sha256;
+
+    /**
+     * TransferDigest constructor
+     *
+     * @param algorithms algorithms to compute, may be empty
+     */
+    public TransferDigest(Set<Algorithm> algorithms) {
+        Util.checkNullParameter(algorithms == null, "algorithms is null");
+        this.crc32c = algorithms.contains(Algorithm.CRC32C) ? new CRC32C() : null;
+        try {
+            this.sha256 = algorithms.contains(Algorithm.SHA256) ? MessageDigest.getInstance("SHA-256") : null;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Check if any algorithm is computed
+     *
+     * @return boolean true if a digest is computed
+     */
+    public boolean isEnabled() {
+        return crc32c != null || sha256 != null;
+    }
+
+    /**
+     * Feed a chunk of content
+     *
+     * @param b   content bytes
+     * @param off offset of the first byte
+     * @param len number of bytes
+     */
+    public void update(byte[] b, int off, int len) {
+        if (crc32c != null) {
+            crc32c.update(b, off, len);
+        }
+        if (sha256 != null) {
+            sha256.update(b, off, len);
+        }
+    }
+
+    /**
+     * Feed the remaining content of a buffer, its position is moved to its limit
+     *
+     * @param buffer content bytes
+     */
+    public void update(ByteBuffer buffer) {
+        if (crc32c != null && sha256 != null) {
+            crc32c.update(buffer.duplicate());
+            sha256.update(buffer);
+        } else if (crc32c != null) {
+            crc32c.update(buffer);
+        } else if (sha256 != null) {
+            sha256.update(buffer);
+        }
+    }
+
+    /**
+     * Retrieve the digests of the content fed so far, the digest state is not reset
+     *
+     * @return map of algorithm and hex digest, empty if no algorithm is computed
+     */
+    public Map<Algorithm, String> getDigests() {
+        Map<Algorithm, String> digests = new EnumMap<>(Algorithm.class);
+        if (crc32c != null) {
+            digests.put(Algorithm.CRC32C, String.format("%08x", crc32c.getValue()));
+        }
+        if (sha256 != null) {
+            try {
+                digests.put(Algorithm.SHA256, HEX.encode(((MessageDigest) sha256.clone()).digest()));
+            } catch (CloneNotSupportedException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return digests;
+    }
+
+    /**
+     * Wrap a stream so the content read from it is fed to this digest
+     *
+     * @param inputStream content stream
+     * @return stream feeding this digest, or the given stream if no algorithm is computed
+     */
+    public InputStream wrap(InputStream inputStream) {
+        Util.checkNullParameter(inputStream == null, "inputStream is null");
+        if (!isEnabled()) {
+            return inputStream;
+        }
+        return new FilterInputStream(inputStream) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b != -1) {
+                    update(new byte[]{(byte) b}, 0, 1);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int count = super.read(b, off, len);
+                if (count > 0) {
+                    update(b, off, count);
+                }
+                return count;
+            }
+
+            @Override
+            public boolean markSupported() {
+                return false;
+            }
+
+            @Override
+            public long skip(long n) throws IOException {
+                // skipped bytes would be missing from the digest, read them instead
+                byte[] buffer = new byte[(int) Math.min(n, 8192)];
+                int count = n <= 0 ? 0 : read(buffer, 0, buffer.length);
+                return Math.max(count, 0);
+            }
+        };
+    }
+
+}
@@ -10,9 +10,16 @@
 package utility;
 
 import org.json.simple.JSONObject;
+import rest.ZosmfError;
+import rest.ZosmfRequestException;
+import zosfiles.ZosFilesConstants;
 import zosfiles.response.Dataset;
+import zosfiles.response.Member;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
 
 /**
  * Utility Class for Dataset related static helper methods.
@@ -28,7 +35,27 @@ public class UtilDataset {
      * @author Frank Giordano
      */
     public enum Operation {
-        create, read, copy, delete, write, download
+        create, read, copy, delete, write, download, recall
+    }
+
+    /**
+     * DataType enum for the transfer mode of dataset content.
+     * TEXT converts the content between EBCDIC and the client code page.
+     * BINARY transfers the content unchanged.
+     * RECORD transfers the content unchanged with each record prefixed by its 4 byte length.
+     */
+    public enum DataType {
+        TEXT, BINARY, RECORD
+    }
+
+    /**
+     * ArchiveFormat enum for the format of a dataset archive.
+     * <p>
+     * ZIP writes a zip archive with deflate compression.
+     * TAR writes an uncompressed POSIX ustar archive.
+     */
+    public enum ArchiveFormat {
+        ZIP, TAR
     }
 
     /**
@@ -73,6 +100,188 @@ public class UtilDataset {
                 .build();
     }
 
+    /**
+     * Formulate and return a Member document/object based on incoming Json object. The ISPF statistics are
+     * returned as numbers or strings by z/OSMF, all of them are kept as strings.
+     *
+     * @param json JSONObject object
+     * @return member document/Object
+     */
+    public static Member createMemberObjFromJson(JSONObject json) {
+        return new Member.Builder().member(getString(json, "member"))
+                .vers(getString(json, "vers"))
+                .mod(getString(json, "mod"))
+                .c4date(getString(json, "c4date"))
+                .m4date(getString(json, "m4date"))
+                .cnorc(getString(json, "cnorc"))
+                .inorc(getString(json, "inorc"))
+                .mnorc(getString(json, "mnorc"))
+                .mtime(getString(json, "mtime"))
+                .msec(getString(json, "msec"))
+                .user(getString(json, "user"))
+                .sclm(getString(json, "sclm"))
+                .build();
+    }
+
+    /**
+     * Retrieve a Json value as a string
+     *
+     * @param json JSONObject object
+     * @param key  key of the value
+     * @return string value or null if not present
+     */
+    private static String getString(JSONObject json, String key) {
+        Object value = json.get(key);
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     * Build a value identifying the version of a member from its ISPF statistics. The value changes whenever
+     * the member is saved, so comparing it with a previously recorded value tells whether the member changed
+     * without downloading it.
+     *
+     * @param member member document/Object retrieved with base attributes
+     * @return change token or empty if the member has no ISPF statistics
+     */
+    public static Optional<String> getMemberChangeToken(Member member) {
+        Util.checkNullParameter(member == null, "member is null");
+        if (!member.hasStatistics()) {
+            return Optional.empty();
+        }
+        return Optional.of(String.join(" ", member.getVers().orElse(""), member.getMod().orElse(""),
+                member.getM4date().orElse(""), member.getMtime().orElse(""), member.getMsec().orElse(""),
+                member.getCnorc().orElse(""), member.getUser().orElse("")));
+    }
+
+    /**
+     * Estimate the number of records held by a dataset from its base attributes.
+     * <p>
+     * The estimate is the used percentage of the first extent converted to bytes and divided by the record
+     * length. It is only a sizing hint, variable length records make the actual count higher.
+     *
+     * @param dataset dataset document/Object retrieved with base attributes
+     * @return estimated record count or 0 if the attributes are not available
+     */
+    public static long estimateRecordCount(Dataset dataset) {
+        Util.checkNullParameter(dataset == null, "dataset is null");
+        try {
+            long lrecl = Long.parseLong(dataset.getLrectl().orElse("0"));
+            return lrecl <= 0 ? 0 : estimateBytes(dataset) / lrecl;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Estimate the content size of a dataset from its base attributes.
+     * <p>
+     * The estimate is the used percentage of the first extent converted to bytes, see estimateRecordCount.
+     *
+     * @param dataset dataset document/Object retrieved with base attributes
+     * @return estimated size in bytes or 0 if the attributes are not available
+     */
+    public static long estimateBytes(Dataset dataset) {
+        Util.checkNullParameter(dataset == null, "dataset is null");
+        try {
+            long tracks = Long.parseLong(dataset.getSizex().orElse("0"));
+            long used = Long.parseLong(dataset.getUsed().orElse("0"));
+            if (tracks <= 0 || used <= 0) {
+                return 0;
+            }
+            return tracks * used * ZosFilesConstants.BYTES_PER_TRACK / 100;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Checks whether a dataset name matches a DSLEVEL style pattern.
+     * <p>
+     * "**" matches any number of qualifiers, "*" matches any characters within a single qualifier and
+     * "%" matches exactly one character within a qualifier. The comparison is case-insensitive.
+     *
+     * @param dataSetName dataset name (e.g. 'IBMUSER.REXX.JCL')
+     * @param pattern     DSLEVEL pattern (e.g. 'IBMUSER.**.JCL')
+     * @return boolean true if the dataset name matches the pattern
+     */
+    public static boolean isDataSetMatch(String dataSetName, String pattern) {
+        Util.checkNullParameter(dataSetName == null, "dataSetName is null");
+        Util.checkNullParameter(pattern == null, "pattern is null");
+
+        StringBuilder regex = new StringBuilder();
+        String value = pattern.trim().toUpperCase(Locale.ROOT);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '*' && i + 1 < value.length() && value.charAt(i + 1) == '*') {
+                i++;
+                if (i + 1 < value.length() && value.charAt(i + 1) == '.') {
+                    // "**." matches zero or more whole qualifiers
+                    regex.append("(?:[^.]*\\.)*");
+                    i++;
+                } else {
+                    regex.append(".*");
+                }
+            } else if (c == '*') {
+                regex.append("[^.]*");
+            } else if (c == '%') {
+                regex.append("[^.]");
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.matches(regex.toString(), dataSetName.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Checks whether a dataset name matches any of the given DSLEVEL style patterns. Each entry may hold
+     * several comma separated patterns, e.g. "ibmuser.**.jcl, ibmuser.rexa.*"
+     *
+     * @param dataSetName dataset name (e.g. 'IBMUSER.REXX.JCL')
+     * @param patterns    DSLEVEL patterns
+     * @return boolean true if the dataset name matches at least one pattern
+     */
+    public static boolean isDataSetMatch(String dataSetName, String[] patterns) {
+        Util.checkNullParameter(patterns == null, "patterns is null");
+        for (String entry : patterns) {
+            for (String pattern : entry.split(",")) {
+                if (!pattern.isBlank() && isDataSetMatch(dataSetName, pattern)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Formulate and return a more redefined error exception based on a CRUD operation. A ZosmfRequestException
+     * is rethrown as such, keeping its status code and z/OSMF error document, any other exception is kept as
+     * cause.
+     *
+     * @param error   error of the failed request
+     * @param dsNames dataset representations
+     * @param type    crud type value of operation taken place
+     * @throws Exception with a possible customized error msg
+     */
+    public static void checkHttpErrors(Exception error, List<String> dsNames, Operation type) throws Exception {
+        Util.checkNullParameter(error == null, "error is null");
+        Util.checkNullParameter(dsNames == null, "dsNames is null");
+        Util.checkIllegalParameter(dsNames.isEmpty(), "dsNames not specified");
+        Util.checkNullParameter(type == null, "crudType is null");
+        if (error.getMessage() == null || error.getMessage().isEmpty()) {
+            throw error;
+        }
+        try {
+            checkHttpErrors(error.getMessage(), dsNames, type);
+        } catch (Exception e) {
+            if (error instanceof ZosmfRequestException) {
+                ZosmfRequestException requestError = (ZosmfRequestException) error;
+                throw new ZosmfRequestException(e.getMessage(), requestError.getStatusCode(),
+                        requestError.getError().orElse(null));
+            }
+            throw new Exception(e.getMessage(), error);
+        }
+    }
+
     /**
      * Formulate and return a more redefined error exception message based on a CRUD operation.
      *
@@ -155,6 +364,60 @@ public class UtilDataset {
         throw new Exception(errMsg);
     }
 
+    /**
+     * z/OSMF error category of a dynamic allocation error
+     */
+    private static final long CATEGORY_DYNAMIC_ALLOCATION = 4;
+
+    /**
+     * Dynamic allocation reason code (S99ERROR 0210) of a dataset held by another job or user
+     */
+    private static final long REASON_DATASET_IN_USE = 0x210;
+
+    /**
+     * Does the error of a dataset request positively identify ENQ contention, i.e. the dataset is held by
+     * another job or user and the request may succeed when retried after a delay.
+     * <p>
+     * The z/OSMF error document of the failed request is classified, message text such as a dataset name is
+     * never looked at. Contention is a dynamic allocation error (category 4) with reason 0x210, or a message
+     * IKJ56225I (dataset already in use) in its message or details. Any other error, e.g. a 404 or a 500 for a
+     * missing permission, is not contention.
+     *
+     * @param error error of a failed request, its causes are examined as well
+     * @return boolean true if the error is ENQ contention
+     */
+    public static boolean isEnqContention(Throwable error) {
+        for (Throwable e = error; e != null; e = e.getCause()) {
+            if (e instanceof ZosmfRequestException) {
+                Optional<ZosmfError> zosmfError = ((ZosmfRequestException) e).getError();
+                return zosmfError.isPresent() && isEnqContention(zosmfError.get());
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Does a z/OSMF error document positively identify ENQ contention, see isEnqContention(Throwable)
+     *
+     * @param error z/OSMF error document
+     * @return boolean true if the error is ENQ contention
+     */
+    public static boolean isEnqContention(ZosmfError error) {
+        Util.checkNullParameter(error == null, "error is null");
+        if (error.getCategory().orElse(-1L) == CATEGORY_DYNAMIC_ALLOCATION &&
+                error.getReason().orElse(-1L) == REASON_DATASET_IN_USE) {
+            return true;
+        }
+        if (error.getMessage().map(UtilDataset::isEnqMessage).orElse(false)) {
+            return true;
+        }
+        return error.getDetails().stream().anyMatch(UtilDataset::isEnqMessage);
+    }
+
+    private static boolean isEnqMessage(String message) {
+        return message.trim().toUpperCase(Locale.ROOT).startsWith("IKJ56225I");
+    }
+
     /**
      * Formulate and return a more specialized error message string
      *
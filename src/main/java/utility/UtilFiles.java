@@ -9,11 +9,22 @@
  */
 package utility;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import rest.BandwidthLimiter;
+import rest.Response;
 import rest.ZosmfHeaders;
 import zosfiles.input.DownloadParams;
+import zosfiles.input.UploadParams;
+import zosfiles.response.TransferResult;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * Utility Class for zosFiles related static helper methods.
@@ -23,6 +34,34 @@ import java.util.Map;
  */
 public class UtilFiles {
 
+    private static final Logger LOG = LogManager.getLogger(UtilFiles.class);
+
+    /**
+     * Number of bytes written between two checkpoint saves of a resumable download
+     */
+    private static final long CHECKPOINT_INTERVAL = 4L * 1024 * 1024;
+
+    /**
+     * Number of times a resumable download is resumed within the same call before giving up
+     */
+    private static final int MAX_RESUME_ATTEMPTS = 3;
+
+    /**
+     * A stream http request that can be repeated with additional headers, used to resume downloads
+     */
+    public interface ResumableRequest {
+
+        /**
+         * Execute the request with the given additional headers
+         *
+         * @param headers additional headers such as the record range to start from
+         * @return checked response holding the content stream
+         * @throws Exception error processing request
+         */
+        Response execute(Map<String, String> headers) throws Exception;
+
+    }
+
     /**
      * Common method to build headers given input options object
      *
@@ -39,9 +78,14 @@ public class UtilFiles {
             key = ZosmfHeaders.HEADERS.get("X_IBM_BINARY").get(0);
             value = ZosmfHeaders.HEADERS.get("X_IBM_BINARY").get(1);
             headers.put(key, value);
+        } else if (options.getRecord().orElse(false)) {
+            key = ZosmfHeaders.HEADERS.get("X_IBM_BINARY_BY_RECORD").get(0);
+            value = ZosmfHeaders.HEADERS.get("X_IBM_BINARY_BY_RECORD").get(1);
+            headers.put(key, value);
         } else if (options.getEncoding().isPresent()) {
-            key = ZosmfHeaders.X_IBM_TEXT;
-            value = ZosmfHeaders.X_IBM_TEXT + ZosmfHeaders.X_IBM_TEXT_ENCODING + options.getEncoding();
+            key = ZosmfHeaders.HEADERS.get("X_IBM_TEXT").get(0);
+            value = ZosmfHeaders.HEADERS.get("X_IBM_TEXT").get(1) +
+                    ZosmfHeaders.HEADERS.get("X_IBM_TEXT_ENCODING").get(0) + "IBM-" + options.getEncoding().get();
             headers.put(key, value);
         }
 
@@ -51,11 +95,304 @@ public class UtilFiles {
 
         if (options.getResponseTimeout().isPresent()) {
             key = ZosmfHeaders.HEADERS.get("X_IBM_RESPONSE_TIMEOUT").get(0);
-            value = ZosmfHeaders.HEADERS.get(options.getResponseTimeout().toString()).get(1);
+            headers.put(key, options.getResponseTimeout().get());
+        }
+
+        return headers;
+    }
+
+    /**
+     * Common method to build upload headers given input options object
+     *
+     * @param options various options parameters, see UploadParams object
+     * @return HeaderContent
+     */
+    public static Map<String, String> generateHeadersBasedOnOptions(UploadParams options) {
+        Util.checkNullParameter(options == null, "options is null");
+        String key, value;
+        Map<String, String> headers = new HashMap<>();
+
+        if (options.getBinary().orElse(false) || options.getRecord().orElse(false)) {
+            String header = options.getBinary().orElse(false) ? "X_IBM_BINARY" : "X_IBM_BINARY_BY_RECORD";
+            key = ZosmfHeaders.HEADERS.get(header).get(0);
+            value = ZosmfHeaders.HEADERS.get(header).get(1);
+            headers.put(key, value);
+            key = ZosmfHeaders.HEADERS.get("OCTET_STREAM").get(0);
+            value = ZosmfHeaders.HEADERS.get("OCTET_STREAM").get(1);
+            headers.put(key, value);
+        } else if (options.getEncoding().isPresent()) {
+            key = ZosmfHeaders.HEADERS.get("X_IBM_TEXT").get(0);
+            value = ZosmfHeaders.HEADERS.get("X_IBM_TEXT").get(1) +
+                    ZosmfHeaders.HEADERS.get("X_IBM_TEXT_ENCODING").get(0) + "IBM-" + options.getEncoding().get();
             headers.put(key, value);
         }
 
+        if (options.getEtag().isPresent()) {
+            key = ZosmfHeaders.HEADERS.get("IF_MATCH").get(0);
+            headers.put(key, options.getEtag().get());
+        }
+
+        if (options.getResponseTimeout().isPresent()) {
+            key = ZosmfHeaders.HEADERS.get("X_IBM_RESPONSE_TIMEOUT").get(0);
+            headers.put(key, options.getResponseTimeout().get());
+        }
+
         return headers;
     }
 
+    /**
+     * Run the given transfer tasks with at most maxConcurrentRequests of them in flight at once.
+     * <p>
+     * Each task is expected to report its own failure inside the returned TransferResult. If failFast is true
+     * the first failed result cancels the remaining tasks and an exception is thrown, otherwise all tasks run
+     * to completion and the failures are left in the returned list for the caller to report. Tasks run with
+     * BULK priority, see BandwidthLimiter.
+     *
+     * @param tasks                 transfer tasks to run
+     * @param maxConcurrentRequests maximum number of tasks to run at once
+     * @param failFast              abort on the first failure
+     * @return results in the same order as the tasks were given
+     * @throws Exception first failure when failFast is true or execution was interrupted
+     */
+    public static List<TransferResult> runConcurrently(List<Callable<TransferResult>> tasks,
+                                                       int maxConcurrentRequests, boolean failFast)
+            throws Exception {
+        Util.checkNullParameter(tasks == null, "tasks is null");
+        Util.checkIllegalParameter(maxConcurrentRequests < 1, "maxConcurrentRequests must be at least 1");
+        List<TransferResult> results = new ArrayList<>();
+        if (tasks.isEmpty()) {
+            return results;
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(maxConcurrentRequests, tasks.size()));
+        try {
+            CompletionService<TransferResult> completion = new ExecutorCompletionService<>(pool);
+            Map<Future<TransferResult>, Integer> order = new HashMap<>();
+            for (int i = 0; i < tasks.size(); i++) {
+                Callable<TransferResult> task = tasks.get(i);
+                order.put(completion.submit(() ->
+                        BandwidthLimiter.callWithPriority(BandwidthLimiter.Priority.BULK, task)), i);
+            }
+
+            TransferResult[] ordered = new TransferResult[tasks.size()];
+            for (int i = 0; i < tasks.size(); i++) {
+                Future<TransferResult> future = completion.take();
+                TransferResult result = future.get();
+                ordered[order.get(future)] = result;
+                if (failFast && !result.isSuccess()) {
+                    Exception error = result.getError().get();
+                    LOG.debug("UtilFiles::runConcurrently - aborting on {}", result.getName().orElse(""));
+                    throw new Exception(String.format("transfer of '%s' failed: %s",
+                            result.getName().orElse(""), error.getMessage()), error);
+                }
+            }
+            results.addAll(List.of(ordered));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        return results;
+    }
+
+    /**
+     * Run the given transfer tasks like runConcurrently, starting the largest ones first.
+     * <p>
+     * Tasks are started in descending order of their size so the long transfers overlap each other from the
+     * beginning and the small ones fill the request slots as they free up, instead of a large transfer being
+     * picked up last and running alone at the end. Tasks of unknown size, given as 0, keep their order and
+     * start after all sized ones.
+     *
+     * @param tasks                 transfer tasks to run
+     * @param sizes                 estimated size in bytes per task, in the same order as the tasks
+     * @param maxConcurrentRequests maximum number of tasks to run at once
+     * @param failFast              abort on the first failure
+     * @return results in the same order as the tasks were given
+     * @throws Exception first failure when failFast is true or execution was interrupted
+     */
+    public static List<TransferResult> runConcurrently(List<Callable<TransferResult>> tasks, List<Long> sizes,
+                                                       int maxConcurrentRequests, boolean failFast)
+            throws Exception {
+        Util.checkNullParameter(tasks == null, "tasks is null");
+        Util.checkNullParameter(sizes == null, "sizes is null");
+        Util.checkIllegalParameter(tasks.size() != sizes.size(), "sizes do not match tasks");
+
+        List<Integer> order = getLargestFirstOrder(sizes);
+        List<Callable<TransferResult>> ordered = new ArrayList<>();
+        order.forEach(i -> ordered.add(tasks.get(i)));
+        List<TransferResult> results = runConcurrently(ordered, maxConcurrentRequests, failFast);
+
+        TransferResult[] restored = new TransferResult[tasks.size()];
+        for (int i = 0; i < order.size(); i++) {
+            restored[order.get(i)] = results.get(i);
+        }
+        return new ArrayList<>(List.of(restored));
+    }
+
+    /**
+     * Retrieve the start order of items by descending size, items of equal size keep their relative order
+     *
+     * @param sizes size per item
+     * @return item indexes in start order
+     */
+    public static List<Integer> getLargestFirstOrder(List<Long> sizes) {
+        Util.checkNullParameter(sizes == null, "sizes is null");
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < sizes.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparingLong((Integer i) -> Math.max(sizes.get(i), 0)).reversed());
+        return order;
+    }
+
+    /**
+     * Download text content into a local file resuming from the checkpoint of a previous attempt.
+     * <p>
+     * Progress is tracked by complete records, i.e. lines, and saved periodically in a checkpoint file next
+     * to the target. A failed transfer is resumed with a record range request starting at the first record
+     * not yet written, both within this call and by a later call after a process restart. When verifyEtag is
+     * true the ETag of the resumed response must match the one recorded at the start, otherwise the content
+     * changed and the transfer restarts from the beginning. The checkpoint is deleted once complete.
+     *
+     * @param name       name of the source being transferred
+     * @param file       local file to write
+     * @param request    request to execute for each attempt
+     * @param verifyEtag verify continuity with the ETag response header
+     * @return transfer result holding the number of bytes of the completed file
+     * @throws Exception error processing request after all resume attempts failed
+     */
+    public static TransferResult downloadResumable(String name, Path file, ResumableRequest request,
+                                                   boolean verifyEtag) throws Exception {
+        return downloadResumable(name, file, request, verifyEtag, Set.of());
+    }
+
+    /**
+     * Download text content into a local file resuming from the checkpoint of a previous attempt, see
+     * downloadResumable, computing digests of the content as it is written.
+     * <p>
+     * The digests cover the whole file. After a resume the part written by an earlier attempt is read back
+     * from the file once, the remainder is digested as it arrives.
+     *
+     * @param name       name of the source being transferred
+     * @param file       local file to write
+     * @param request    request to execute for each attempt
+     * @param verifyEtag verify continuity with the ETag response header
+     * @param digests    digests to compute, may be empty
+     * @return transfer result holding the number of bytes and the digests of the completed file
+     * @throws Exception error processing request after all resume attempts failed
+     */
+    public static TransferResult downloadResumable(String name, Path file, ResumableRequest request,
+                                                   boolean verifyEtag, Set<TransferDigest.Algorithm> digests)
+            throws Exception {
+        Util.checkNullParameter(digests == null, "digests is null");
+        Util.checkNullParameter(name == null, "name is null");
+        Util.checkNullParameter(file == null, "file is null");
+        Util.checkNullParameter(request == null, "request is null");
+        long start = System.nanoTime();
+
+        TransferCheckpoint checkpoint = TransferCheckpoint.load(file, name)
+                .orElse(new TransferCheckpoint(file, name));
+        Exception lastError = null;
+        for (int attempt = 0; attempt <= MAX_RESUME_ATTEMPTS; attempt++) {
+            try {
+                Map<String, String> headers = new HashMap<>();
+                if (verifyEtag) {
+                    headers.put(ZosmfHeaders.HEADERS.get("X_IBM_RETURN_ETAG").get(0),
+                            ZosmfHeaders.HEADERS.get("X_IBM_RETURN_ETAG").get(1));
+                }
+                boolean resuming = checkpoint.getRecords() > 0;
+                if (resuming) {
+                    LOG.debug("UtilFiles::downloadResumable - resuming {}", checkpoint);
+                    headers.put(ZosmfHeaders.HEADERS.get("X_IBM_RECORD_RANGE").get(0),
+                            checkpoint.getRecords() + "-" + Integer.MAX_VALUE);
+                }
+
+                Response response = BandwidthLimiter.callWithPriority(BandwidthLimiter.Priority.BULK,
+                        () -> request.execute(headers));
+                Optional<String> etag = response.getHeader("ETag");
+                try (InputStream inputStream = (InputStream) response.getResponsePhrase()
+                        .orElse(InputStream.nullInputStream())) {
+                    if (resuming && verifyEtag && (etag.isEmpty() || !etag.equals(checkpoint.getEtag()))) {
+                        LOG.debug("UtilFiles::downloadResumable - {} changed, restarting", name);
+                        checkpoint.reset();
+                        continue;
+                    }
+                    checkpoint.setEtag(etag.orElse(null));
+                    checkpoint.save();
+                    TransferDigest digest = new TransferDigest(digests);
+                    long bytes = writeRecords(inputStream, file, checkpoint, digest);
+                    checkpoint.delete();
+                    return new TransferResult.Builder()
+                            .name(name)
+                            .file(file.toString())
+                            .bytes(bytes)
+                            .etag(checkpoint.getEtag().orElse(null))
+                            .digests(digest.getDigests())
+                            .elapsedMillis((System.nanoTime() - start) / 1_000_000)
+                            .build();
+                }
+            } catch (Exception e) {
+                LOG.debug("UtilFiles::downloadResumable - attempt {} of {} failed {}", attempt, name, e.getMessage());
+                lastError = e;
+            }
+        }
+        throw Optional.ofNullable(lastError).orElse(new Exception("content of '" + name + "' kept changing"));
+    }
+
+    /**
+     * Append text records from a stream to a file starting at the checkpointed offset. The checkpoint is
+     * advanced and saved every CHECKPOINT_INTERVAL bytes, after the written data was forced to disk, and only
+     * ever points at the end of a complete record.
+     *
+     * @param inputStream source of the records
+     * @param file        local file to write
+     * @param checkpoint  checkpoint giving the offset to start from
+     * @param digest      receives the whole content of the file
+     * @return size of the file once the stream was exhausted
+     * @throws Exception error reading the stream or writing the file
+     */
+    private static long writeRecords(InputStream inputStream, Path file, TransferCheckpoint checkpoint,
+                                     TransferDigest digest) throws Exception {
+        try (FileChannel target = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            target.truncate(checkpoint.getBytes());
+            byte[] buffer = new byte[64 * 1024];
+            if (digest.isEnabled()) {
+                // content kept from an earlier attempt
+                ByteBuffer data = ByteBuffer.wrap(buffer);
+                while (target.read(data) > 0) {
+                    data.flip();
+                    digest.update(data);
+                    data.clear();
+                }
+            }
+            target.position(checkpoint.getBytes());
+
+            long written = checkpoint.getBytes();
+            long records = checkpoint.getRecords();
+            long recordEnd = written;
+            int count;
+            while ((count = inputStream.read(buffer)) >= 0) {
+                ByteBuffer data = ByteBuffer.wrap(buffer, 0, count);
+                while (data.hasRemaining()) {
+                    target.write(data);
+                }
+                digest.update(buffer, 0, count);
+                for (int i = 0; i < count; i++) {
+                    if (buffer[i] == '\n') {
+                        records++;
+                        recordEnd = written + i + 1;
+                    }
+                }
+                written += count;
+                if (recordEnd - checkpoint.getBytes() >= CHECKPOINT_INTERVAL) {
+                    target.force(false);
+                    checkpoint.update(records, recordEnd);
+                    checkpoint.save();
+                }
+            }
+            target.force(false);
+            return written;
+        }
+    }
+
 }
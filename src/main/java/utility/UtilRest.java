@@ -14,13 +14,25 @@ import org.apache.http.HttpResponse;
 import org.apache.http.util.EntityUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.ContentHandler;
 import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 import rest.Response;
+import rest.ZosmfError;
+import rest.ZosmfRequestException;
 
+import java.io.*;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Utility Class for Rest related static helper methods.
@@ -60,6 +72,140 @@ public class UtilRest {
         return null;
     }
 
+    /**
+     * Decode a Json response document as a stream and hand each element of the given top level array to the
+     * consumer as soon as it is complete. Only one element is held in memory at a time, so very large lists
+     * such as the members of a big PDSE are decoded with bounded memory.
+     *
+     * @param inputStream Json document stream, it is closed when done
+     * @param arrayKey    key of the top level array, e.g. "items"
+     * @param consumer    receives each array element
+     * @return the other top level values of the document, e.g. "returnedRows" and "moreRows"
+     * @throws Exception error reading or parsing the document
+     */
+    public static JSONObject parseJsonItems(InputStream inputStream, String arrayKey, Consumer<JSONObject> consumer)
+            throws Exception {
+        Util.checkNullParameter(inputStream == null, "inputStream is null");
+        Util.checkNullParameter(arrayKey == null, "arrayKey is null");
+        Util.checkNullParameter(consumer == null, "consumer is null");
+        JsonItemsHandler handler = new JsonItemsHandler(arrayKey, consumer);
+        try (Reader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            new JSONParser().parse(reader, handler);
+        }
+        return handler.fields;
+    }
+
+    /**
+     * Json parser content handler assembling the elements of a top level array one at a time
+     */
+    private static class JsonItemsHandler implements ContentHandler {
+
+        private final String arrayKey;
+        private final Consumer<JSONObject> consumer;
+        private final JSONObject fields = new JSONObject();
+        private final Deque<Object> containers = new ArrayDeque<>();
+        private String key;
+        private int depth;
+        private boolean inItems;
+
+        private JsonItemsHandler(String arrayKey, Consumer<JSONObject> consumer) {
+            this.arrayKey = arrayKey;
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void startJSON() {
+        }
+
+        @Override
+        public void endJSON() {
+        }
+
+        @Override
+        public boolean startObject() {
+            if (inItems) {
+                JSONObject object = new JSONObject();
+                add(object);
+                containers.push(object);
+            } else {
+                depth++;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean endObject() {
+            if (inItems) {
+                Object object = containers.pop();
+                if (containers.isEmpty() && object instanceof JSONObject) {
+                    consumer.accept((JSONObject) object);
+                }
+            } else {
+                depth--;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean startObjectEntry(String key) {
+            this.key = key;
+            return true;
+        }
+
+        @Override
+        public boolean endObjectEntry() {
+            return true;
+        }
+
+        @Override
+        public boolean startArray() {
+            if (inItems) {
+                JSONArray array = new JSONArray();
+                add(array);
+                containers.push(array);
+            } else if (depth == 1 && arrayKey.equals(key)) {
+                inItems = true;
+            } else {
+                depth++;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean endArray() {
+            if (inItems && !containers.isEmpty()) {
+                containers.pop();
+            } else if (inItems) {
+                inItems = false;
+            } else {
+                depth--;
+            }
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean primitive(Object value) {
+            if (inItems) {
+                add(value);
+            } else if (depth == 1) {
+                fields.put(key, value);
+            }
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void add(Object value) {
+            Object parent = containers.peek();
+            if (parent instanceof JSONObject) {
+                ((JSONObject) parent).put(key, value);
+            } else if (parent instanceof JSONArray) {
+                ((JSONArray) parent).add(value);
+            }
+        }
+
+    }
+
     /**
      * Retrieve response text entity content from httpResponse object
      *
@@ -79,11 +225,63 @@ public class UtilRest {
         return null;
     }
 
+    /**
+     * Parse the Json error document z/OSMF returns with a failed request
+     *
+     * @param body response body of the failed request
+     * @return z/OSMF error document, null if the body is empty or holds no such document
+     */
+    public static ZosmfError getZosmfError(String body) {
+        if (body == null || body.isBlank()) {
+            return null;
+        }
+        Object result;
+        try {
+            result = new JSONParser().parse(body);
+        } catch (ParseException e) {
+            LOG.debug("UtilRest::getZosmfError - body is not json {}", body);
+            return null;
+        }
+        if (!(result instanceof JSONObject)) {
+            return null;
+        }
+        JSONObject jsonObject = (JSONObject) result;
+        if (!jsonObject.containsKey("category") && !jsonObject.containsKey("reason") &&
+                !jsonObject.containsKey("message")) {
+            return null;
+        }
+        List<String> details = new ArrayList<>();
+        Object detailsValue = jsonObject.get("details");
+        if (detailsValue instanceof JSONArray) {
+            for (Object detail : (JSONArray) detailsValue) {
+                details.add(String.valueOf(detail));
+            }
+        }
+        Object message = jsonObject.get("message");
+        return new ZosmfError(getLong(jsonObject.get("category")), getLong(jsonObject.get("rc")),
+                getLong(jsonObject.get("reason")), message != null ? String.valueOf(message) : null, details);
+    }
+
+    private static Long getLong(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        if (value != null) {
+            try {
+                return Long.parseLong(String.valueOf(value).trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
     /**
      * Return specialized http error message
      *
      * @param response Response object
-     * @throws Exception containing specialized http error message
+     * @throws Exception containing specialized http error message, a ZosmfRequestException holding the status
+     *                   code and z/OSMF error document for a http error
      * @author Frank Giordano
      */
     public static void checkHttpErrors(Response response) throws Exception {
@@ -100,7 +298,7 @@ public class UtilRest {
             if (!responsePhrase.isEmpty())
                 errorMsg += httpCode + " " + responsePhrase + ".";
             else errorMsg += httpCode + ".";
-            throw new Exception(errorMsg);
+            throw new ZosmfRequestException(errorMsg, httpCode, response.getError().orElse(null));
         }
     }
 
@@ -0,0 +1,368 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package zosfiles;
+
+import core.ZOSConnection;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import utility.Util;
+import utility.UtilDataset;
+import zosfiles.input.ListParams;
+import zosfiles.response.Dataset;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Opt-in client side cache of dataset list results for a connection.
+ * <p>
+ * Once enabled for a connection, ZosDsnList.listDsn stores each result under its dslevel pattern. Entries are
+ * indexed in a trie by the leading qualifiers of the pattern that hold no wildcard, so a narrower pattern
+ * such as PROD.APP.** is answered locally from an entry for PROD.** by filtering its datasets. Entries expire
+ * after a time to live and the least recently used ones are evicted when the cached datasets exceed the
+ * size bound. Creating, deleting or copying a dataset through this SDK drops the entries the dataset belongs
+ * to. Changes made outside of this SDK are only seen once the entries expire.
+ * <pre>
+ * CatalogCache cache = CatalogCache.enable(connection, 60_000, 100_000);
+ * ...
+ * LOG.info("hits {} misses {}", cache.getHitCount(), cache.getMissCount());
+ * </pre>
+ *
+ * @version 1.0
+ */
+public class CatalogCache {
+
+    private static final Logger LOG = LogManager.getLogger(CatalogCache.class);
+
+    private static final Map<ZOSConnection, CatalogCache> CACHES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * A cached list result
+     */
+    private static class Entry {
+
+        private final String pattern;
+        private final Optional<UtilDataset.Attribute> attribute;
+        private final List<Dataset> datasets;
+        private final long expires;
+
+        private Entry(String pattern, Optional<UtilDataset.Attribute> attribute, List<Dataset> datasets,
+                      long expires) {
+            this.pattern = pattern;
+            this.attribute = attribute;
+            this.datasets = datasets;
+            this.expires = expires;
+        }
+
+        private String getKey() {
+            return getKey(pattern, attribute);
+        }
+
+        private static String getKey(String pattern, Optional<UtilDataset.Attribute> attribute) {
+            return pattern + " " + attribute.map(Enum::toString).orElse("");
+        }
+
+    }
+
+    /**
+     * Trie node for a dataset name qualifier
+     */
+    private static class Node {
+
+        private final Map<String, Node> children = new HashMap<>();
+        private final Set<Entry> entries = new HashSet<>();
+
+    }
+
+    private final long ttlMillis;
+
+    private final long maxDatasets;
+
+    private final Node root = new Node();
+
+    /**
+     * All entries in least recently used order
+     */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long datasets;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private CatalogCache(long ttlMillis, long maxDatasets) {
+        this.ttlMillis = ttlMillis;
+        this.maxDatasets = maxDatasets;
+    }
+
+    /**
+     * Enable the cache for a connection, an already enabled cache is replaced
+     *
+     * @param connection  connection information, see ZOSConnection object
+     * @param ttlMillis   time in milliseconds a list result is used for
+     * @param maxDatasets maximum number of datasets held by the cache
+     * @return the cache of the connection
+     */
+    public static CatalogCache enable(ZOSConnection connection, long ttlMillis, long maxDatasets) {
+        Util.checkConnection(connection);
+        Util.checkIllegalParameter(ttlMillis < 1, "ttlMillis must be at least 1");
+        Util.checkIllegalParameter(maxDatasets < 1, "maxDatasets must be at least 1");
+        CatalogCache cache = new CatalogCache(ttlMillis, maxDatasets);
+        CACHES.put(connection, cache);
+        return cache;
+    }
+
+    /**
+     * Disable the cache of a connection
+     *
+     * @param connection connection information, see ZOSConnection object
+     */
+    public static void disable(ZOSConnection connection) {
+        CACHES.remove(connection);
+    }
+
+    /**
+     * Retrieve the cache of a connection
+     *
+     * @param connection connection information, see ZOSConnection object
+     * @return the cache or empty if it is not enabled for the connection
+     */
+    public static Optional<CatalogCache> get(ZOSConnection connection) {
+        return Optional.ofNullable(CACHES.get(connection));
+    }
+
+    /**
+     * Drop the cached list results a dataset belongs to, a no-op if the cache is not enabled for the connection
+     *
+     * @param connection  connection information, see ZOSConnection object
+     * @param dataSetName dataset created, deleted or written to, a member part is ignored
+     */
+    public static void invalidate(ZOSConnection connection, String dataSetName) {
+        get(connection).ifPresent(cache -> cache.invalidate(dataSetName));
+    }
+
+    /**
+     * Look up a list result. Only plain queries are cached, a query for a volume, a start position or a
+     * maximum number of datasets always goes to z/OSMF.
+     *
+     * @param pattern dslevel pattern
+     * @param params  list parameters, see ListParams object
+     * @return the cached datasets or empty on a miss
+     */
+    public synchronized Optional<List<Dataset>> lookup(String pattern, ListParams params) {
+        if (!isCacheable(params)) {
+            return Optional.empty();
+        }
+        String query = pattern.toUpperCase(Locale.ROOT);
+        long now = System.currentTimeMillis();
+
+        Entry exact = entries.get(Entry.getKey(query, params.getAttribute()));
+        if (exact != null && exact.expires > now) {
+            hits.incrementAndGet();
+            return Optional.of(new ArrayList<>(exact.datasets));
+        }
+
+        if (hasWildcard(query)) {
+            Node node = root;
+            Iterator<String> qualifiers = getLiteralQualifiers(query).iterator();
+            while (node != null) {
+                for (Entry entry : node.entries) {
+                    if (entry.expires > now && entry.attribute.equals(params.getAttribute()) &&
+                            covers(entry.pattern, query)) {
+                        entries.get(entry.getKey());
+                        hits.incrementAndGet();
+                        return Optional.of(entry.datasets.stream()
+                                .filter(d -> UtilDataset.isDataSetMatch(d.getDsname().orElse(""), query))
+                                .collect(Collectors.toList()));
+                    }
+                }
+                node = qualifiers.hasNext() ? node.children.get(qualifiers.next()) : null;
+            }
+        }
+
+        misses.incrementAndGet();
+        return Optional.empty();
+    }
+
+    /**
+     * Store a list result
+     *
+     * @param pattern  dslevel pattern
+     * @param params   list parameters, see ListParams object
+     * @param datasets datasets returned by z/OSMF
+     */
+    public synchronized void put(String pattern, ListParams params, List<Dataset> datasets) {
+        if (!isCacheable(params)) {
+            return;
+        }
+        String query = pattern.toUpperCase(Locale.ROOT);
+        Entry entry = new Entry(query, params.getAttribute(), List.copyOf(datasets),
+                System.currentTimeMillis() + ttlMillis);
+        remove(entries.get(entry.getKey()));
+        if (datasets.size() > maxDatasets) {
+            return;
+        }
+
+        Node node = root;
+        for (String qualifier : getLiteralQualifiers(query)) {
+            node = node.children.computeIfAbsent(qualifier, q -> new Node());
+        }
+        node.entries.add(entry);
+        entries.put(entry.getKey(), entry);
+        this.datasets += datasets.size();
+
+        Iterator<Entry> eldest = new ArrayList<>(entries.values()).iterator();
+        while (this.datasets > maxDatasets && eldest.hasNext()) {
+            remove(eldest.next());
+        }
+    }
+
+    /**
+     * Drop the cached list results a dataset belongs to
+     *
+     * @param dataSetName dataset name, a member part is ignored
+     */
+    public synchronized void invalidate(String dataSetName) {
+        Util.checkNullParameter(dataSetName == null, "dataSetName is null");
+        String name = dataSetName.toUpperCase(Locale.ROOT);
+        int memberIndex = name.indexOf('(');
+        if (memberIndex > 0) {
+            name = name.substring(0, memberIndex);
+        }
+
+        List<Entry> stale = new ArrayList<>();
+        Node node = root;
+        collect(node, name, stale);
+        for (String qualifier : name.split("\\.")) {
+            node = node.children.get(qualifier);
+            if (node == null) {
+                break;
+            }
+            collect(node, name, stale);
+        }
+        stale.forEach(this::remove);
+        LOG.debug("CatalogCache::invalidate - {} dropped {} entries", name, stale.size());
+    }
+
+    /**
+     * Drop all cached list results
+     */
+    public synchronized void clear() {
+        new ArrayList<>(entries.values()).forEach(this::remove);
+    }
+
+    /**
+     * Retrieve the number of lookups answered from the cache
+     *
+     * @return hit count
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Retrieve the number of lookups that had to go to z/OSMF
+     *
+     * @return miss count
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Retrieve the number of datasets held by the cache
+     *
+     * @return dataset count
+     */
+    public synchronized long getDatasetCount() {
+        return datasets;
+    }
+
+    @Override
+    public String toString() {
+        return "CatalogCache{" +
+                "hits=" + hits +
+                ", misses=" + misses +
+                ", datasets=" + getDatasetCount() +
+                '}';
+    }
+
+    /**
+     * Add the entries of a node the dataset belongs to. A pattern without wildcard is listed by z/OSMF as a
+     * prefix, e.g. PROD.APP lists PROD.APP.NEW, so it holds the dataset when it is a qualifier prefix of it.
+     *
+     * @param node  trie node
+     * @param name  dataset name
+     * @param stale receives the entries to drop
+     */
+    private void collect(Node node, String name, List<Entry> stale) {
+        node.entries.stream().filter(e -> UtilDataset.isDataSetMatch(name, e.pattern) || isQualifierPrefix(e.pattern,
+                name)).forEach(stale::add);
+    }
+
+    private static boolean isQualifierPrefix(String pattern, String name) {
+        return !hasWildcard(pattern) && (name.equals(pattern) || name.startsWith(pattern + "."));
+    }
+
+    private void remove(Entry entry) {
+        if (entry == null || entries.remove(entry.getKey()) == null) {
+            return;
+        }
+        datasets -= entry.datasets.size();
+        Node node = root;
+        for (String qualifier : getLiteralQualifiers(entry.pattern)) {
+            node = node.children.get(qualifier);
+        }
+        node.entries.remove(entry);
+    }
+
+    /**
+     * Does the cached pattern match every dataset the query matches. That is the case for a pattern made of
+     * literal qualifiers followed by ** when the query starts with the same literal qualifiers.
+     *
+     * @param pattern cached pattern
+     * @param query   queried pattern holding a wildcard
+     * @return boolean true if the query can be answered from the cached pattern
+     */
+    private static boolean covers(String pattern, String query) {
+        if (!pattern.endsWith(".**") && !pattern.equals("**")) {
+            return false;
+        }
+        List<String> patternQualifiers = getLiteralQualifiers(pattern);
+        if (patternQualifiers.size() != pattern.split("\\.").length - 1) {
+            return false;
+        }
+        List<String> queryQualifiers = getLiteralQualifiers(query);
+        return queryQualifiers.size() >= patternQualifiers.size() &&
+                queryQualifiers.subList(0, patternQualifiers.size()).equals(patternQualifiers);
+    }
+
+    private static List<String> getLiteralQualifiers(String pattern) {
+        List<String> qualifiers = new ArrayList<>();
+        for (String qualifier : pattern.split("\\.")) {
+            if (hasWildcard(qualifier)) {
+                break;
+            }
+            qualifiers.add(qualifier);
+        }
+        return qualifiers;
+    }
+
+    private static boolean hasWildcard(String pattern) {
+        return pattern.contains("*") || pattern.contains("%");
+    }
+
+    private static boolean isCacheable(ListParams params) {
+        return params.getVolume().isEmpty() && params.getStart().isEmpty() && params.getMaxLength().isEmpty();
+    }
+
+}
@@ -0,0 +1,294 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package zosfiles;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import rest.BandwidthLimiter;
+import utility.Util;
+import utility.UtilDataset;
+import zosfiles.response.TransferResult;
+import zosfiles.response.TransferSummary;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Runs dataset operations concurrently across datasets while limiting the operations in flight per dataset.
+ * <p>
+ * z/OS serializes updates of a dataset with an ENQ, so concurrent writes or deletes of members of the same
+ * dataset mostly fail with "data set in use" and have to be retried. The scheduler keys each operation by its
+ * dataset name, the member part is ignored, and starts at most maxPerDataset operations per key while other
+ * datasets proceed in parallel. Only an operation failing with an error positively identified as ENQ contention
+ * by its z/OSMF error document, see UtilDataset isEnqContention, is retried, any other failure such as a 404 or
+ * a 500 for a missing permission completes the operation at once. A retry runs after an exponential delay with
+ * full jitter so retries of several clients do not collide again. The operation keeps its dataset slot while it
+ * waits, but not a worker thread. Operations run with BULK
+ * priority, see BandwidthLimiter.
+ * <pre>
+ * try (DatasetScheduler scheduler = new DatasetScheduler(8, 1)) {
+ *     TransferSummary summary = scheduler.runAll(members, member -&gt; () -&gt; zosDsn.writeDsn(member, content));
+ * }
+ * </pre>
+ *
+ * @version 1.0
+ */
+public class DatasetScheduler implements AutoCloseable {
+
+    private static final Logger LOG = LogManager.getLogger(DatasetScheduler.class);
+
+    /**
+     * Default number of operations in flight per dataset, updates of one dataset are serialized
+     */
+    public static final int DEFAULT_MAX_PER_DATASET = 1;
+
+    /**
+     * Default number of retries of an operation failing with ENQ contention
+     */
+    public static final int DEFAULT_MAX_RETRY_ATTEMPTS = 5;
+
+    /**
+     * Default delay before the first retry, doubled for each further retry
+     */
+    public static final long DEFAULT_RETRY_DELAY_MILLIS = 250;
+
+    /**
+     * Upper bound of a retry delay
+     */
+    private static final long MAX_RETRY_DELAY_MILLIS = 15_000;
+
+    /**
+     * A dataset operation
+     */
+    @FunctionalInterface
+    public interface Operation {
+
+        /**
+         * Execute the operation
+         *
+         * @throws Exception error processing the operation
+         */
+        void execute() throws Exception;
+
+    }
+
+    /**
+     * A submitted operation
+     */
+    private static class Task {
+
+        private final String name;
+        private final String key;
+        private final Operation operation;
+        private final CompletableFuture<TransferResult> future = new CompletableFuture<>();
+        private final long start = System.nanoTime();
+        private int attempt;
+
+        private Task(String name, String key, Operation operation) {
+            this.name = name;
+            this.key = key;
+            this.operation = operation;
+        }
+
+    }
+
+    /**
+     * Operations in flight and waiting for a dataset
+     */
+    private static class Slot {
+
+        private int running;
+        private final Deque<Task> waiting = new ArrayDeque<>();
+
+    }
+
+    private final ScheduledExecutorService executor;
+
+    private final int maxPerDataset;
+
+    private final int maxRetryAttempts;
+
+    private final long retryDelayMillis;
+
+    private final Map<String, Slot> slots = new HashMap<>();
+
+    private int pending;
+
+    private final AtomicLong retries = new AtomicLong();
+
+    /**
+     * DatasetScheduler constructor using the default retry settings
+     *
+     * @param maxConcurrentRequests maximum number of operations in flight at once
+     * @param maxPerDataset         maximum number of operations in flight per dataset, 1 serializes them
+     */
+    public DatasetScheduler(int maxConcurrentRequests, int maxPerDataset) {
+        this(maxConcurrentRequests, maxPerDataset, DEFAULT_MAX_RETRY_ATTEMPTS, DEFAULT_RETRY_DELAY_MILLIS);
+    }
+
+    /**
+     * DatasetScheduler constructor
+     *
+     * @param maxConcurrentRequests maximum number of operations in flight at once
+     * @param maxPerDataset         maximum number of operations in flight per dataset, 1 serializes them
+     * @param maxRetryAttempts      number of retries of an operation failing with ENQ contention, other errors
+     *                              are never retried
+     * @param retryDelayMillis      delay before the first retry, doubled for each further retry
+     */
+    public DatasetScheduler(int maxConcurrentRequests, int maxPerDataset, int maxRetryAttempts,
+                            long retryDelayMillis) {
+        Util.checkIllegalParameter(maxConcurrentRequests < 1, "maxConcurrentRequests must be at least 1");
+        Util.checkIllegalParameter(maxPerDataset < 1, "maxPerDataset must be at least 1");
+        Util.checkIllegalParameter(maxRetryAttempts < 0, "maxRetryAttempts is negative");
+        Util.checkIllegalParameter(retryDelayMillis < 1, "retryDelayMillis must be at least 1");
+        this.executor = Executors.newScheduledThreadPool(maxConcurrentRequests);
+        this.maxPerDataset = maxPerDataset;
+        this.maxRetryAttempts = maxRetryAttempts;
+        this.retryDelayMillis = retryDelayMillis;
+    }
+
+    /**
+     * Submit an operation on a dataset or member
+     *
+     * @param name      dataset (e.g. 'DATASET.LIB') or member (e.g. 'DATASET.LIB(MEMBER)') the operation works on
+     * @param operation operation to run
+     * @return future completed with the result of the operation once it succeeded or failed for good, it is
+     * never completed exceptionally
+     */
+    public CompletableFuture<TransferResult> submit(String name, Operation operation) {
+        Util.checkNullParameter(name == null, "name is null");
+        Util.checkIllegalParameter(name.isEmpty(), "name not specified");
+        Util.checkNullParameter(operation == null, "operation is null");
+        Task task = new Task(name, getKey(name), operation);
+        synchronized (this) {
+            Util.checkIllegalParameter(executor.isShutdown(), "scheduler is closed");
+            pending++;
+            Slot slot = slots.computeIfAbsent(task.key, k -> new Slot());
+            if (slot.running < maxPerDataset) {
+                slot.running++;
+                executor.execute(() -> run(task));
+            } else {
+                slot.waiting.add(task);
+            }
+        }
+        return task.future;
+    }
+
+    /**
+     * Run an operation for each name and wait for all of them
+     *
+     * @param names      datasets or members to work on
+     * @param operations creates the operation for a name
+     * @return summary holding a result per name in the given order
+     * @throws Exception interrupted while waiting
+     */
+    public TransferSummary runAll(List<String> names, Function<String, Operation> operations) throws Exception {
+        Util.checkNullParameter(names == null, "names is null");
+        Util.checkNullParameter(operations == null, "operations is null");
+        long start = System.nanoTime();
+        List<CompletableFuture<TransferResult>> futures = new ArrayList<>();
+        for (String name : names) {
+            futures.add(submit(name, operations.apply(name)));
+        }
+        List<TransferResult> results = new ArrayList<>();
+        for (CompletableFuture<TransferResult> future : futures) {
+            results.add(future.get());
+        }
+        return new TransferSummary(results, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Retrieve the number of retries after ENQ contention so far
+     *
+     * @return retry count
+     */
+    public long getRetryCount() {
+        return retries.get();
+    }
+
+    /**
+     * Wait for all submitted operations to complete and release the worker threads
+     *
+     * @throws InterruptedException interrupted while waiting, the operations still running are interrupted
+     */
+    @Override
+    public void close() throws InterruptedException {
+        try {
+            synchronized (this) {
+                while (pending > 0) {
+                    wait();
+                }
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            throw e;
+        }
+        executor.shutdown();
+    }
+
+    private void run(Task task) {
+        try {
+            BandwidthLimiter.callWithPriority(BandwidthLimiter.Priority.BULK, () -> {
+                task.operation.execute();
+                return null;
+            });
+            complete(task, null);
+        } catch (Exception e) {
+            if (task.attempt < maxRetryAttempts && UtilDataset.isEnqContention(e)) {
+                task.attempt++;
+                retries.incrementAndGet();
+                long delay = getRetryDelay(task.attempt);
+                LOG.debug("DatasetScheduler::run - retry {} of {} in {} ms", task.attempt, task.name, delay);
+                executor.schedule(() -> run(task), delay, TimeUnit.MILLISECONDS);
+            } else {
+                complete(task, e);
+            }
+        }
+    }
+
+    private void complete(Task task, Exception error) {
+        task.future.complete(new TransferResult.Builder()
+                .name(task.name)
+                .elapsedMillis((System.nanoTime() - task.start) / 1_000_000)
+                .error(error)
+                .build());
+        synchronized (this) {
+            Slot slot = slots.get(task.key);
+            Task next = slot.waiting.poll();
+            if (next != null) {
+                executor.execute(() -> run(next));
+            } else if (--slot.running == 0) {
+                slots.remove(task.key);
+            }
+            pending--;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Exponential delay with full jitter, a random value between the base delay and the doubled delay of the
+     * attempt so the first retry never fires immediately
+     *
+     * @param attempt retry attempt starting at 1
+     * @return delay in milliseconds
+     */
+    private long getRetryDelay(int attempt) {
+        long ceiling = Math.min(MAX_RETRY_DELAY_MILLIS, retryDelayMillis << Math.min(attempt, 20));
+        return retryDelayMillis + ThreadLocalRandom.current().nextLong(Math.max(1, ceiling - retryDelayMillis));
+    }
+
+    private static String getKey(String name) {
+        int memberIndex = name.indexOf('(');
+        return (memberIndex > 0 ? name.substring(0, memberIndex) : name).trim().toUpperCase(Locale.ROOT);
+    }
+
+}
@@ -0,0 +1,246 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package zosfiles;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import core.ZOSConnection;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import utility.Util;
+import utility.UtilDataset;
+import zosfiles.input.ListParams;
+import zosfiles.response.DatasetEvent;
+import zosfiles.response.Member;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Detects added, changed and deleted members of partitioned datasets without downloading them.
+ * <p>
+ * Each poll lists the members with their ISPF statistics a page at a time, see ZosDsnList iterateMembers, and
+ * compares them with the snapshot of the previous poll. A snapshot only keeps a 64 bit hash of the statistics
+ * per member name. The first poll of a dataset records its snapshot without reporting events. Members without
+ * ISPF statistics are reported when added or deleted only.
+ * <p>
+ * Once started the watcher polls on a background thread. The interval starts at the minimum, halves after a
+ * poll that found changes and grows by half after a quiet one, bound by the minimum and maximum.
+ *
+ * @version 1.0
+ */
+public class DatasetWatcher implements AutoCloseable {
+
+    private static final Logger LOG = LogManager.getLogger(DatasetWatcher.class);
+
+    /**
+     * Default shortest interval between two polls
+     */
+    public static final long DEFAULT_MIN_INTERVAL_MILLIS = 5_000;
+
+    /**
+     * Default longest interval between two polls
+     */
+    public static final long DEFAULT_MAX_INTERVAL_MILLIS = 300_000;
+
+    private static final HashFunction HASH = Hashing.murmur3_128();
+
+    private final ZOSConnection connection;
+
+    private final List<String> dataSetNames;
+
+    private final long minIntervalMillis;
+
+    private final long maxIntervalMillis;
+
+    private final Map<String, Map<String, Long>> snapshots = new HashMap<>();
+
+    private volatile long intervalMillis;
+
+    private ScheduledExecutorService executor;
+
+    /**
+     * DatasetWatcher constructor using the default intervals
+     *
+     * @param connection   connection information, see ZOSConnection object
+     * @param dataSetNames partitioned datasets to watch
+     */
+    public DatasetWatcher(ZOSConnection connection, List<String> dataSetNames) {
+        this(connection, dataSetNames, DEFAULT_MIN_INTERVAL_MILLIS, DEFAULT_MAX_INTERVAL_MILLIS);
+    }
+
+    /**
+     * DatasetWatcher constructor
+     *
+     * @param connection        connection information, see ZOSConnection object
+     * @param dataSetNames      partitioned datasets to watch
+     * @param minIntervalMillis shortest interval between two polls
+     * @param maxIntervalMillis longest interval between two polls
+     */
+    public DatasetWatcher(ZOSConnection connection, List<String> dataSetNames, long minIntervalMillis,
+                          long maxIntervalMillis) {
+        Util.checkConnection(connection);
+        Util.checkNullParameter(dataSetNames == null, "dataSetNames is null");
+        Util.checkIllegalParameter(dataSetNames.isEmpty(), "dataSetNames not specified");
+        Util.checkIllegalParameter(minIntervalMillis < 1, "minIntervalMillis must be at least 1");
+        Util.checkIllegalParameter(maxIntervalMillis < minIntervalMillis,
+                "maxIntervalMillis is less than minIntervalMillis");
+        this.connection = connection;
+        this.dataSetNames = List.copyOf(dataSetNames);
+        this.minIntervalMillis = minIntervalMillis;
+        this.maxIntervalMillis = maxIntervalMillis;
+        this.intervalMillis = minIntervalMillis;
+    }
+
+    /**
+     * Poll all watched datasets once
+     *
+     * @return events detected since the previous poll
+     * @throws Exception error listing the members of a dataset, the datasets after it are not polled
+     */
+    public List<DatasetEvent> poll() throws Exception {
+        List<DatasetEvent> events = new ArrayList<>();
+        for (String dataSetName : dataSetNames) {
+            events.addAll(poll(dataSetName));
+        }
+        return events;
+    }
+
+    /**
+     * Start polling on a background thread
+     *
+     * @param listener     receives each event
+     * @param errorHandler receives the error of a failed poll of a dataset, polling goes on
+     */
+    public synchronized void start(Consumer<DatasetEvent> listener, Consumer<Exception> errorHandler) {
+        Util.checkNullParameter(listener == null, "listener is null");
+        Util.checkNullParameter(errorHandler == null, "errorHandler is null");
+        Util.checkIllegalParameter(executor != null, "watcher already started");
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "DatasetWatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(() -> run(listener, errorHandler));
+    }
+
+    /**
+     * Retrieve the current interval between two polls
+     *
+     * @return interval in milliseconds
+     */
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    /**
+     * Stop polling
+     */
+    @Override
+    public synchronized void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void run(Consumer<DatasetEvent> listener, Consumer<Exception> errorHandler) {
+        boolean changed = false;
+        for (String dataSetName : dataSetNames) {
+            try {
+                List<DatasetEvent> events = poll(dataSetName);
+                changed |= !events.isEmpty();
+                events.forEach(listener);
+            } catch (Exception e) {
+                errorHandler.accept(e);
+            }
+        }
+        intervalMillis = getNextInterval(intervalMillis, changed, minIntervalMillis, maxIntervalMillis);
+        LOG.debug("DatasetWatcher::run - next poll in {} ms", intervalMillis);
+        synchronized (this) {
+            if (!executor.isShutdown()) {
+                executor.schedule(() -> run(listener, errorHandler), intervalMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private synchronized List<DatasetEvent> poll(String dataSetName) throws Exception {
+        ListParams params = new ListParams.Builder().attribute(UtilDataset.Attribute.BASE).build();
+        Iterator<Member> members = new ZosDsnList(connection).iterateMembers(dataSetName, params);
+        Map<String, Long> previous = snapshots.get(dataSetName);
+        Map<String, Long> current = new HashMap<>();
+        List<DatasetEvent> events;
+        try {
+            events = diff(dataSetName, previous == null ? Map.of() : previous, members, current);
+        } catch (IllegalStateException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+        snapshots.put(dataSetName, current);
+        return previous == null ? List.of() : events;
+    }
+
+    /**
+     * Compare the listed members with a snapshot
+     *
+     * @param dataSetName partitioned dataset name
+     * @param previous    snapshot of the previous poll
+     * @param members     members as listed now
+     * @param current     receives the snapshot of the listed members
+     * @return events for the members added, changed or deleted since the previous snapshot
+     */
+    static List<DatasetEvent> diff(String dataSetName, Map<String, Long> previous, Iterator<Member> members,
+                                   Map<String, Long> current) {
+        List<DatasetEvent> events = new ArrayList<>();
+        while (members.hasNext()) {
+            Member member = members.next();
+            String name = member.getMember().orElse("");
+            long hash = HASH.hashString(UtilDataset.getMemberChangeToken(member).orElse(""),
+                    StandardCharsets.UTF_8).asLong();
+            current.put(name, hash);
+            Long previousHash = previous.get(name);
+            if (previousHash == null || previousHash != hash) {
+                events.add(new DatasetEvent.Builder()
+                        .type(previousHash == null ? DatasetEvent.Type.ADDED : DatasetEvent.Type.CHANGED)
+                        .dataSetName(dataSetName)
+                        .memberName(name)
+                        .member(member)
+                        .build());
+            }
+        }
+        for (String name : previous.keySet()) {
+            if (!current.containsKey(name)) {
+                events.add(new DatasetEvent.Builder()
+                        .type(DatasetEvent.Type.DELETED)
+                        .dataSetName(dataSetName)
+                        .memberName(name)
+                        .build());
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Adapt the poll interval to the observed changes
+     *
+     * @param interval current interval
+     * @param changed  did the last poll find changes
+     * @param min      shortest interval
+     * @param max      longest interval
+     * @return next interval
+     */
+    static long getNextInterval(long interval, boolean changed, long min, long max) {
+        long next = changed ? interval / 2 : interval + interval / 2;
+        return Math.max(min, Math.min(max, next));
+    }
+
+}
@@ -0,0 +1,551 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package zosfiles;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.MoreFiles;
+import core.ZOSConnection;
+import org.apache.http.HttpStatus;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import rest.Response;
+import utility.Util;
+import utility.UtilDataset;
+import utility.UtilFiles;
+import zosfiles.input.DownloadParams;
+import zosfiles.input.ListParams;
+import zosfiles.input.UploadParams;
+import zosfiles.response.Member;
+import zosfiles.response.TransferResult;
+import zosfiles.response.TransferSummary;
+
+import java.io.BufferedWriter;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Incremental two-way synchronization between a local directory and a partitioned dataset.
+ * <p>
+ * Each member is kept in the directory as a file named after the member in lower case followed by the
+ * extension. A state file in the directory records, for every synchronized member, the ISPF statistics and
+ * ETag last seen on z/OS and the modification time, size and SHA-256 hash of the local file. A sync lists the
+ * members with their statistics in a single request, compares both sides against the state file and only
+ * transfers the members that changed, in parallel. Members without ISPF statistics are revalidated with a
+ * conditional request on their ETag.
+ * <p>
+ * A member changed on both sides, or deleted on one side, is not transferred. It is reported as a failed
+ * result of the summary and left for the caller to resolve.
+ *
+ * @version 1.0
+ */
+public class PdsSync {
+
+    private static final Logger LOG = LogManager.getLogger(PdsSync.class);
+
+    /**
+     * Name of the state file kept in the local directory
+     */
+    public static final String STATE_FILE = ".pdssync";
+
+    private static final String SEPARATOR = "\t";
+
+    private static final Pattern MEMBER_NAME = Pattern.compile("[A-Z#$@][A-Z0-9#$@]{0,7}");
+
+    /**
+     * Directions a sync is allowed to transfer members in
+     */
+    public enum Direction {
+        DOWNLOAD, UPLOAD, BOTH
+    }
+
+    /**
+     * Last synchronized state of a member
+     */
+    private static class State {
+
+        private String remote;
+        private String etag;
+        private long mtime;
+        private long size;
+        private String hash;
+
+    }
+
+    private final ZOSConnection connection;
+
+    private final String dataSetName;
+
+    private final Path directory;
+
+    private final String extension;
+
+    /**
+     * PdsSync constructor
+     *
+     * @param connection  connection information, see ZOSConnection object
+     * @param dataSetName partitioned dataset (e.g. 'DATASET.LIB')
+     * @param directory   local directory holding one file per member
+     * @param extension   file extension including the leading period, e.g. ".cbl", may be empty
+     */
+    public PdsSync(ZOSConnection connection, String dataSetName, Path directory, String extension) {
+        Util.checkConnection(connection);
+        Util.checkNullParameter(dataSetName == null, "dataSetName is null");
+        Util.checkIllegalParameter(dataSetName.isEmpty(), "dataSetName not specified");
+        Util.checkNullParameter(directory == null, "directory is null");
+        Util.checkNullParameter(extension == null, "extension is null");
+        this.connection = connection;
+        this.dataSetName = dataSetName;
+        this.directory = directory;
+        this.extension = extension;
+    }
+
+    /**
+     * Synchronize the directory and the partitioned dataset using text mode transfers
+     *
+     * @param direction             directions members are allowed to be transferred in
+     * @param maxConcurrentRequests maximum number of transfers to run at once
+     * @return summary of the transfers, conflicts are reported as failed results
+     * @throws Exception error listing the members or accessing the state file
+     */
+    public TransferSummary sync(Direction direction, int maxConcurrentRequests) throws Exception {
+        return sync(direction, maxConcurrentRequests, new DownloadParams.Builder().build(),
+                new UploadParams.Builder().build());
+    }
+
+    /**
+     * Synchronize the directory and the partitioned dataset
+     *
+     * @param direction             directions members are allowed to be transferred in
+     * @param maxConcurrentRequests maximum number of transfers to run at once
+     * @param downloadParams        parameters used for downloads, see DownloadParams object
+     * @param uploadParams          parameters used for uploads, see UploadParams object
+     * @return summary of the transfers, conflicts are reported as failed results
+     * @throws Exception error listing the members or accessing the state file
+     */
+    public TransferSummary sync(Direction direction, int maxConcurrentRequests, DownloadParams downloadParams,
+                                UploadParams uploadParams) throws Exception {
+        Util.checkNullParameter(direction == null, "direction is null");
+        Util.checkNullParameter(downloadParams == null, "downloadParams is null");
+        Util.checkNullParameter(uploadParams == null, "uploadParams is null");
+        long start = System.nanoTime();
+        Files.createDirectories(directory);
+
+        Map<String, State> states = loadState();
+        Map<String, Member> remote = getRemoteMembers();
+        Map<String, Path> local = getLocalFiles();
+        Map<String, String> etags = revalidate(remote, states, downloadParams, maxConcurrentRequests);
+
+        Set<String> members = new TreeSet<>(remote.keySet());
+        members.addAll(local.keySet());
+        // a member deleted on both sides is no longer synchronized
+        states.keySet().retainAll(members);
+
+        List<Callable<TransferResult>> tasks = new ArrayList<>();
+        List<TransferResult> conflicts = new ArrayList<>();
+        Set<String> uploaded = ConcurrentHashMap.newKeySet();
+        for (String member : members) {
+            State state = states.get(member);
+            Member remoteMember = remote.get(member);
+            Path file = local.get(member);
+            String token = remoteMember == null ? null : getToken(remoteMember, etags.get(member));
+            boolean remoteChanged = state == null ? remoteMember != null :
+                    remoteMember == null || !Objects.equals(token, state.remote);
+            boolean localChanged = state == null ? file != null : isLocalChanged(file, state);
+
+            if (!remoteChanged && !localChanged) {
+                continue;
+            }
+            if (remoteChanged && localChanged) {
+                if (state == null && remoteMember != null && file != null) {
+                    tasks.add(getCompareTask(member, file, token, states, downloadParams));
+                } else {
+                    conflicts.add(getConflict(member, file, "changed locally and on z/OS"));
+                }
+            } else if (remoteChanged) {
+                if (remoteMember == null) {
+                    conflicts.add(getConflict(member, file, "deleted on z/OS"));
+                } else if (direction != Direction.UPLOAD) {
+                    tasks.add(getDownloadTask(member, token, states, downloadParams));
+                }
+            } else {
+                if (file == null) {
+                    conflicts.add(getConflict(member, null, "deleted locally"));
+                } else if (direction != Direction.DOWNLOAD) {
+                    tasks.add(getUploadTask(member, file, states, uploaded, uploadParams));
+                }
+            }
+        }
+        LOG.debug("PdsSync::sync - {} members, {} transfers, {} conflicts", members.size(), tasks.size(),
+                conflicts.size());
+
+        List<TransferResult> results = new ArrayList<>(UtilFiles.runConcurrently(tasks, maxConcurrentRequests, false));
+        results.addAll(conflicts);
+
+        if (!uploaded.isEmpty()) {
+            // writing a member changes its statistics, record the new ones so the upload is not seen as a change
+            Map<String, Member> refreshed = getRemoteMembers();
+            for (String member : uploaded) {
+                Member remoteMember = refreshed.get(member);
+                State state = states.get(member);
+                if (remoteMember != null && state != null) {
+                    state.remote = getToken(remoteMember, state.etag);
+                }
+            }
+        }
+        saveState(states);
+        return new TransferSummary(results, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Build the task downloading a member that changed on z/OS
+     *
+     * @param member         member name
+     * @param token          current remote change token of the member
+     * @param states         synchronized state of all members
+     * @param downloadParams parameters used for the download
+     * @return transfer task
+     */
+    private Callable<TransferResult> getDownloadTask(String member, String token, Map<String, State> states,
+                                                     DownloadParams downloadParams) {
+        return () -> {
+            long start = System.nanoTime();
+            Path file = getFile(member);
+            try {
+                TransferResult result = new ZosDsnDownload(connection).downloadDsnToFile(getMemberName(member), file,
+                        downloadParams);
+                State state = getLocalState(file);
+                state.remote = token;
+                state.etag = result.getEtag().orElse(null);
+                states.put(member, state);
+                return result;
+            } catch (Exception e) {
+                return getFailure(member, file, start, e);
+            }
+        };
+    }
+
+    /**
+     * Build the task uploading a member that changed locally
+     *
+     * @param member       member name
+     * @param file         local file
+     * @param states       synchronized state of all members
+     * @param uploaded     members uploaded by this sync
+     * @param uploadParams parameters used for the upload
+     * @return transfer task
+     */
+    private Callable<TransferResult> getUploadTask(String member, Path file, Map<String, State> states,
+                                                   Set<String> uploaded, UploadParams uploadParams) {
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                Response response = new ZosDsn(connection).writeDsn(getMemberName(member), file, uploadParams);
+                State state = getLocalState(file);
+                state.etag = response.getHeader("ETag").orElse(null);
+                states.put(member, state);
+                uploaded.add(member);
+                return new TransferResult.Builder()
+                        .name(getMemberName(member))
+                        .file(file.toString())
+                        .bytes(state.size)
+                        .etag(state.etag)
+                        .elapsedMillis((System.nanoTime() - start) / 1_000_000)
+                        .build();
+            } catch (Exception e) {
+                return getFailure(member, file, start, e);
+            }
+        };
+    }
+
+    /**
+     * Build the task comparing a member present on both sides without synchronized state, as on the first
+     * sync of an existing checkout. Identical content is recorded as synchronized, different content is a
+     * conflict.
+     *
+     * @param member         member name
+     * @param file           local file
+     * @param token          current remote change token of the member
+     * @param states         synchronized state of all members
+     * @param downloadParams parameters used for the download
+     * @return compare task
+     */
+    private Callable<TransferResult> getCompareTask(String member, Path file, String token, Map<String, State> states,
+                                                    DownloadParams downloadParams) {
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                Response response = new ZosDsnDownload(connection)
+                        .downloadDsnIfNoneMatch(getMemberName(member), downloadParams, null);
+                byte[] content;
+                try (InputStream inputStream = (InputStream) response.getResponsePhrase()
+                        .orElse(InputStream.nullInputStream())) {
+                    content = inputStream.readAllBytes();
+                }
+                State state = getLocalState(file);
+                if (!Hashing.sha256().hashBytes(content).toString().equals(state.hash)) {
+                    throw new Exception("member " + member + " differs locally and on z/OS");
+                }
+                state.remote = token;
+                state.etag = response.getHeader("ETag").orElse(null);
+                states.put(member, state);
+                return new TransferResult.Builder()
+                        .name(getMemberName(member))
+                        .file(file.toString())
+                        .bytes(content.length)
+                        .etag(state.etag)
+                        .elapsedMillis((System.nanoTime() - start) / 1_000_000)
+                        .build();
+            } catch (Exception e) {
+                return getFailure(member, file, start, e);
+            }
+        };
+    }
+
+    /**
+     * Revalidate the members without ISPF statistics against the ETag recorded in the state file
+     *
+     * @param remote                remote members
+     * @param states                synchronized state of all members
+     * @param downloadParams        parameters used for the conditional requests
+     * @param maxConcurrentRequests maximum number of requests to run at once
+     * @return current ETag of each revalidated member
+     * @throws Exception error running the requests
+     */
+    private Map<String, String> revalidate(Map<String, Member> remote, Map<String, State> states,
+                                           DownloadParams downloadParams, int maxConcurrentRequests)
+            throws Exception {
+        List<Callable<TransferResult>> tasks = new ArrayList<>();
+        for (Member remoteMember : remote.values()) {
+            String member = remoteMember.getMember().orElse("");
+            State state = states.get(member);
+            if (remoteMember.hasStatistics() || state == null || state.etag == null) {
+                continue;
+            }
+            tasks.add(() -> {
+                Response response = new ZosDsnDownload(connection)
+                        .downloadDsnIfNoneMatch(getMemberName(member), downloadParams, state.etag);
+                Object phrase = response.getResponsePhrase().orElse(null);
+                if (phrase instanceof InputStream) {
+                    ((InputStream) phrase).close();
+                }
+                String etag = response.getStatusCode().orElse(0) == HttpStatus.SC_NOT_MODIFIED ?
+                        state.etag : response.getHeader("ETag").orElse(null);
+                return new TransferResult.Builder().name(member).etag(etag).build();
+            });
+        }
+
+        Map<String, String> etags = new HashMap<>();
+        for (TransferResult result : UtilFiles.runConcurrently(tasks, maxConcurrentRequests, true)) {
+            result.getEtag().ifPresent(etag -> etags.put(result.getName().orElse(""), etag));
+        }
+        return etags;
+    }
+
+    /**
+     * Did the local file change since it was last synchronized. The hash is only computed when the
+     * modification time or size differ, a file touched without a content change keeps its state.
+     *
+     * @param file  local file or null if not present
+     * @param state synchronized state of the member
+     * @return boolean true if the file changed or was deleted
+     * @throws Exception error reading the file
+     */
+    private boolean isLocalChanged(Path file, State state) throws Exception {
+        if (file == null) {
+            return true;
+        }
+        long mtime = Files.getLastModifiedTime(file).toMillis();
+        long size = Files.size(file);
+        if (mtime == state.mtime && size == state.size) {
+            return false;
+        }
+        if (size == state.size && getHash(file).equals(state.hash)) {
+            state.mtime = mtime;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Build the change token of a remote member from its ISPF statistics, or from its ETag when the member
+     * has no statistics
+     *
+     * @param member remote member
+     * @param etag   current ETag of the member or null if unknown
+     * @return change token or null if nothing identifies the member version
+     */
+    private static String getToken(Member member, String etag) {
+        return UtilDataset.getMemberChangeToken(member).orElse(etag == null ? null : "etag:" + etag);
+    }
+
+    /**
+     * Build the state of a local file as it is now
+     *
+     * @param file local file
+     * @return state with the local fields set
+     * @throws Exception error reading the file
+     */
+    private static State getLocalState(Path file) throws Exception {
+        State state = new State();
+        state.mtime = Files.getLastModifiedTime(file).toMillis();
+        state.size = Files.size(file);
+        state.hash = getHash(file);
+        return state;
+    }
+
+    /**
+     * Compute the SHA-256 hash of a local file
+     *
+     * @param file local file
+     * @return hex hash value
+     * @throws Exception error reading the file
+     */
+    private static String getHash(Path file) throws Exception {
+        return MoreFiles.asByteSource(file).hash(Hashing.sha256()).toString();
+    }
+
+    /**
+     * List the members of the partitioned dataset with their ISPF statistics
+     *
+     * @return members keyed by member name
+     * @throws Exception error processing request
+     */
+    private Map<String, Member> getRemoteMembers() throws Exception {
+        Map<String, Member> members = new HashMap<>();
+        ListParams params = new ListParams.Builder().attribute(UtilDataset.Attribute.BASE).build();
+        for (Member member : new ZosDsnList(connection).listMembers(dataSetName, params)) {
+            member.getMember().ifPresent(name -> members.put(name, member));
+        }
+        return members;
+    }
+
+    /**
+     * Scan the directory for member files
+     *
+     * @return files keyed by member name
+     * @throws Exception error reading the directory
+     */
+    private Map<String, Path> getLocalFiles() throws Exception {
+        Map<String, Path> files = new HashMap<>();
+        try (Stream<Path> paths = Files.list(directory)) {
+            paths.filter(Files::isRegularFile).forEach(path -> {
+                String fileName = path.getFileName().toString();
+                if (!fileName.endsWith(extension)) {
+                    return;
+                }
+                String member = fileName.substring(0, fileName.length() - extension.length()).toUpperCase(Locale.ROOT);
+                if (MEMBER_NAME.matcher(member).matches()) {
+                    files.put(member, path);
+                }
+            });
+        }
+        return files;
+    }
+
+    /**
+     * Read the state file
+     *
+     * @return synchronized state keyed by member name
+     * @throws Exception error reading the state file
+     */
+    private Map<String, State> loadState() throws Exception {
+        Map<String, State> states = new ConcurrentHashMap<>();
+        Path path = directory.resolve(STATE_FILE);
+        if (!Files.exists(path)) {
+            return states;
+        }
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            String[] fields = line.split(SEPARATOR, -1);
+            if (fields.length < 6) {
+                continue;
+            }
+            State state = new State();
+            state.remote = fields[1].isEmpty() ? null : fields[1];
+            state.etag = fields[2].isEmpty() ? null : fields[2];
+            state.mtime = Long.parseLong(fields[3]);
+            state.size = Long.parseLong(fields[4]);
+            state.hash = fields[5];
+            states.put(fields[0], state);
+        }
+        return states;
+    }
+
+    /**
+     * Write the state file, the file is replaced atomically
+     *
+     * @param states synchronized state keyed by member name
+     * @throws Exception error writing the state file
+     */
+    private void saveState(Map<String, State> states) throws Exception {
+        Path path = directory.resolve(STATE_FILE);
+        Path temp = directory.resolve(STATE_FILE + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, State> entry : new TreeMap<>(states).entrySet()) {
+                State state = entry.getValue();
+                writer.write(String.join(SEPARATOR, entry.getKey(), Objects.toString(state.remote, ""),
+                        Objects.toString(state.etag, ""), String.valueOf(state.mtime), String.valueOf(state.size),
+                        state.hash));
+                writer.newLine();
+            }
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Build a failed result reporting a conflict
+     *
+     * @param member member name
+     * @param file   local file or null if not present
+     * @param reason description of the conflict
+     * @return failed transfer result
+     */
+    private TransferResult getConflict(String member, Path file, String reason) {
+        return new TransferResult.Builder()
+                .name(getMemberName(member))
+                .file(file == null ? null : file.toString())
+                .error(new Exception("member " + member + " " + reason))
+                .build();
+    }
+
+    /**
+     * Build a failed result reporting an error
+     *
+     * @param member member name
+     * @param file   local file
+     * @param start  start time of the transfer in nanoseconds
+     * @param error  error that occurred
+     * @return failed transfer result
+     */
+    private TransferResult getFailure(String member, Path file, long start, Exception error) {
+        return new TransferResult.Builder()
+                .name(getMemberName(member))
+                .file(file.toString())
+                .elapsedMillis((System.nanoTime() - start) / 1_000_000)
+                .error(error)
+                .build();
+    }
+
+    private String getMemberName(String member) {
+        return String.format("%s(%s)", dataSetName, member);
+    }
+
+    private Path getFile(String member) {
+        return directory.resolve(member.toLowerCase(Locale.ROOT) + extension);
+    }
+
+}
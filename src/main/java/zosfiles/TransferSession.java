@@ -0,0 +1,388 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package zosfiles;
+
+import core.ZOSConnection;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import utility.Util;
+import utility.UtilFiles;
+import zosfiles.input.DownloadParams;
+import zosfiles.input.ListParams;
+import zosfiles.input.UploadParams;
+import zosfiles.response.TransferResult;
+import zosfiles.response.TransferSummary;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.Callable;
+
+/**
+ * Bulk transfer of many datasets and members that survives a crash or restart of the process.
+ * <p>
+ * Every item of the session and each change of its state is appended to an on disk manifest as it happens.
+ * Opening a session on an existing manifest restores the items, so a restarted process does not need to
+ * list the datasets again, and run only processes the items that are not completed yet. The manifest is
+ * compacted to one line per item when the session is opened and after each run.
+ * <pre>
+ * try (TransferSession session = new TransferSession(connection, Paths.get("migration.manifest"))) {
+ *     if (session.getItems().isEmpty()) {
+ *         session.addAllMembers("DATASET.LIB", Paths.get("lib"), ".txt");
+ *     }
+ *     TransferSummary summary = session.run(8, downloadParams, uploadParams);
+ * }
+ * </pre>
+ *
+ * @version 1.0
+ */
+public class TransferSession implements AutoCloseable {
+
+    private static final Logger LOG = LogManager.getLogger(TransferSession.class);
+
+    private static final String SEPARATOR = "\t";
+
+    /**
+     * Direction of a transfer item
+     */
+    public enum Direction {
+        DOWNLOAD, UPLOAD
+    }
+
+    /**
+     * State of a transfer item
+     */
+    public enum State {
+        PENDING, COMPLETED, FAILED
+    }
+
+    /**
+     * A single dataset or member transfer tracked by the manifest
+     */
+    public static class Item {
+
+        private final Direction direction;
+        private final String dataSetName;
+        private final String file;
+        private volatile State state = State.PENDING;
+        private volatile long size;
+        private volatile Optional<String> etag = Optional.empty();
+
+        private Item(Direction direction, String dataSetName, String file) {
+            this.direction = direction;
+            this.dataSetName = dataSetName;
+            this.file = file;
+        }
+
+        public Direction getDirection() {
+            return direction;
+        }
+
+        public String getDataSetName() {
+            return dataSetName;
+        }
+
+        public String getFile() {
+            return file;
+        }
+
+        public State getState() {
+            return state;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public Optional<String> getEtag() {
+            return etag;
+        }
+
+        private String getKey() {
+            return direction + SEPARATOR + dataSetName + SEPARATOR + file;
+        }
+
+        @Override
+        public String toString() {
+            return "Item{" +
+                    "direction=" + direction +
+                    ", dataSetName='" + dataSetName + '\'' +
+                    ", file='" + file + '\'' +
+                    ", state=" + state +
+                    ", size=" + size +
+                    ", etag=" + etag +
+                    '}';
+        }
+
+    }
+
+    private final ZOSConnection connection;
+
+    private final Path manifest;
+
+    private final Map<String, Item> items = new LinkedHashMap<>();
+
+    private BufferedWriter writer;
+
+    /**
+     * TransferSession constructor, restores the items of an existing manifest
+     *
+     * @param connection connection information, see ZOSConnection object
+     * @param manifest   manifest file of the session, created if it does not exist
+     * @throws Exception error reading or writing the manifest
+     */
+    public TransferSession(ZOSConnection connection, Path manifest) throws Exception {
+        Util.checkConnection(connection);
+        Util.checkNullParameter(manifest == null, "manifest is null");
+        this.connection = connection;
+        this.manifest = manifest;
+        load();
+        compact();
+    }
+
+    /**
+     * Add a download of a sequential dataset or member to a local file. An item already known to the
+     * session keeps its current state.
+     *
+     * @param dataSetName sequential dataset (e.g. 'DATASET.SEQ') or member (e.g. 'DATASET.LIB(MEMBER)')
+     * @param file        local file to write
+     * @throws Exception error writing the manifest
+     */
+    public synchronized void addDownload(String dataSetName, Path file) throws Exception {
+        add(Direction.DOWNLOAD, dataSetName, file);
+    }
+
+    /**
+     * Add an upload of a local file to a sequential dataset or member. An item already known to the
+     * session keeps its current state.
+     *
+     * @param file        local file to read
+     * @param dataSetName sequential dataset (e.g. 'DATASET.SEQ') or member (e.g. 'DATASET.LIB(MEMBER)')
+     * @throws Exception error writing the manifest
+     */
+    public synchronized void addUpload(Path file, String dataSetName) throws Exception {
+        add(Direction.UPLOAD, dataSetName, file);
+    }
+
+    /**
+     * Add a download of every member of a partitioned dataset into a local directory, one file per member
+     * named after the member.
+     *
+     * @param dataSetName partitioned dataset (e.g. 'DATASET.LIB')
+     * @param directory   local directory to write the members to
+     * @param extension   file extension including the leading period, e.g. ".txt"
+     * @throws Exception error listing the members or writing the manifest
+     */
+    public synchronized void addAllMembers(String dataSetName, Path directory, String extension) throws Exception {
+        Util.checkNullParameter(directory == null, "directory is null");
+        Util.checkNullParameter(extension == null, "extension is null");
+        List<String> members = new ZosDsnList(connection).listDsnMembers(dataSetName, new ListParams.Builder().build());
+        for (String member : members) {
+            add(Direction.DOWNLOAD, String.format("%s(%s)", dataSetName, member),
+                    directory.resolve(member.toLowerCase(Locale.ROOT) + extension));
+        }
+    }
+
+    /**
+     * Transfer every item that is not completed yet, failed items are retried. Items of known size are started
+     * largest first, see UtilFiles runConcurrently.
+     *
+     * @param maxConcurrentRequests maximum number of transfers to run at once
+     * @param downloadParams        parameters used for download items, see DownloadParams object
+     * @param uploadParams          parameters used for upload items, see UploadParams object
+     * @return summary of the transfers performed by this run
+     * @throws Exception error writing the manifest
+     */
+    public TransferSummary run(int maxConcurrentRequests, DownloadParams downloadParams, UploadParams uploadParams)
+            throws Exception {
+        Util.checkNullParameter(downloadParams == null, "downloadParams is null");
+        Util.checkNullParameter(uploadParams == null, "uploadParams is null");
+        long start = System.nanoTime();
+
+        List<Callable<TransferResult>> tasks = new ArrayList<>();
+        List<Long> sizes = new ArrayList<>();
+        for (Item item : getItems()) {
+            if (item.state != State.COMPLETED) {
+                tasks.add(getTask(item, downloadParams, uploadParams));
+                sizes.add(getSize(item));
+            }
+        }
+        LOG.debug("TransferSession::run - {} of {} items to transfer", tasks.size(), items.size());
+
+        List<TransferResult> results = UtilFiles.runConcurrently(tasks, sizes, maxConcurrentRequests, false);
+        compact();
+        return new TransferSummary(results, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Retrieve all items of the session
+     *
+     * @return list of items in the order they were added
+     */
+    public synchronized List<Item> getItems() {
+        return new ArrayList<>(items.values());
+    }
+
+    /**
+     * Retrieve the items in the given state
+     *
+     * @param state item state
+     * @return list of items
+     */
+    public synchronized List<Item> getItems(State state) {
+        List<Item> result = new ArrayList<>();
+        items.values().stream().filter(i -> i.state == state).forEach(result::add);
+        return result;
+    }
+
+    /**
+     * Close the manifest, the session can be reopened later with the same manifest
+     *
+     * @throws Exception error closing the manifest
+     */
+    @Override
+    public synchronized void close() throws Exception {
+        writer.close();
+    }
+
+    /**
+     * Build the task transferring a single item and recording its outcome in the manifest
+     *
+     * @param item           item to transfer
+     * @param downloadParams parameters used for download items
+     * @param uploadParams   parameters used for upload items
+     * @return transfer task
+     */
+    private Callable<TransferResult> getTask(Item item, DownloadParams downloadParams, UploadParams uploadParams) {
+        return () -> {
+            long start = System.nanoTime();
+            TransferResult result;
+            try {
+                Path file = Paths.get(item.file);
+                if (item.direction == Direction.DOWNLOAD) {
+                    result = new ZosDsnDownload(connection).downloadDsnToFile(item.dataSetName, file, downloadParams);
+                } else {
+                    result = new ZosDsn(connection).uploadDsn(item.dataSetName, file, uploadParams);
+                }
+                item.size = result.getBytes();
+                item.etag = result.getEtag();
+                item.state = State.COMPLETED;
+            } catch (Exception e) {
+                result = new TransferResult.Builder()
+                        .name(item.dataSetName)
+                        .file(item.file)
+                        .elapsedMillis((System.nanoTime() - start) / 1_000_000)
+                        .error(e)
+                        .build();
+                item.state = State.FAILED;
+            }
+            record(item);
+            return result;
+        };
+    }
+
+    /**
+     * Retrieve the expected size of an item used to start the largest transfers first, the local file size of an
+     * upload or the size recorded by an earlier attempt of a download
+     *
+     * @param item transfer item
+     * @return size in bytes or 0 if unknown
+     */
+    private static long getSize(Item item) {
+        if (item.direction == Direction.UPLOAD) {
+            try {
+                return Files.size(Paths.get(item.file));
+            } catch (IOException e) {
+                return 0;
+            }
+        }
+        return item.size;
+    }
+
+    /**
+     * Add an item unless it is already known to the session
+     *
+     * @param direction   transfer direction
+     * @param dataSetName dataset or member name
+     * @param file        local file
+     * @throws Exception error writing the manifest
+     */
+    private void add(Direction direction, String dataSetName, Path file) throws Exception {
+        Util.checkNullParameter(dataSetName == null, "dataSetName is null");
+        Util.checkIllegalParameter(dataSetName.isEmpty(), "dataSetName not specified");
+        Util.checkNullParameter(file == null, "file is null");
+        Item item = new Item(direction, dataSetName, file.toString());
+        if (!items.containsKey(item.getKey())) {
+            items.put(item.getKey(), item);
+            record(item);
+        }
+    }
+
+    /**
+     * Append the current state of an item to the manifest
+     *
+     * @param item transfer item
+     * @throws Exception error writing the manifest
+     */
+    private synchronized void record(Item item) throws Exception {
+        writer.write(String.join(SEPARATOR, item.direction.toString(), item.dataSetName, item.file,
+                item.state.toString(), String.valueOf(item.size), item.etag.orElse("")));
+        writer.newLine();
+        writer.flush();
+    }
+
+    /**
+     * Read the manifest, the last line of an item holds its latest state
+     *
+     * @throws Exception error reading the manifest
+     */
+    private void load() throws Exception {
+        if (!Files.exists(manifest)) {
+            return;
+        }
+        for (String line : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+            String[] fields = line.split(SEPARATOR, -1);
+            if (fields.length < 6) {
+                // a line cut short by a crash, the previous state of the item still applies
+                continue;
+            }
+            Item item = new Item(Direction.valueOf(fields[0]), fields[1], fields[2]);
+            item.state = State.valueOf(fields[3]);
+            item.size = Long.parseLong(fields[4]);
+            item.etag = fields[5].isEmpty() ? Optional.empty() : Optional.of(fields[5]);
+            items.put(item.getKey(), item);
+        }
+        LOG.debug("TransferSession::load - {} items restored from {}", items.size(), manifest);
+    }
+
+    /**
+     * Rewrite the manifest with one line per item and reopen it for appending
+     *
+     * @throws Exception error writing the manifest
+     */
+    private synchronized void compact() throws Exception {
+        if (writer != null) {
+            writer.close();
+        }
+        Path parent = manifest.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = parent.resolve(manifest.getFileName() + ".tmp");
+        writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8);
+        for (Item item : items.values()) {
+            record(item);
+        }
+        writer.close();
+        Files.move(temp, manifest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        writer = Files.newBufferedWriter(manifest, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+    }
+
+}
@@ -9,6 +9,7 @@
  */
 package zosfiles;
 
+import codec.RecordInputStream;
 import core.ZOSConnection;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -17,14 +18,24 @@ import rest.Response;
 import rest.ZoweRequest;
 import rest.ZoweRequestFactory;
 import rest.ZoweRequestType;
+import utility.TransferDigest;
 import utility.Util;
 import utility.UtilDataset;
+import utility.UtilFiles;
 import utility.UtilRest;
 import zosfiles.input.CreateParams;
 import zosfiles.input.ListParams;
+import zosfiles.input.UploadParams;
 import zosfiles.response.Dataset;
+import zosfiles.response.TransferResult;
+import zosfiles.response.TransferSummary;
 
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.Flow;
 
 /**
  * ZosDsn class that provides CRUD operations on Datasets
@@ -108,7 +119,7 @@ public class ZosDsn {
         try {
             UtilRest.checkHttpErrors(response);
         } catch (Exception e) {
-            UtilDataset.checkHttpErrors(e.getMessage(), Arrays.asList(dataSetName), UtilDataset.Operation.write);
+            UtilDataset.checkHttpErrors(e, Arrays.asList(dataSetName), UtilDataset.Operation.write);
         }
 
         return response;
@@ -134,6 +145,152 @@ public class ZosDsn {
         return writeDsn(String.format("%s(%s)", dataSetName, member), content);
     }
 
+    /**
+     * Replaces the content of a sequential data set or member by streaming it from an input stream.
+     * <p>
+     * The content is sent with chunked transfer encoding as it is read, so memory use does not grow with
+     * the size of the content. The mode is selected by the UploadParams binary, record or encoding values and
+     * an etag value makes the write conditional on the dataset not having changed since it was read.
+     *
+     * @param dataSetName sequential dataset (e.g. 'DATASET.LIB') or member (e.g. 'DATASET.LIB(MEMBER)')
+     * @param content     stream of the new content, the caller remains responsible for closing it
+     * @param params      upload parameters, see UploadParams object
+     * @return http response object
+     * @throws Exception error processing request
+     */
+    public Response writeDsn(String dataSetName, InputStream content, UploadParams params) throws Exception {
+        Util.checkNullParameter(params == null, "params is null");
+        Util.checkNullParameter(content == null, "content is null");
+        Util.checkNullParameter(dataSetName == null, "dataSetName is null");
+        Util.checkIllegalParameter(dataSetName.isEmpty(), "dataSetName not specified");
+
+        String url = "https://" + connection.getHost() + ":" + connection.getZosmfPort() + ZosFilesConstants.RESOURCE +
+                ZosFilesConstants.RES_DS_FILES + "/";
+
+        if (params.getVolume().isPresent()) {
+            url += "-(" + params.getVolume().get() + ")/";
+        }
+        url += Util.encodeURIComponent(dataSetName);
+
+        LOG.debug(url);
+
+        ZoweRequest request = ZoweRequestFactory.buildStreamRequest(connection, url, content,
+                ZoweRequestType.VerbType.PUT_STREAM);
+        request.setHeaders(UtilFiles.generateHeadersBasedOnOptions(params));
+        Response response = request.executeRequest();
+
+        try {
+            UtilRest.checkHttpErrors(response);
+        } catch (Exception e) {
+            UtilDataset.checkHttpErrors(e, Arrays.asList(dataSetName), UtilDataset.Operation.write);
+        }
+
+        return response;
+    }
+
+    /**
+     * Replaces the content of a sequential data set or member by streaming it from a local file.
+     *
+     * @param dataSetName sequential dataset (e.g. 'DATASET.LIB') or member (e.g. 'DATASET.LIB(MEMBER)')
+     * @param file        local file holding the new content
+     * @param params      upload parameters, see UploadParams object
+     * @return http response object
+     * @throws Exception error processing request
+     */
+    public Response writeDsn(String dataSetName, Path file, UploadParams params) throws Exception {
+        Util.checkNullParameter(file == null, "file is null");
+        try (InputStream content = Files.newInputStream(file)) {
+            return writeDsn(dataSetName, content, params);
+        }
+    }
+
+    /**
+     * Replaces the content of a sequential data set or member by streaming it from a local file, computing the
+     * digests set by the params as the content is sent.
+     *
+     * @param dataSetName sequential dataset (e.g. 'DATASET.LIB') or member (e.g. 'DATASET.LIB(MEMBER)')
+     * @param file        local file holding the new content
+     * @param params      upload parameters, see UploadParams object
+     * @return transfer result holding the number of bytes sent, the new ETag and the digests
+     * @throws Exception error processing request
+     */
+    public TransferResult uploadDsn(String dataSetName, Path file, UploadParams params) throws Exception {
+        Util.checkNullParameter(params == null, "params is null");
+        Util.checkNullParameter(file == null, "file is null");
+        long start = System.nanoTime();
+        TransferDigest digest = new TransferDigest(params.getDigests().orElse(Set.of()));
+        Response response;
+        try (InputStream content = digest.wrap(Files.newInputStream(file))) {
+            response = writeDsn(dataSetName, content, params);
+        }
+        TransferResult result = new TransferResult.Builder()
+                .name(dataSetName)
+                .file(file.toString())
+                .bytes(Files.size(file))
+                .etag(response.getHeader("ETag").orElse(null))
+                .digests(digest.getDigests())
+                .elapsedMillis((System.nanoTime() - start) / 1_000_000)
+                .build();
+        LOG.debug(result);
+        return result;
+    }
+
+    /**
+     * Replaces the content of a sequential data set or member with records in record mode, keeping the record
+     * boundaries of fixed and variable datasets without z/OSMF splitting text lines.
+     * <p>
+     * Each record is framed with its length prefix as the upload reads it, so only the record being sent is
+     * held in memory. The record value of the params is ignored, record mode is always used.
+     *
+     * @param dataSetName sequential dataset (e.g. 'DATASET.LIB') or member (e.g. 'DATASET.LIB(MEMBER)')
+     * @param records     records to write, each sent from its position to its limit
+     * @param params      upload parameters, see UploadParams object
+     * @return http response object
+     * @throws Exception error processing request
+     */
+    public Response writeDsnRecords(String dataSetName, Iterator<ByteBuffer> records, UploadParams params)
+            throws Exception {
+        Util.checkNullParameter(params == null, "params is null");
+        try (RecordInputStream content = new RecordInputStream(records)) {
+            Response response = writeDsn(dataSetName, content, getRecordParams(params));
+            LOG.debug("ZosDsn::writeDsnRecords - {} records written to {}", content.getRecordCount(), dataSetName);
+            return response;
+        }
+    }
+
+    /**
+     * Replaces the content of a sequential data set or member with records in record mode, see the Iterator
+     * variant. Records are requested from the publisher as the upload reads them, the subscription is
+     * cancelled if the upload fails.
+     *
+     * @param dataSetName sequential dataset (e.g. 'DATASET.LIB') or member (e.g. 'DATASET.LIB(MEMBER)')
+     * @param records     publisher of the records to write, each sent from its position to its limit
+     * @param params      upload parameters, see UploadParams object
+     * @return http response object
+     * @throws Exception error processing request or an error signaled by the publisher
+     */
+    public Response writeDsnRecords(String dataSetName, Flow.Publisher<ByteBuffer> records, UploadParams params)
+            throws Exception {
+        Util.checkNullParameter(params == null, "params is null");
+        try (RecordInputStream content = RecordInputStream.fromPublisher(records,
+                RecordInputStream.DEFAULT_PREFETCH)) {
+            Response response = writeDsn(dataSetName, content, getRecordParams(params));
+            LOG.debug("ZosDsn::writeDsnRecords - {} records written to {}", content.getRecordCount(), dataSetName);
+            return response;
+        }
+    }
+
+    private static UploadParams getRecordParams(UploadParams params) {
+        return new UploadParams.Builder()
+                .record(true)
+                .encoding(params.getEncoding().orElse(null))
+                .etag(params.getEtag().orElse(null))
+                .volume(params.getVolume().orElse(null))
+                .responseTimeout(params.getResponseTimeout().orElse(null))
+                .digests(params.getDigests().orElse(null))
+                .build();
+    }
+
     /**
      * Delete a dataset
      *
@@ -158,9 +315,10 @@ public class ZosDsn {
         try {
             UtilRest.checkHttpErrors(response);
         } catch (Exception e) {
-            UtilDataset.checkHttpErrors(e.getMessage(), Arrays.asList(dataSetName), UtilDataset.Operation.delete);
+            UtilDataset.checkHttpErrors(e, Arrays.asList(dataSetName), UtilDataset.Operation.delete);
         }
 
+        CatalogCache.invalidate(connection, dataSetName);
         return response;
     }
 
@@ -182,6 +340,125 @@ public class ZosDsn {
         return deleteDsn(String.format("%s(%s)", dataSetName, member));
     }
 
+    /**
+     * List the datasets deleteDatasets would delete for a pattern
+     *
+     * @param pattern dataset name pattern starting with a qualifier without wildcard (e.g. 'HLQ.TEST.**')
+     * @return dataset names
+     * @throws Exception error listing the datasets
+     */
+    public List<String> previewDeleteDatasets(String pattern) throws Exception {
+        Util.checkNullParameter(pattern == null, "pattern is null");
+        String highLevelQualifier = pattern.split("\\.")[0];
+        Util.checkIllegalParameter(highLevelQualifier.isEmpty() || highLevelQualifier.contains("*") ||
+                highLevelQualifier.contains("%"), "pattern must start with a qualifier without wildcard");
+        List<String> dataSetNames = new ArrayList<>();
+        for (Dataset dataset : new ZosDsnList(connection).listDsn(pattern, new ListParams.Builder().build())) {
+            dataset.getDsname().ifPresent(dataSetNames::add);
+        }
+        return dataSetNames;
+    }
+
+    /**
+     * Delete all datasets matching a pattern, see previewDeleteDatasets for the datasets it selects
+     *
+     * @param pattern               dataset name pattern starting with a qualifier without wildcard
+     *                              (e.g. 'HLQ.TEST.**')
+     * @param maxConcurrentRequests maximum number of deletes in flight at once
+     * @return summary holding a result per dataset
+     * @throws Exception error listing the datasets
+     */
+    public TransferSummary deleteDatasets(String pattern, int maxConcurrentRequests) throws Exception {
+        return deleteDatasets(previewDeleteDatasets(pattern), maxConcurrentRequests);
+    }
+
+    /**
+     * Delete the given datasets concurrently, e.g. the ones returned by previewDeleteDatasets. A delete failing
+     * with ENQ contention is retried, see DatasetScheduler.
+     *
+     * @param dataSetNames          names of the datasets to delete
+     * @param maxConcurrentRequests maximum number of deletes in flight at once
+     * @return summary holding a result per dataset in the given order
+     * @throws Exception execution was interrupted
+     */
+    public TransferSummary deleteDatasets(List<String> dataSetNames, int maxConcurrentRequests) throws Exception {
+        Util.checkNullParameter(dataSetNames == null, "dataSetNames is null");
+        LOG.debug("ZosDsn::deleteDatasets - deleting {} datasets", dataSetNames.size());
+        try (DatasetScheduler scheduler = new DatasetScheduler(maxConcurrentRequests, 1)) {
+            return scheduler.runAll(dataSetNames, name -> () -> deleteDsn(name));
+        }
+    }
+
+    /**
+     * List the members deleteMembers would delete for a pattern
+     *
+     * @param dataSetName partitioned dataset name (e.g. 'DATASET.LIB')
+     * @param pattern     member name pattern (e.g. 'TEMP*'), null for all members
+     * @return member names
+     * @throws Exception error listing the members
+     */
+    public List<String> previewDeleteMembers(String dataSetName, String pattern) throws Exception {
+        return new ZosDsnList(connection).listDsnMembers(dataSetName,
+                new ListParams.Builder().pattern(pattern).build());
+    }
+
+    /**
+     * Delete all members of a partitioned dataset matching a pattern, see previewDeleteMembers for the members
+     * it selects. Up to maxConcurrentRequests deletes run at once, a delete failing with ENQ contention is
+     * retried, see DatasetScheduler.
+     *
+     * @param dataSetName           partitioned dataset name (e.g. 'DATASET.LIB')
+     * @param pattern               member name pattern (e.g. 'TEMP*'), null for all members
+     * @param maxConcurrentRequests maximum number of deletes in flight at once
+     * @return summary holding a result per member
+     * @throws Exception error listing the members
+     */
+    public TransferSummary deleteMembers(String dataSetName, String pattern, int maxConcurrentRequests)
+            throws Exception {
+        return deleteMembers(dataSetName, previewDeleteMembers(dataSetName, pattern), maxConcurrentRequests);
+    }
+
+    /**
+     * Delete the given members of a partitioned dataset, e.g. the ones returned by previewDeleteMembers. Up to
+     * maxConcurrentRequests deletes run at once, a delete failing with ENQ contention is retried, see
+     * DatasetScheduler.
+     *
+     * @param dataSetName           partitioned dataset name (e.g. 'DATASET.LIB')
+     * @param members               names of the members to delete
+     * @param maxConcurrentRequests maximum number of deletes in flight at once
+     * @return summary holding a result per member in the given order, named 'DATASET.LIB(MEMBER)'
+     * @throws Exception execution was interrupted
+     */
+    public TransferSummary deleteMembers(String dataSetName, List<String> members, int maxConcurrentRequests)
+            throws Exception {
+        return deleteMembers(dataSetName, members, maxConcurrentRequests, maxConcurrentRequests);
+    }
+
+    /**
+     * Delete the given members of a partitioned dataset concurrently. The members share the directory and ENQ
+     * of the dataset, lower maxPerDataset when many deletes fail with ENQ contention; such a delete is retried,
+     * see DatasetScheduler.
+     *
+     * @param dataSetName           partitioned dataset name (e.g. 'DATASET.LIB')
+     * @param members               names of the members to delete
+     * @param maxConcurrentRequests maximum number of deletes in flight at once
+     * @param maxPerDataset         maximum number of deletes in flight on the dataset, 1 serializes them
+     * @return summary holding a result per member in the given order, named 'DATASET.LIB(MEMBER)'
+     * @throws Exception execution was interrupted
+     */
+    public TransferSummary deleteMembers(String dataSetName, List<String> members, int maxConcurrentRequests,
+                                         int maxPerDataset) throws Exception {
+        Util.checkNullParameter(dataSetName == null, "dataSetName is null");
+        Util.checkIllegalParameter(dataSetName.isEmpty(), "dataSetName not specified");
+        Util.checkNullParameter(members == null, "members is null");
+        LOG.debug("ZosDsn::deleteMembers - deleting {} members of {}", members.size(), dataSetName);
+        List<String> names = new ArrayList<>();
+        members.forEach(member -> names.add(String.format("%s(%s)", dataSetName, member)));
+        try (DatasetScheduler scheduler = new DatasetScheduler(maxConcurrentRequests, maxPerDataset)) {
+            return scheduler.runAll(names, name -> () -> deleteDsn(name));
+        }
+    }
+
     /**
      * Creates a new dataset with specified parameters
      *
@@ -211,9 +488,10 @@ public class ZosDsn {
         try {
             UtilRest.checkHttpErrors(response);
         } catch (Exception e) {
-            UtilDataset.checkHttpErrors(e.getMessage(), Arrays.asList(dataSetName), UtilDataset.Operation.create);
+            UtilDataset.checkHttpErrors(e, Arrays.asList(dataSetName), UtilDataset.Operation.create);
         }
 
+        CatalogCache.invalidate(connection, dataSetName);
         return response;
     }
 
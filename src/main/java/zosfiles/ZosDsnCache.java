@@ -0,0 +1,416 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package zosfiles;
+
+import com.google.common.hash.Hashing;
+import core.ZOSConnection;
+import org.apache.http.HttpStatus;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import rest.Response;
+import utility.Util;
+import zosfiles.input.DownloadParams;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Size bounded content cache of datasets and members in front of ZosDsnDownload.
+ * <p>
+ * Content is stored together with its ETag. Every download revalidates the cached copy with an If-None-Match
+ * request, when z/OSMF answers HTTP 304 the content is served from the cache so an unchanged member only
+ * costs a headers-only round trip. The least recently used entries are kept in memory up to maxMemoryBytes,
+ * entries evicted from memory move to the optional disk tier which is bounded by maxDiskBytes.
+ *
+ * @version 1.0
+ */
+public class ZosDsnCache {
+
+    private static final Logger LOG = LogManager.getLogger(ZosDsnCache.class);
+
+    private static final String DATA_SUFFIX = ".data";
+    private static final String ETAG_SUFFIX = ".etag";
+    private static final String KEY_SUFFIX = ".key";
+
+    private final ZosDsnDownload download;
+
+    private final long maxMemoryBytes;
+
+    private final Optional<Path> diskDirectory;
+
+    private final long maxDiskBytes;
+
+    /**
+     * Memory tier in least recently used order
+     */
+    private final LinkedHashMap<String, Entry> memory = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Disk tier file names and sizes in least recently used order
+     */
+    private final LinkedHashMap<String, Long> disk = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Cache key of each disk tier file name, the file names are hashes of the keys
+     */
+    private final Map<String, String> diskKeys = new HashMap<>();
+
+    private long memoryBytes;
+
+    private long diskBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Cached content and the ETag it was returned with
+     */
+    private static class Entry {
+
+        private final byte[] content;
+        private final String etag;
+
+        private Entry(byte[] content, String etag) {
+            this.content = content;
+            this.etag = etag;
+        }
+
+    }
+
+    /**
+     * ZosDsnCache constructor with a memory tier only
+     *
+     * @param connection     connection information, see ZOSConnection object
+     * @param maxMemoryBytes maximum number of content bytes held in memory
+     */
+    public ZosDsnCache(ZOSConnection connection, long maxMemoryBytes) {
+        this(connection, maxMemoryBytes, null, 0);
+    }
+
+    /**
+     * ZosDsnCache constructor with a memory and a disk tier. Entries already present in the directory from a
+     * previous run are reused.
+     *
+     * @param connection     connection information, see ZOSConnection object
+     * @param maxMemoryBytes maximum number of content bytes held in memory
+     * @param diskDirectory  directory of the disk tier, null for no disk tier
+     * @param maxDiskBytes   maximum number of content bytes held on disk
+     */
+    public ZosDsnCache(ZOSConnection connection, long maxMemoryBytes, Path diskDirectory, long maxDiskBytes) {
+        Util.checkIllegalParameter(maxMemoryBytes < 0, "maxMemoryBytes is negative");
+        Util.checkIllegalParameter(maxDiskBytes < 0, "maxDiskBytes is negative");
+        this.download = new ZosDsnDownload(connection);
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.diskDirectory = Optional.ofNullable(diskDirectory);
+        this.maxDiskBytes = maxDiskBytes;
+        this.diskDirectory.ifPresent(this::loadDiskIndex);
+    }
+
+    /**
+     * Download a sequential dataset or dataset member content, served from the cache when z/OSMF confirms
+     * the cached copy is still current
+     *
+     * @param dataSetName name of a sequential dataset e.g. DATASET.SEQ.DATA
+     *                    or a dataset member e.g. DATASET.LIB(MEMBER))
+     * @param params      download params parameters, see DownloadParams object
+     * @return content bytes
+     * @throws Exception error processing request
+     */
+    public byte[] download(String dataSetName, DownloadParams params) throws Exception {
+        Util.checkNullParameter(params == null, "params is null");
+        Util.checkNullParameter(dataSetName == null, "dataSetName is null");
+        Util.checkIllegalParameter(dataSetName.isEmpty(), "dataSetName not specified");
+
+        String key = getKey(dataSetName, params);
+        Entry cached = get(key);
+        Response response = download.downloadDsnIfNoneMatch(dataSetName, params, cached == null ? null : cached.etag);
+
+        if (cached != null && response.getStatusCode().orElse(0) == HttpStatus.SC_NOT_MODIFIED) {
+            hits.incrementAndGet();
+            LOG.debug("ZosDsnCache::download - {} not modified", dataSetName);
+            // callers own the returned array, the cached one must stay unmodified
+            return cached.content.clone();
+        }
+
+        misses.incrementAndGet();
+        byte[] content;
+        try (InputStream inputStream = (InputStream) response.getResponsePhrase()
+                .orElse(InputStream.nullInputStream())) {
+            content = inputStream.readAllBytes();
+        }
+        Optional<String> etag = response.getHeader("ETag");
+        if (etag.isPresent()) {
+            put(key, new Entry(content.clone(), etag.get()));
+        } else {
+            remove(key);
+        }
+        return content;
+    }
+
+    /**
+     * Download a sequential dataset or dataset member content as a stream, see download
+     *
+     * @param dataSetName name of a sequential dataset or a dataset member
+     * @param params      download params parameters, see DownloadParams object
+     * @return a content stream
+     * @throws Exception error processing request
+     */
+    public InputStream downloadDsn(String dataSetName, DownloadParams params) throws Exception {
+        return new ByteArrayInputStream(download(dataSetName, params));
+    }
+
+    /**
+     * Drop the cached content of a dataset or member for every download mode from both tiers
+     *
+     * @param dataSetName name of a sequential dataset or a dataset member
+     */
+    public synchronized void invalidate(String dataSetName) {
+        Util.checkNullParameter(dataSetName == null, "dataSetName is null");
+        String prefix = dataSetName.toUpperCase(Locale.ROOT) + "|";
+        new ArrayList<>(memory.keySet()).stream().filter(k -> k.startsWith(prefix)).forEach(this::remove);
+        diskKeys.entrySet().stream().filter(e -> e.getValue().startsWith(prefix)).map(Map.Entry::getKey)
+                .collect(Collectors.toList()).forEach(this::removeFromDisk);
+    }
+
+    /**
+     * Retrieve the number of downloads served from the cache after a 304 revalidation
+     *
+     * @return hit count
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Retrieve the number of downloads that had to transfer the content
+     *
+     * @return miss count
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Retrieve the number of content bytes held in memory
+     *
+     * @return bytes value
+     */
+    public synchronized long getMemoryBytes() {
+        return memoryBytes;
+    }
+
+    /**
+     * Retrieve the number of content bytes held on disk
+     *
+     * @return bytes value
+     */
+    public synchronized long getDiskBytes() {
+        return diskBytes;
+    }
+
+    /**
+     * Look up an entry in memory first and on disk second, a disk entry is promoted to memory
+     *
+     * @param key cache key
+     * @return entry or null if not cached
+     */
+    private synchronized Entry get(String key) {
+        Entry entry = memory.get(key);
+        if (entry != null || diskDirectory.isEmpty()) {
+            return entry;
+        }
+        String fileName = getFileName(key);
+        if (!disk.containsKey(fileName)) {
+            return null;
+        }
+        try {
+            Path data = diskDirectory.get().resolve(fileName + DATA_SUFFIX);
+            Path etag = diskDirectory.get().resolve(fileName + ETAG_SUFFIX);
+            entry = new Entry(Files.readAllBytes(data), Files.readString(etag, StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            LOG.debug("ZosDsnCache::get - {} unreadable {}", key, e.getMessage());
+            removeFromDisk(fileName);
+            return null;
+        }
+        putInMemory(key, entry);
+        return entry;
+    }
+
+    /**
+     * Store an entry in the memory tier or directly on disk when it is larger than the memory tier
+     *
+     * @param key   cache key
+     * @param entry content and ETag
+     */
+    private synchronized void put(String key, Entry entry) {
+        remove(key);
+        if (entry.content.length <= maxMemoryBytes) {
+            putInMemory(key, entry);
+        } else {
+            putOnDisk(key, entry);
+        }
+    }
+
+    /**
+     * Store an entry in memory moving the least recently used entries to disk while over the limit
+     *
+     * @param key   cache key
+     * @param entry content and ETag
+     */
+    private void putInMemory(String key, Entry entry) {
+        memory.put(key, entry);
+        memoryBytes += entry.content.length;
+        Iterator<Map.Entry<String, Entry>> iterator = memory.entrySet().iterator();
+        while (memoryBytes > maxMemoryBytes && iterator.hasNext()) {
+            Map.Entry<String, Entry> eldest = iterator.next();
+            iterator.remove();
+            memoryBytes -= eldest.getValue().content.length;
+            if (!eldest.getKey().equals(key)) {
+                putOnDisk(eldest.getKey(), eldest.getValue());
+            }
+        }
+    }
+
+    /**
+     * Store an entry on disk when a disk tier is configured, evicting the least recently used files while
+     * over the limit
+     *
+     * @param key   cache key
+     * @param entry content and ETag
+     */
+    private void putOnDisk(String key, Entry entry) {
+        if (diskDirectory.isEmpty() || entry.content.length > maxDiskBytes) {
+            return;
+        }
+        String fileName = getFileName(key);
+        try {
+            Files.createDirectories(diskDirectory.get());
+            Path data = diskDirectory.get().resolve(fileName + DATA_SUFFIX);
+            Path temp = diskDirectory.get().resolve(fileName + DATA_SUFFIX + ".tmp");
+            Files.write(temp, entry.content);
+            Files.writeString(diskDirectory.get().resolve(fileName + ETAG_SUFFIX), entry.etag, StandardCharsets.UTF_8);
+            Files.writeString(diskDirectory.get().resolve(fileName + KEY_SUFFIX), key, StandardCharsets.UTF_8);
+            Files.move(temp, data, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            LOG.debug("ZosDsnCache::putOnDisk - {} not stored {}", key, e.getMessage());
+            return;
+        }
+        Long previous = disk.put(fileName, (long) entry.content.length);
+        diskKeys.put(fileName, key);
+        diskBytes += entry.content.length - (previous == null ? 0 : previous);
+        Iterator<String> iterator = new ArrayList<>(disk.keySet()).iterator();
+        while (diskBytes > maxDiskBytes && iterator.hasNext()) {
+            String eldest = iterator.next();
+            if (!eldest.equals(fileName)) {
+                removeFromDisk(eldest);
+            }
+        }
+    }
+
+    /**
+     * Remove an entry from both tiers
+     *
+     * @param key cache key
+     */
+    private synchronized void remove(String key) {
+        Entry entry = memory.remove(key);
+        if (entry != null) {
+            memoryBytes -= entry.content.length;
+        }
+        if (diskDirectory.isPresent()) {
+            removeFromDisk(getFileName(key));
+        }
+    }
+
+    /**
+     * Remove a disk tier entry
+     *
+     * @param fileName file name of the entry without suffix
+     */
+    private void removeFromDisk(String fileName) {
+        Long size = disk.remove(fileName);
+        if (size != null) {
+            diskBytes -= size;
+        }
+        diskKeys.remove(fileName);
+        try {
+            Files.deleteIfExists(diskDirectory.get().resolve(fileName + DATA_SUFFIX));
+            Files.deleteIfExists(diskDirectory.get().resolve(fileName + ETAG_SUFFIX));
+            Files.deleteIfExists(diskDirectory.get().resolve(fileName + KEY_SUFFIX));
+        } catch (Exception e) {
+            LOG.debug("ZosDsnCache::removeFromDisk - {} {}", fileName, e.getMessage());
+        }
+    }
+
+    /**
+     * Index the entries left in the disk tier directory by a previous run, oldest first. An entry without its
+     * key file cannot be invalidated by dataset name and is deleted.
+     *
+     * @param directory disk tier directory
+     */
+    private void loadDiskIndex(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(f -> f.getFileName().toString().endsWith(DATA_SUFFIX))
+                    .sorted(Comparator.comparing(f -> f.toFile().lastModified()))
+                    .forEach(f -> {
+                        String name = f.getFileName().toString();
+                        String fileName = name.substring(0, name.length() - DATA_SUFFIX.length());
+                        long size = f.toFile().length();
+                        disk.put(fileName, size);
+                        diskBytes += size;
+                        try {
+                            diskKeys.put(fileName, Files.readString(directory.resolve(fileName + KEY_SUFFIX),
+                                    StandardCharsets.UTF_8));
+                        } catch (Exception e) {
+                            LOG.debug("ZosDsnCache::loadDiskIndex - {} has no key {}", fileName, e.getMessage());
+                            removeFromDisk(fileName);
+                        }
+                    });
+        } catch (Exception e) {
+            LOG.debug("ZosDsnCache::loadDiskIndex - {} {}", directory, e.getMessage());
+        }
+    }
+
+    /**
+     * Build the cache key, the same dataset downloaded in different modes is cached separately
+     *
+     * @param dataSetName dataset or member name
+     * @param params      download params parameters
+     * @return cache key
+     */
+    private static String getKey(String dataSetName, DownloadParams params) {
+        return dataSetName.toUpperCase(Locale.ROOT) + "|" + params.getVolume().orElse("") + "|" +
+                params.getBinary().orElse(false) + "|" + params.getRecord().orElse(false) + "|" +
+                params.getEncoding().map(String::valueOf).orElse("");
+    }
+
+    /**
+     * Build the disk tier file name of a cache key
+     *
+     * @param key cache key
+     * @return file name without suffix
+     */
+    private static String getFileName(String key) {
+        return Hashing.sha256().hashString(key, StandardCharsets.UTF_8).toString();
+    }
+
+}
@@ -21,9 +21,12 @@ import utility.Util;
 import utility.UtilDataset;
 import utility.UtilRest;
 import zosfiles.input.CopyParams;
+import zosfiles.input.ListParams;
+import zosfiles.response.TransferResult;
+import zosfiles.response.TransferSummary;
 
-import java.util.Arrays;
-import java.util.HashMap;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Provides copy dataset and dataset member functionality
@@ -82,9 +85,10 @@ public class ZosDsnCopy {
         try {
             UtilRest.checkHttpErrors(response);
         } catch (Exception e) {
-            UtilDataset.checkHttpErrors(e.getMessage(), Arrays.asList(toDataSet, fromDataSet), UtilDataset.Operation.copy);
+            UtilDataset.checkHttpErrors(e, Arrays.asList(toDataSet, fromDataSet), UtilDataset.Operation.copy);
         }
 
+        CatalogCache.invalidate(connection, toDataSet);
         return response;
     }
 
@@ -118,6 +122,207 @@ public class ZosDsnCopy {
                 .build());
     }
 
+    /**
+     * Copy the members of a partitioned dataset matching a pattern to another partitioned dataset. Each member
+     * is copied by its own server side copy request with up to maxConcurrentRequests of them in flight.
+     * <p>
+     * When replace is false the members already present in the target are not copied and are reported as
+     * failed results. A copy failing with ENQ contention on the target is retried, see DatasetScheduler.
+     *
+     * @param fromDataSetName       source partitioned dataset (e.g. 'SOURCE.LIB')
+     * @param toDataSetName         target partitioned dataset (e.g. 'TARGET.LIB')
+     * @param pattern               member pattern, e.g. "ABC*", null for all members
+     * @param replace               if true members in the target dataset are replaced
+     * @param maxConcurrentRequests maximum number of copy requests to run at once
+     * @return summary holding a result per member
+     * @throws Exception error listing the members
+     */
+    public TransferSummary copyMembers(String fromDataSetName, String toDataSetName, String pattern, boolean replace,
+                                       int maxConcurrentRequests) throws Exception {
+        Util.checkNullParameter(fromDataSetName == null, "fromDataSetName is null");
+        Util.checkIllegalParameter(fromDataSetName.isEmpty(), "fromDataSetName not specified");
+        List<String> members = new ZosDsnList(connection)
+                .listDsnMembers(fromDataSetName, new ListParams.Builder().pattern(pattern).build());
+        return copyMembers(fromDataSetName, toDataSetName, members, replace, maxConcurrentRequests);
+    }
+
+    /**
+     * Copy the given members of a partitioned dataset to another partitioned dataset. Each member is copied by
+     * its own server side copy request with up to maxConcurrentRequests of them in flight.
+     * <p>
+     * When replace is false the members already present in the target are not copied and are reported as
+     * failed results. A copy failing with ENQ contention on the target is retried, see DatasetScheduler.
+     *
+     * @param fromDataSetName       source partitioned dataset (e.g. 'SOURCE.LIB')
+     * @param toDataSetName         target partitioned dataset (e.g. 'TARGET.LIB')
+     * @param members               member names to copy
+     * @param replace               if true members in the target dataset are replaced
+     * @param maxConcurrentRequests maximum number of copy requests to run at once
+     * @return summary holding a result per member in the given order
+     * @throws Exception error listing the target members
+     */
+    public TransferSummary copyMembers(String fromDataSetName, String toDataSetName, List<String> members,
+                                       boolean replace, int maxConcurrentRequests) throws Exception {
+        return copyMembers(fromDataSetName, toDataSetName, members, replace, maxConcurrentRequests,
+                maxConcurrentRequests);
+    }
+
+    /**
+     * Copy the given members of a partitioned dataset to another partitioned dataset with at most maxPerDataset
+     * copy requests in flight on the target. The members share the directory and ENQ of the target, lower
+     * maxPerDataset when many copies fail with ENQ contention.
+     * <p>
+     * When replace is false the members already present in the target are not copied and are reported as
+     * failed results. A copy failing with ENQ contention on the target is retried, see DatasetScheduler.
+     *
+     * @param fromDataSetName       source partitioned dataset (e.g. 'SOURCE.LIB')
+     * @param toDataSetName         target partitioned dataset (e.g. 'TARGET.LIB')
+     * @param members               member names to copy
+     * @param replace               if true members in the target dataset are replaced
+     * @param maxConcurrentRequests maximum number of copy requests to run at once
+     * @param maxPerDataset         maximum number of copy requests in flight on the target, 1 serializes them
+     * @return summary holding a result per member in the given order
+     * @throws Exception error listing the target members
+     */
+    public TransferSummary copyMembers(String fromDataSetName, String toDataSetName, List<String> members,
+                                       boolean replace, int maxConcurrentRequests, int maxPerDataset)
+            throws Exception {
+        Util.checkNullParameter(fromDataSetName == null, "fromDataSetName is null");
+        Util.checkIllegalParameter(fromDataSetName.isEmpty(), "fromDataSetName not specified");
+        Util.checkNullParameter(toDataSetName == null, "toDataSetName is null");
+        Util.checkIllegalParameter(toDataSetName.isEmpty(), "toDataSetName not specified");
+        Util.checkNullParameter(members == null, "members is null");
+        long start = System.nanoTime();
+
+        Set<String> existing = new HashSet<>();
+        if (!replace && !members.isEmpty()) {
+            existing.addAll(new ZosDsnList(connection).listDsnMembers(toDataSetName, new ListParams.Builder().build()));
+        }
+
+        List<CopyParams> copies = new ArrayList<>();
+        for (String member : members) {
+            String from = String.format("%s(%s)", fromDataSetName, member);
+            String to = String.format("%s(%s)", toDataSetName, member);
+            CopyParams params = new CopyParams.Builder().fromDataSet(from).toDataSet(to).replace(replace).build();
+            // a null entry marks a member not to copy
+            copies.add(existing.contains(member.toUpperCase(Locale.ROOT)) ? null : params);
+        }
+        LOG.debug("ZosDsnCopy::copyMembers - {} members, {} exist in target", members.size(), existing.size());
+
+        List<TransferResult> results = runCopies(copies, maxConcurrentRequests, maxPerDataset);
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i) == null) {
+                String member = members.get(i);
+                results.set(i, new TransferResult.Builder()
+                        .name(String.format("%s(%s)", toDataSetName, member))
+                        .file(String.format("%s(%s)", fromDataSetName, member))
+                        .error(new Exception("member " + member + " exists in " + toDataSetName +
+                                " and replace is false"))
+                        .build());
+            }
+        }
+        return new TransferSummary(results, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Copy many datasets at once. Each pair is copied by its own server side copy request with at most
+     * maxConcurrentRequests of them in flight, a partitioned dataset is copied with all its members. A copy
+     * failing with ENQ contention on its target is retried, see DatasetScheduler.
+     *
+     * @param pairs                 source dataset names mapped to their target dataset names
+     * @param replace               if true existing targets or target members are replaced
+     * @param maxConcurrentRequests maximum number of copy requests to run at once
+     * @return summary holding a result per pair in the iteration order of the map
+     * @throws Exception error running the copy requests
+     */
+    public TransferSummary copyDatasets(Map<String, String> pairs, boolean replace, int maxConcurrentRequests)
+            throws Exception {
+        Util.checkNullParameter(pairs == null, "pairs is null");
+        long start = System.nanoTime();
+
+        List<CopyParams> copies = new ArrayList<>();
+        for (Map.Entry<String, String> pair : pairs.entrySet()) {
+            copies.add(new CopyParams.Builder()
+                    .fromDataSet(pair.getKey())
+                    .toDataSet(pair.getValue())
+                    .replace(replace)
+                    .build());
+        }
+
+        List<TransferResult> results = runCopies(copies, maxConcurrentRequests,
+                DatasetScheduler.DEFAULT_MAX_PER_DATASET);
+        return new TransferSummary(results, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Run the copy requests on a DatasetScheduler keyed by their target, a copy failing with ENQ contention is
+     * retried by the scheduler. A source without member which is a partitioned dataset is copied with all its
+     * members.
+     *
+     * @param copies                copy parameters, null entries are skipped
+     * @param maxConcurrentRequests maximum number of copy requests to run at once
+     * @param maxPerDataset         maximum number of copy requests in flight per target dataset
+     * @return result per entry in the given order named by the target and holding the source as file, null for
+     * a skipped entry
+     * @throws Exception execution was interrupted
+     */
+    private List<TransferResult> runCopies(List<CopyParams> copies, int maxConcurrentRequests, int maxPerDataset)
+            throws Exception {
+        List<CompletableFuture<TransferResult>> futures = new ArrayList<>();
+        try (DatasetScheduler scheduler = new DatasetScheduler(maxConcurrentRequests, maxPerDataset)) {
+            for (CopyParams params : copies) {
+                futures.add(params == null ? null :
+                        scheduler.submit(params.getToDataSet().orElse(""), () -> copy(getFullCopyParams(params))));
+            }
+        }
+        List<TransferResult> results = new ArrayList<>();
+        for (int i = 0; i < copies.size(); i++) {
+            if (futures.get(i) == null) {
+                results.add(null);
+                continue;
+            }
+            TransferResult result = futures.get(i).get();
+            results.add(new TransferResult.Builder()
+                    .name(result.getName().orElse(""))
+                    .file(copies.get(i).getFromDataSet().orElse(""))
+                    .elapsedMillis(result.getElapsedMillis())
+                    .error(result.getError().orElse(null))
+                    .build());
+        }
+        return results;
+    }
+
+    /**
+     * Copy parameters copying all members when the source is a partitioned dataset without member
+     *
+     * @param params copy parameters
+     * @return copy parameters to send
+     * @throws Exception error retrieving the dataset information
+     */
+    private CopyParams getFullCopyParams(CopyParams params) throws Exception {
+        String from = params.getFromDataSet().orElse("");
+        if (from.contains("(") || !isPartitioned(from)) {
+            return params;
+        }
+        return new CopyParams.Builder()
+                .fromDataSet(from)
+                .toDataSet(params.getToDataSet().orElse(""))
+                .replace(params.isReplace())
+                .copyAllMembers(true)
+                .build();
+    }
+
+    /**
+     * Is the dataset partitioned
+     *
+     * @param dataSetName dataset name
+     * @return boolean true if the dataset organization is PO
+     * @throws Exception error retrieving the dataset information
+     */
+    private boolean isPartitioned(String dataSetName) throws Exception {
+        return new ZosDsn(connection).getDataSetInfo(dataSetName).getDsorg().orElse("").startsWith("PO");
+    }
+
     /**
      * Build the Json body for the copy request
      *
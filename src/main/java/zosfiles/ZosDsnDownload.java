@@ -10,18 +10,43 @@
 package zosfiles;
 
 import core.ZOSConnection;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import rest.*;
+import utility.TransferDigest;
 import utility.Util;
 import utility.UtilDataset;
 import utility.UtilFiles;
 import utility.UtilRest;
 import zosfiles.input.DownloadParams;
+import zosfiles.input.ListParams;
+import zosfiles.response.Dataset;
+import zosfiles.response.TransferResult;
+import zosfiles.response.TransferSummary;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
-import java.util.Arrays;
-import java.util.Map;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 /**
  * ZosDsnDownload class that provides download DataSet function
@@ -33,6 +58,36 @@ public class ZosDsnDownload {
 
     private static final Logger LOG = LogManager.getLogger(ZosDsnDownload.class);
 
+    /**
+     * Maximum number of bytes moved by a single FileChannel.transferFrom call
+     */
+    private static final long TRANSFER_CHUNK_SIZE = 8L * 1024 * 1024;
+
+    /**
+     * Smallest number of records requested by a single range when splitting a download
+     */
+    private static final long MIN_RANGE_RECORDS = 50_000;
+
+    /**
+     * Size of a tar header and of the blocks tar content is padded to
+     */
+    private static final int TAR_BLOCK_SIZE = 512;
+
+    /**
+     * A downloaded member waiting to be written to an archive
+     */
+    private static class ArchiveEntry {
+
+        private final TransferResult result;
+        private final byte[] content;
+
+        private ArchiveEntry(TransferResult result, byte[] content) {
+            this.result = result;
+            this.content = content;
+        }
+
+    }
+
     private final ZOSConnection connection;
 
     /**
@@ -47,7 +102,8 @@ public class ZosDsnDownload {
     }
 
     /**
-     * Downloads a sequential dataset or dataset member content
+     * Downloads a sequential dataset or dataset member content. The content is transferred as BULK unless the
+     * params set another priority, see BandwidthLimiter.
      *
      * @param dataSetName name of a sequential dataset e.g. DATASET.SEQ.DATA
      *                    or a dataset member e.g. DATASET.LIB(MEMBER))
@@ -57,6 +113,398 @@ public class ZosDsnDownload {
      * @author Nikunj Goyal
      */
     public InputStream downloadDsn(String dataSetName, DownloadParams params) throws Exception {
+        Response response = getDownloadResponse(dataSetName, params, new HashMap<>());
+        if (response.isEmpty())
+            return null;
+
+        return (InputStream) response.getResponsePhrase().orElse(null);
+    }
+
+    /**
+     * Downloads a sequential dataset or dataset member content straight into a local file.
+     * <p>
+     * Bytes are moved from the response channel to the file channel with FileChannel.transferFrom instead of
+     * being copied through an intermediate byte array. When the server reports the content length the file
+     * is preallocated to that size up front and truncated to the actual size at the end. The digests set by
+     * the params are computed as the content flows to the file. The content is transferred as BULK unless the
+     * params set another priority, see BandwidthLimiter.
+     *
+     * @param dataSetName name of a sequential dataset e.g. DATASET.SEQ.DATA
+     *                    or a dataset member e.g. DATASET.LIB(MEMBER))
+     * @param file        local file to write, it is replaced if it exists
+     * @param params      download params parameters, see DownloadParams object
+     * @return transfer result holding the number of bytes written, the digests and the time taken
+     * @throws Exception error processing request
+     */
+    public TransferResult downloadDsnToFile(String dataSetName, Path file, DownloadParams params) throws Exception {
+        Util.checkNullParameter(file == null, "file is null");
+        long start = System.nanoTime();
+
+        Response response = getDownloadResponse(dataSetName, params, new HashMap<>());
+        TransferDigest digest = new TransferDigest(params.getDigests().orElse(Set.of()));
+        long bytes = writeToFile(response, file, digest);
+
+        TransferResult result = new TransferResult.Builder()
+                .name(dataSetName)
+                .file(file.toString())
+                .bytes(bytes)
+                .etag(response.getHeader("ETag").orElse(null))
+                .digests(digest.getDigests())
+                .elapsedMillis((System.nanoTime() - start) / 1_000_000)
+                .build();
+        LOG.debug(result);
+        return result;
+    }
+
+    /**
+     * Downloads a sequential dataset or dataset member content into a local file, resuming an interrupted
+     * transfer instead of starting over.
+     * <p>
+     * Progress is saved by complete record in a checkpoint file next to the target file. A failure such as a
+     * network error or z/OSMF restart is resumed with a record range request starting at the first missing
+     * record, either within this call or by calling it again after the process restarted. The ETag of the
+     * dataset is recorded when the transfer starts and verified on resume, if the dataset changed in the
+     * meantime the transfer starts from the beginning. Record ranges are only supported in text mode.
+     *
+     * @param dataSetName name of a sequential dataset e.g. DATASET.SEQ.DATA
+     *                    or a dataset member e.g. DATASET.LIB(MEMBER))
+     * @param file        local file to write
+     * @param params      download params parameters, see DownloadParams object
+     * @return transfer result holding the size of the completed file
+     * @throws Exception error processing request
+     */
+    public TransferResult downloadDsnResumable(String dataSetName, Path file, DownloadParams params)
+            throws Exception {
+        Util.checkNullParameter(params == null, "params is null");
+        Util.checkNullParameter(dataSetName == null, "dataSetName is null");
+        Util.checkIllegalParameter(dataSetName.isEmpty(), "dataSetName not specified");
+        Util.checkNullParameter(file == null, "file is null");
+        Util.checkIllegalParameter(params.getBinary().orElse(false) || params.getRecord().orElse(false),
+                "resume is only supported in text mode");
+
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        TransferResult result = UtilFiles.downloadResumable(dataSetName, file,
+                headers -> getDownloadResponse(dataSetName, params, headers), true,
+                params.getDigests().orElse(Set.of()));
+        LOG.debug(result);
+        return result;
+    }
+
+    /**
+     * Downloads a large sequential dataset into a local file by splitting it into record ranges that are
+     * retrieved concurrently and reassembled in order.
+     * <p>
+     * The range size is derived from the dataset's used and size attributes as returned by ZosDsnList and
+     * the maxConcurrentRequests value. Because those attributes only give an estimate, further ranges are
+     * requested until one comes back empty so no record is missed. Each range is staged in a temporary file
+     * next to the target. Datasets estimated to be smaller than a single range fall back to downloadDsnToFile.
+     * Record ranges are only supported by z/OSMF in text and record mode, binary mode is rejected. The digests
+     * set by the params are computed while the ranges are reassembled.
+     *
+     * @param dataSetName name of a sequential dataset e.g. DATASET.SEQ.DATA
+     * @param file        local file to write, it is replaced if it exists
+     * @param params      download params parameters, see DownloadParams object
+     * @return transfer result holding the number of bytes written and the time taken
+     * @throws Exception error processing request
+     */
+    public TransferResult downloadDsnByRanges(String dataSetName, Path file, DownloadParams params) throws Exception {
+        return downloadDsnByRanges(dataSetName, file, params, null);
+    }
+
+    /**
+     * Downloads a large sequential dataset into a local file by record ranges, see downloadDsnByRanges
+     *
+     * @param dataSetName name of a sequential dataset e.g. DATASET.SEQ.DATA
+     * @param file        local file to write, it is replaced if it exists
+     * @param params      download params parameters, see DownloadParams object
+     * @param permits     request permits shared with other downloads, each request holds one while it runs,
+     *                    null for no shared limit
+     * @return transfer result holding the number of bytes written and the time taken
+     * @throws Exception error processing request
+     */
+    private TransferResult downloadDsnByRanges(String dataSetName, Path file, DownloadParams params,
+                                               Semaphore permits) throws Exception {
+        Util.checkNullParameter(file == null, "file is null");
+        long start = System.nanoTime();
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+
+        long bytes = 0;
+        List<Path> parts = downloadRanges(dataSetName, parent, params, permits);
+        if (parts.isEmpty()) {
+            return callWithPermit(permits, () -> downloadDsnToFile(dataSetName, file, params));
+        }
+        TransferDigest digest = new TransferDigest(params.getDigests().orElse(Set.of()));
+        try (FileChannel target = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Path part : parts) {
+                try (FileChannel source = FileChannel.open(part, StandardOpenOption.READ)) {
+                    long size = source.size();
+                    if (digest.isEnabled()) {
+                        // the parts are digested in order while they are copied
+                        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+                        while (source.read(buffer) > 0) {
+                            buffer.flip();
+                            digest.update(buffer.duplicate());
+                            while (buffer.hasRemaining()) {
+                                target.write(buffer);
+                            }
+                            buffer.clear();
+                        }
+                    } else {
+                        long position = 0;
+                        while (position < size) {
+                            position += source.transferTo(position, size - position, target);
+                        }
+                    }
+                    bytes += size;
+                }
+            }
+        } finally {
+            deleteParts(parts);
+        }
+
+        TransferResult result = new TransferResult.Builder()
+                .name(dataSetName)
+                .file(file.toString())
+                .bytes(bytes)
+                .digests(digest.getDigests())
+                .elapsedMillis((System.nanoTime() - start) / 1_000_000)
+                .build();
+        LOG.debug(result);
+        return result;
+    }
+
+    /**
+     * Downloads a large sequential dataset into an output stream by splitting it into record ranges that are
+     * retrieved concurrently and written to the stream in order, see downloadDsnByRanges for the file variant.
+     *
+     * @param dataSetName name of a sequential dataset e.g. DATASET.SEQ.DATA
+     * @param outputStream stream to write the content to, it is not closed
+     * @param params       download params parameters, see DownloadParams object
+     * @return number of bytes written
+     * @throws Exception error processing request
+     */
+    public long downloadDsnByRanges(String dataSetName, OutputStream outputStream, DownloadParams params)
+            throws Exception {
+        Util.checkNullParameter(outputStream == null, "outputStream is null");
+
+        List<Path> parts = downloadRanges(dataSetName, Paths.get(System.getProperty("java.io.tmpdir")), params,
+                null);
+        if (parts.isEmpty()) {
+            try (InputStream inputStream = downloadDsn(dataSetName, params)) {
+                return inputStream == null ? 0 : inputStream.transferTo(outputStream);
+            }
+        }
+        long bytes = 0;
+        try {
+            for (Path part : parts) {
+                bytes += Files.copy(part, outputStream);
+            }
+        } finally {
+            deleteParts(parts);
+        }
+        return bytes;
+    }
+
+    /**
+     * Retrieve the record ranges of a dataset concurrently into temporary part files
+     *
+     * @param dataSetName name of a sequential dataset
+     * @param directory   directory the part files are created in
+     * @param params      download params parameters
+     * @param permits     request permits shared with other downloads, null for no shared limit
+     * @return ordered list of part files or empty list if the dataset is too small to split
+     * @throws Exception error processing request
+     */
+    private List<Path> downloadRanges(String dataSetName, Path directory, DownloadParams params, Semaphore permits)
+            throws Exception {
+        Util.checkNullParameter(params == null, "params is null");
+        Util.checkNullParameter(dataSetName == null, "dataSetName is null");
+        Util.checkIllegalParameter(dataSetName.isEmpty(), "dataSetName not specified");
+        Util.checkIllegalParameter(params.getBinary().orElse(false), "record ranges are not supported in binary mode");
+
+        ListParams.Builder listParams = new ListParams.Builder().attribute(UtilDataset.Attribute.BASE);
+        params.getVolume().ifPresent(listParams::volume);
+        long estimate = callWithPermit(permits,
+                () -> new ZosDsnList(connection).listDsn(dataSetName, listParams.build())).stream()
+                .filter(d -> dataSetName.equalsIgnoreCase(d.getDsname().orElse("")))
+                .findFirst()
+                .map(UtilDataset::estimateRecordCount)
+                .orElse(0L);
+
+        int concurrency = Math.max(params.getMaxConcurrentRequests().orElse(1), 1);
+        long rangeSize = Math.max((estimate + concurrency - 1) / concurrency, MIN_RANGE_RECORDS);
+        if (estimate <= rangeSize) {
+            return new ArrayList<>();
+        }
+        LOG.debug("ZosDsnDownload::downloadRanges - {} estimated {} records, range size {}",
+                dataSetName, estimate, rangeSize);
+
+        List<Path> parts = new ArrayList<>();
+        try {
+            long nextRecord = 0;
+            int batchSize = (int) Math.max((estimate + rangeSize - 1) / rangeSize, concurrency);
+            boolean endReached = false;
+            while (!endReached) {
+                List<Callable<TransferResult>> tasks = new ArrayList<>();
+                for (int i = 0; i < batchSize; i++) {
+                    Path part = Files.createTempFile(directory, ".zowe-range-", ".part");
+                    parts.add(part);
+                    Callable<TransferResult> task = getRangeTask(dataSetName, part, nextRecord, rangeSize, params);
+                    tasks.add(() -> callWithPermit(permits, task));
+                    nextRecord += rangeSize;
+                }
+                for (TransferResult result : UtilFiles.runConcurrently(tasks, concurrency, true)) {
+                    // an empty range means the end of the dataset was passed
+                    if (result.getBytes() == 0) {
+                        endReached = true;
+                    }
+                }
+                // estimate was too low, keep going one range per request slot
+                batchSize = concurrency;
+            }
+        } catch (Exception e) {
+            deleteParts(parts);
+            throw e;
+        }
+        return parts;
+    }
+
+    /**
+     * Build a task retrieving a single record range into a part file
+     *
+     * @param dataSetName name of a sequential dataset
+     * @param part        part file to write
+     * @param firstRecord zero based first record of the range
+     * @param count       number of records in the range
+     * @param params      download params parameters
+     * @return range download task
+     */
+    private Callable<TransferResult> getRangeTask(String dataSetName, Path part, long firstRecord, long count,
+                                                  DownloadParams params) {
+        return () -> {
+            long start = System.nanoTime();
+            TransferResult.Builder result = new TransferResult.Builder()
+                    .name(String.format("%s[%d,%d]", dataSetName, firstRecord, count))
+                    .file(part.toString());
+            try {
+                Map<String, String> headers = new HashMap<>();
+                headers.put(ZosmfHeaders.HEADERS.get("X_IBM_RECORD_RANGE").get(0), firstRecord + "," + count);
+                result.bytes(writeToFile(getDownloadResponse(dataSetName, params, headers), part,
+                        new TransferDigest(Set.of())));
+            } catch (Exception e) {
+                result.error(e);
+            }
+            return result.elapsedMillis((System.nanoTime() - start) / 1_000_000).build();
+        };
+    }
+
+    /**
+     * Run a call holding one of the shared request permits
+     *
+     * @param permits request permits, null to run the call at once
+     * @param call    call to run
+     * @param <T>     result type
+     * @return result of the call
+     * @throws Exception error of the call or interrupted while waiting for a permit
+     */
+    private static <T> T callWithPermit(Semaphore permits, Callable<T> call) throws Exception {
+        if (permits == null) {
+            return call.call();
+        }
+        permits.acquire();
+        try {
+            return call.call();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Delete temporary part files ignoring any error
+     *
+     * @param parts part files
+     */
+    private static void deleteParts(List<Path> parts) {
+        for (Path part : parts) {
+            try {
+                Files.deleteIfExists(part);
+            } catch (Exception e) {
+                LOG.debug("ZosDsnDownload::deleteParts - {} {}", part, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Move the content stream of a download response into a file using channel transfers. When the server
+     * reports the content length the file is preallocated and truncated to the actual size at the end.
+     *
+     * @param response download response
+     * @param file     local file to write, it is replaced if it exists
+     * @param digest   receives the content as it is written
+     * @return number of bytes written
+     * @throws Exception error writing the file
+     */
+    private static long writeToFile(Response response, Path file, TransferDigest digest) throws Exception {
+        long expectedSize = response.getHeader(HttpHeaders.CONTENT_LENGTH).map(Long::parseLong).orElse(-1L);
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        long position = 0;
+        InputStream inputStream = (InputStream) response.getResponsePhrase().orElse(InputStream.nullInputStream());
+        try (ReadableByteChannel source = Channels.newChannel(digest.wrap(inputStream));
+             FileChannel target = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            if (expectedSize > 0) {
+                target.write(ByteBuffer.wrap(new byte[1]), expectedSize - 1);
+            }
+            long count;
+            while ((count = target.transferFrom(source, position, TRANSFER_CHUNK_SIZE)) > 0) {
+                position += count;
+            }
+            target.truncate(position);
+        }
+        return position;
+    }
+
+    /**
+     * Conditionally downloads a sequential dataset or dataset member content. The ETag is always requested and
+     * when an etag value is given the request carries If-None-Match so z/OSMF answers HTTP 304 without content
+     * if the dataset did not change.
+     *
+     * @param dataSetName name of a sequential dataset or dataset member
+     * @param params      download params parameters
+     * @param etag        ETag of the content already held by the caller or null
+     * @return response object, status code 304 means the held content is still current
+     * @throws Exception error processing request
+     */
+    Response downloadDsnIfNoneMatch(String dataSetName, DownloadParams params, String etag) throws Exception {
+        Map<String, String> headers = new HashMap<>();
+        headers.put(ZosmfHeaders.HEADERS.get("X_IBM_RETURN_ETAG").get(0),
+                ZosmfHeaders.HEADERS.get("X_IBM_RETURN_ETAG").get(1));
+        if (etag != null) {
+            headers.put(ZosmfHeaders.HEADERS.get("IF_NONE_MATCH").get(0), etag);
+        }
+        return getDownloadResponse(dataSetName, params, headers);
+    }
+
+    /**
+     * Perform the download http request and check it for errors. The request runs with the priority of the
+     * params, BULK when not set, see BandwidthLimiter.
+     *
+     * @param dataSetName  name of a sequential dataset or dataset member
+     * @param params       download params parameters
+     * @param extraHeaders additional headers to send with the request
+     * @return response object holding the content stream and response headers
+     * @throws Exception error processing request
+     */
+    private Response getDownloadResponse(String dataSetName, DownloadParams params, Map<String, String> extraHeaders)
+            throws Exception {
         Util.checkNullParameter(params == null, "params is null");
         Util.checkNullParameter(dataSetName == null, "dataSetName is null");
         Util.checkIllegalParameter(dataSetName.isEmpty(), "dataSetName not specified");
@@ -78,22 +526,441 @@ public class ZosDsnDownload {
             value = ZosmfHeaders.HEADERS.get("X_IBM_RETURN_ETAG").get(1);
             headers.put(key, value);
         }
+        headers.putAll(extraHeaders);
 
         ZoweRequest request = ZoweRequestFactory.buildRequest(connection, url, null,
                 ZoweRequestType.VerbType.GET_STREAM);
         request.setHeaders(headers);
 
-        Response response = request.executeRequest();
+        Response response = BandwidthLimiter.callWithPriority(
+                params.getPriority().orElse(BandwidthLimiter.Priority.BULK), request::executeRequest);
         if (response.isEmpty())
-            return null;
+            return response;
+        // not modified is only returned for conditional requests and is not an error for those
+        if (response.getStatusCode().orElse(0) == HttpStatus.SC_NOT_MODIFIED)
+            return response;
 
         try {
             UtilRest.checkHttpErrors(response);
         } catch (Exception e) {
-            UtilDataset.checkHttpErrors(e.getMessage(), Arrays.asList(dataSetName), UtilDataset.Operation.download);
+            UtilDataset.checkHttpErrors(e, Arrays.asList(dataSetName), UtilDataset.Operation.download);
         }
 
-        return (InputStream) response.getResponsePhrase().orElse(null);
+        return response;
+    }
+
+    /**
+     * Downloads all members of a partitioned dataset to a local directory, one file per member.
+     * <p>
+     * Members are downloaded concurrently up to the maxConcurrentRequests value and each member is streamed
+     * straight to its file. When no directory is specified the dataset name is used with each qualifier as a
+     * sub directory, e.g. DATASET.LIB becomes dataset/lib. Files are named after the member followed by the
+     * extension, extensionMap entry of the last qualifier or ".txt" by default.
+     *
+     * @param dataSetName name of a partitioned dataset e.g. DATASET.LIB
+     * @param params      download params parameters, see DownloadParams object
+     * @return summary of all member downloads
+     * @throws Exception error processing request or first failure when failFast is true
+     */
+    public TransferSummary downloadAllMembers(String dataSetName, DownloadParams params) throws Exception {
+        Util.checkNullParameter(params == null, "params is null");
+        Util.checkNullParameter(dataSetName == null, "dataSetName is null");
+        Util.checkIllegalParameter(dataSetName.isEmpty(), "dataSetName not specified");
+
+        long start = System.nanoTime();
+        Path directory = Paths.get(params.getDirectory().orElse(getDataSetPath(dataSetName, params)));
+        List<Callable<TransferResult>> tasks =
+                getMemberTasks(dataSetName, directory, getExtension(dataSetName, params), params);
+        return runTasks(tasks, params, start);
+    }
+
+    /**
+     * Downloads all sequential and partitioned datasets matching a DSLEVEL pattern to a local directory.
+     * <p>
+     * A sequential dataset is written to a file named after the dataset and a partitioned dataset is written
+     * to a sub directory holding one file per member. Datasets matching excludePatterns, migrated datasets
+     * and VSAM datasets are skipped. All members and datasets share the same maxConcurrentRequests limit.
+     * <p>
+     * Sequential datasets are started first, largest first by the size estimated from their used and size
+     * attributes, so the long transfers overlap from the beginning and the members fill the remaining request
+     * slots. Outside binary mode a sequential dataset holding more than a single record range is downloaded with
+     * downloadDsnByRanges. Its ranges draw from the same maxConcurrentRequests budget as the other downloads,
+     * so no more than maxConcurrentRequests requests are in flight at any time.
+     *
+     * @param pattern DSLEVEL pattern of the datasets to download (e.g. 'IBMUSER.**.JCL')
+     * @param params  download params parameters, see DownloadParams object
+     * @return summary of all dataset and member downloads
+     * @throws Exception error processing request or first failure when failFast is true
+     */
+    public TransferSummary downloadDatasets(String pattern, DownloadParams params) throws Exception {
+        Util.checkNullParameter(params == null, "params is null");
+        Util.checkNullParameter(pattern == null, "pattern is null");
+        Util.checkIllegalParameter(pattern.isEmpty(), "pattern not specified");
+
+        long start = System.nanoTime();
+        ListParams.Builder listParams = new ListParams.Builder().attribute(UtilDataset.Attribute.BASE);
+        params.getVolume().ifPresent(listParams::volume);
+        List<Dataset> datasets = new ZosDsnList(connection).listDsn(pattern, listParams.build());
+
+        Path directory = Paths.get(params.getDirectory().orElse("."));
+        int maxConcurrentRequests = params.getMaxConcurrentRequests().orElse(1);
+        boolean byRanges = !params.getBinary().orElse(false) && maxConcurrentRequests > 1;
+        // every request, including the record ranges of a split dataset, holds one of these permits while it runs
+        Semaphore permits = maxConcurrentRequests > 0 ? new Semaphore(maxConcurrentRequests) : null;
+        List<Callable<TransferResult>> tasks = new ArrayList<>();
+        List<Long> sizes = new ArrayList<>();
+        for (Dataset dataset : datasets) {
+            String name = dataset.getDsname().orElse("");
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (params.getExcludePatterns().isPresent() &&
+                    UtilDataset.isDataSetMatch(name, params.getExcludePatterns().get())) {
+                LOG.debug("ZosDsnDownload::downloadDatasets - {} excluded", name);
+                continue;
+            }
+
+            String dsorg = dataset.getDsorg().orElse("");
+            String extension = getExtension(name, params);
+            if (dsorg.startsWith("PO")) {
+                List<Callable<TransferResult>> memberTasks =
+                        getMemberTasks(name, directory.resolve(getDataSetPath(name, params)), extension, params);
+                memberTasks.forEach(task -> tasks.add(() -> callWithPermit(permits, task)));
+                sizes.addAll(Collections.nCopies(memberTasks.size(), 0L));
+            } else if (dsorg.startsWith("PS")) {
+                Path file = directory.resolve(getFileName(name, params) + extension);
+                boolean split = byRanges && UtilDataset.estimateRecordCount(dataset) > MIN_RANGE_RECORDS;
+                tasks.add(split ? getDownloadTask(name, file, params, permits)
+                        : () -> callWithPermit(permits, getDownloadTask(name, file, params)));
+                sizes.add(UtilDataset.estimateBytes(dataset));
+            } else {
+                LOG.debug("ZosDsnDownload::downloadDatasets - {} with dsorg '{}' skipped", name, dsorg);
+            }
+        }
+
+        return runTasks(tasks, sizes, params, start);
+    }
+
+    /**
+     * Downloads all members of a partitioned dataset into a single ZIP or TAR archive written to a stream.
+     * <p>
+     * Members are downloaded concurrently up to the maxConcurrentRequests value, but written in member order by
+     * the calling thread, which also does the compression. Downloads run ahead of the writer by at most
+     * maxConcurrentRequests members, so no more than that many members are held in memory and no temporary
+     * files are used. Entries are named after the member followed by the extension as in downloadAllMembers.
+     * A member that fails to download aborts the archive when failFast is true, otherwise it is left out and
+     * reported in the summary.
+     *
+     * @param dataSetName  name of a partitioned dataset e.g. DATASET.LIB
+     * @param outputStream stream to write the archive to, it is flushed but not closed
+     * @param format       archive format, see UtilDataset.ArchiveFormat
+     * @param params       download params parameters, see DownloadParams object
+     * @return summary of all member downloads, the file value of each result is its entry name
+     * @throws Exception error processing request or first failure when failFast is true
+     */
+    public TransferSummary downloadPdsArchive(String dataSetName, OutputStream outputStream,
+                                              UtilDataset.ArchiveFormat format, DownloadParams params)
+            throws Exception {
+        Util.checkNullParameter(params == null, "params is null");
+        Util.checkNullParameter(format == null, "format is null");
+        Util.checkNullParameter(outputStream == null, "outputStream is null");
+        Util.checkNullParameter(dataSetName == null, "dataSetName is null");
+        Util.checkIllegalParameter(dataSetName.isEmpty(), "dataSetName not specified");
+        int window = params.getMaxConcurrentRequests().orElse(1);
+        Util.checkIllegalParameter(window < 1, "maxConcurrentRequests must be at least 1");
+        boolean failFast = params.getFailFast().orElse(true);
+
+        long start = System.nanoTime();
+        String extension = getExtension(dataSetName, params);
+        List<String> members = new ZosDsnList(connection).listDsnMembers(dataSetName, new ListParams.Builder().build());
+        LOG.debug("ZosDsnDownload::downloadPdsArchive - {} members of {}", members.size(), dataSetName);
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(window, members.size())));
+        ZipOutputStream zip = format == UtilDataset.ArchiveFormat.ZIP ? new ZipOutputStream(outputStream) : null;
+        List<TransferResult> results = new ArrayList<>();
+        try {
+            Deque<Future<ArchiveEntry>> inFlight = new ArrayDeque<>();
+            int submitted = 0;
+            for (int i = 0; i < members.size(); i++) {
+                while (submitted < members.size() && submitted < i + window) {
+                    String member = members.get(submitted++);
+                    String entryName = getFileName(member, params) + extension;
+                    inFlight.add(pool.submit(() -> BandwidthLimiter.callWithPriority(BandwidthLimiter.Priority.BULK,
+                            () -> getArchiveEntry(String.format("%s(%s)", dataSetName, member), entryName, params))));
+                }
+
+                ArchiveEntry entry = inFlight.poll().get();
+                results.add(entry.result);
+                if (!entry.result.isSuccess()) {
+                    if (failFast) {
+                        Exception error = entry.result.getError().get();
+                        throw new Exception(String.format("transfer of '%s' failed: %s",
+                                entry.result.getName().orElse(""), error.getMessage()), error);
+                    }
+                    continue;
+                }
+
+                String entryName = entry.result.getFile().orElse("");
+                if (zip != null) {
+                    zip.putNextEntry(new ZipEntry(entryName));
+                    zip.write(entry.content);
+                    zip.closeEntry();
+                } else {
+                    writeTarEntry(outputStream, entryName, entry.content);
+                }
+            }
+
+            if (zip != null) {
+                zip.finish();
+            } else {
+                outputStream.write(new byte[TAR_BLOCK_SIZE * 2]);
+            }
+            outputStream.flush();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        TransferSummary summary = new TransferSummary(results, (System.nanoTime() - start) / 1_000_000);
+        LOG.debug(summary);
+        return summary;
+    }
+
+    /**
+     * Download a member into memory for an archive. Any failure is captured in the returned result instead of
+     * being thrown.
+     *
+     * @param name      member name e.g. DATASET.LIB(MEMBER)
+     * @param entryName name of the archive entry
+     * @param params    download params parameters
+     * @return member content and transfer result
+     */
+    private ArchiveEntry getArchiveEntry(String name, String entryName, DownloadParams params) {
+        long start = System.nanoTime();
+        TransferResult.Builder result = new TransferResult.Builder().name(name).file(entryName);
+        byte[] content = new byte[0];
+        try {
+            InputStream inputStream = downloadDsn(name, params);
+            if (inputStream != null) {
+                try (InputStream in = inputStream) {
+                    content = in.readAllBytes();
+                }
+            }
+            TransferDigest digest = new TransferDigest(params.getDigests().orElse(Set.of()));
+            digest.update(content, 0, content.length);
+            result.bytes(content.length).digests(digest.getDigests());
+        } catch (Exception e) {
+            LOG.debug("ZosDsnDownload::getArchiveEntry - {} failed {}", name, e.getMessage());
+            result.error(e);
+        }
+        return new ArchiveEntry(result.elapsedMillis((System.nanoTime() - start) / 1_000_000).build(), content);
+    }
+
+    /**
+     * Write a regular file entry in POSIX ustar format, a header block followed by the content padded to a
+     * whole number of blocks
+     *
+     * @param outputStream archive stream
+     * @param name         entry name, at most 100 bytes
+     * @param content      entry content
+     * @throws IOException error writing the stream
+     */
+    private static void writeTarEntry(OutputStream outputStream, String name, byte[] content) throws IOException {
+        byte[] header = new byte[TAR_BLOCK_SIZE];
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        Util.checkIllegalParameter(nameBytes.length > 100, "tar entry name too long " + name);
+        System.arraycopy(nameBytes, 0, header, 0, nameBytes.length);
+        putTarField(header, 100, 8, "0000644");
+        putTarField(header, 108, 8, "0000000");
+        putTarField(header, 116, 8, "0000000");
+        putTarField(header, 124, 12, String.format("%011o", content.length));
+        putTarField(header, 136, 12, String.format("%011o", System.currentTimeMillis() / 1000));
+        Arrays.fill(header, 148, 156, (byte) ' ');
+        header[156] = '0';
+        putTarField(header, 257, 6, "ustar");
+        putTarField(header, 263, 2, "00");
+
+        int checksum = 0;
+        for (byte b : header) {
+            checksum += b & 0xFF;
+        }
+        putTarField(header, 148, 6, String.format("%06o", checksum));
+        header[154] = 0;
+
+        outputStream.write(header);
+        outputStream.write(content);
+        int padding = (TAR_BLOCK_SIZE - content.length % TAR_BLOCK_SIZE) % TAR_BLOCK_SIZE;
+        outputStream.write(new byte[padding]);
+    }
+
+    private static void putTarField(byte[] header, int offset, int length, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(bytes, 0, header, offset, Math.min(bytes.length, length));
+    }
+
+    /**
+     * Build one download task per member of a partitioned dataset
+     *
+     * @param dataSetName name of a partitioned dataset
+     * @param directory   local directory the members are written to
+     * @param extension   file extension for each member
+     * @param params      download params parameters
+     * @return list of download tasks
+     * @throws Exception error listing the members
+     */
+    private List<Callable<TransferResult>> getMemberTasks(String dataSetName, Path directory, String extension,
+                                                          DownloadParams params) throws Exception {
+        List<String> members = new ZosDsnList(connection).listDsnMembers(dataSetName, new ListParams.Builder().build());
+        List<Callable<TransferResult>> tasks = new ArrayList<>();
+        for (String member : members) {
+            String name = String.format("%s(%s)", dataSetName, member);
+            tasks.add(getDownloadTask(name, directory.resolve(getFileName(member, params) + extension), params));
+        }
+        return tasks;
+    }
+
+    /**
+     * Build a task that streams a sequential dataset or member to a local file. Any failure is captured in the
+     * returned TransferResult instead of being thrown.
+     *
+     * @param dataSetName name of a sequential dataset or dataset member
+     * @param file        local file to write
+     * @param params      download params parameters
+     * @return download task
+     */
+    private Callable<TransferResult> getDownloadTask(String dataSetName, Path file, DownloadParams params) {
+        return getDownloadTask(dataSetName, file, params, false, null);
+    }
+
+    /**
+     * Build a task that downloads a sequential dataset to a local file split into record ranges, see
+     * downloadDsnByRanges. Any failure is captured in the returned TransferResult instead of being thrown.
+     *
+     * @param dataSetName name of a sequential dataset
+     * @param file        local file to write
+     * @param params      download params parameters
+     * @param permits     request permits the record ranges draw from, null for no shared limit
+     * @return download task
+     */
+    private Callable<TransferResult> getDownloadTask(String dataSetName, Path file, DownloadParams params,
+                                                     Semaphore permits) {
+        return getDownloadTask(dataSetName, file, params, true, permits);
+    }
+
+    /**
+     * Build a task that downloads a sequential dataset or member to a local file, optionally split into record
+     * ranges. Any failure is captured in the returned TransferResult instead of being thrown.
+     *
+     * @param dataSetName name of a sequential dataset or dataset member
+     * @param file        local file to write
+     * @param params      download params parameters
+     * @param byRanges    download with downloadDsnByRanges
+     * @param permits     request permits the record ranges draw from, null for no shared limit
+     * @return download task
+     */
+    private Callable<TransferResult> getDownloadTask(String dataSetName, Path file, DownloadParams params,
+                                                     boolean byRanges, Semaphore permits) {
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                return byRanges ? downloadDsnByRanges(dataSetName, file, params, permits)
+                        : downloadDsnToFile(dataSetName, file, params);
+            } catch (Exception e) {
+                LOG.debug("ZosDsnDownload::getDownloadTask - {} failed {}", dataSetName, e.getMessage());
+                return new TransferResult.Builder()
+                        .name(dataSetName)
+                        .file(file.toString())
+                        .elapsedMillis((System.nanoTime() - start) / 1_000_000)
+                        .error(e)
+                        .build();
+            }
+        };
+    }
+
+    /**
+     * Run the download tasks honoring the maxConcurrentRequests and failFast values
+     *
+     * @param tasks  download tasks
+     * @param params download params parameters
+     * @param start  System.nanoTime value when the bulk operation started
+     * @return summary of all downloads
+     * @throws Exception first failure when failFast is true
+     */
+    private TransferSummary runTasks(List<Callable<TransferResult>> tasks, DownloadParams params, long start)
+            throws Exception {
+        return runTasks(tasks, Collections.nCopies(tasks.size(), 0L), params, start);
+    }
+
+    /**
+     * Run the download tasks largest first honoring the maxConcurrentRequests and failFast values
+     *
+     * @param tasks  download tasks
+     * @param sizes  estimated size in bytes per task, 0 if unknown
+     * @param params download params parameters
+     * @param start  System.nanoTime value when the bulk operation started
+     * @return summary of all downloads
+     * @throws Exception first failure when failFast is true
+     */
+    private TransferSummary runTasks(List<Callable<TransferResult>> tasks, List<Long> sizes, DownloadParams params,
+                                     long start) throws Exception {
+        int maxConcurrentRequests = params.getMaxConcurrentRequests().orElse(1);
+        Util.checkIllegalParameter(maxConcurrentRequests < 0, "maxConcurrentRequests is negative");
+        // a value of 0 means no limit
+        if (maxConcurrentRequests == 0) {
+            maxConcurrentRequests = Math.max(tasks.size(), 1);
+        }
+
+        List<TransferResult> results = UtilFiles.runConcurrently(tasks, sizes, maxConcurrentRequests,
+                params.getFailFast().orElse(true));
+        TransferSummary summary = new TransferSummary(results, (System.nanoTime() - start) / 1_000_000);
+        LOG.debug(summary);
+        return summary;
+    }
+
+    /**
+     * Convert a dataset name to a relative directory path, one sub directory per qualifier
+     *
+     * @param dataSetName dataset name
+     * @param params      download params parameters
+     * @return relative directory path
+     */
+    private static String getDataSetPath(String dataSetName, DownloadParams params) {
+        return getFileName(dataSetName, params).replace(".", File.separator);
+    }
+
+    /**
+     * Generate a local file name honoring the preserveOriginalLetterCase value
+     *
+     * @param name   dataset or member name
+     * @param params download params parameters
+     * @return file name
+     */
+    private static String getFileName(String name, DownloadParams params) {
+        return params.getPreserveOriginalLetterCase().orElse(false) ? name : name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Determine the file extension for a dataset. An extensionMap entry matching the last qualifier takes
+     * precedence over the extension value which defaults to ".txt".
+     *
+     * @param dataSetName dataset name
+     * @param params      download params parameters
+     * @return file extension including the leading period or empty string
+     */
+    private static String getExtension(String dataSetName, DownloadParams params) {
+        String lastQualifier = dataSetName.substring(dataSetName.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        String extension = params.getExtension().orElse(".txt");
+        if (params.getExtensionMap().isPresent()) {
+            for (Map.Entry<String, String> entry : params.getExtensionMap().get().entrySet()) {
+                if (entry.getKey().toLowerCase(Locale.ROOT).equals(lastQualifier)) {
+                    extension = entry.getValue();
+                    break;
+                }
+            }
+        }
+        if (extension.isEmpty() || extension.startsWith(".")) {
+            return extension;
+        }
+        return "." + extension;
     }
 
 }
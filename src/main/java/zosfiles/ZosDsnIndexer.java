@@ -0,0 +1,495 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package zosfiles;
+
+import core.ZOSConnection;
+import org.apache.http.HttpStatus;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import rest.Response;
+import utility.Util;
+import utility.UtilDataset;
+import utility.UtilFiles;
+import zosfiles.input.DownloadParams;
+import zosfiles.input.ListParams;
+import zosfiles.response.Member;
+import zosfiles.response.SearchHit;
+import zosfiles.response.TransferResult;
+import zosfiles.response.TransferSummary;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Local persistent full-text index of partitioned dataset members.
+ * <p>
+ * Members are downloaded in parallel and kept in the index directory together with an inverted index of
+ * their trigrams and tokens. Updating the index lists the members with their ISPF statistics and only
+ * downloads the members that changed since the last update, members without statistics are revalidated
+ * with a conditional request on their ETag. Substring and token queries are answered from the index and
+ * the stored content without contacting z/OSMF. Queries ignore the case of ASCII letters.
+ * <p>
+ * The index is thread safe, queries may run while an update downloads members.
+ *
+ * @version 1.0
+ */
+public class ZosDsnIndexer {
+
+    private static final Logger LOG = LogManager.getLogger(ZosDsnIndexer.class);
+
+    private static final String INDEX_FILE = "index.dat";
+
+    private static final String CONTENT_DIRECTORY = "content";
+
+    private static final int INDEX_VERSION = 1;
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^a-z0-9#$@_-]+");
+
+    /**
+     * An indexed member
+     */
+    private static class Document implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String name;
+        private String token;
+        private String etag;
+        // keys of the postings holding the document, rebuilt from the postings on load
+        private transient Set<Long> trigramKeys = new HashSet<>();
+        private transient Set<String> tokenKeys = new HashSet<>();
+
+        private Document(String name) {
+            this.name = name;
+        }
+
+    }
+
+    /**
+     * Sorted list of document ids containing a trigram or token
+     */
+    private static class Postings implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private int[] ids = new int[4];
+        private int size;
+
+        private void add(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            ids[index] = id;
+            size++;
+        }
+
+        private void remove(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+                size--;
+            }
+        }
+
+        private Set<Integer> toSet() {
+            Set<Integer> set = new LinkedHashSet<>();
+            for (int i = 0; i < size; i++) {
+                set.add(ids[i]);
+            }
+            return set;
+        }
+
+    }
+
+    private final ZosDsnList list;
+
+    private final ZosDsnDownload download;
+
+    private final Path directory;
+
+    private ArrayList<Document> documents = new ArrayList<>();
+
+    private final Map<String, Integer> ids = new HashMap<>();
+
+    private HashMap<Long, Postings> trigrams = new HashMap<>();
+
+    private HashMap<String, Postings> tokens = new HashMap<>();
+
+    /**
+     * ZosDsnIndexer constructor, loads the index kept in the directory by a previous run
+     *
+     * @param connection connection information, see ZOSConnection object
+     * @param directory  directory holding the index, created if it does not exist
+     * @throws Exception error reading the index
+     */
+    public ZosDsnIndexer(ZOSConnection connection, Path directory) throws Exception {
+        Util.checkConnection(connection);
+        Util.checkNullParameter(directory == null, "directory is null");
+        this.list = new ZosDsnList(connection);
+        this.download = new ZosDsnDownload(connection);
+        this.directory = directory;
+        Files.createDirectories(directory.resolve(CONTENT_DIRECTORY));
+        load();
+    }
+
+    /**
+     * Bring the index of a partitioned dataset up to date. Only members changed since the last update are
+     * downloaded and members deleted from the dataset are removed from the index.
+     *
+     * @param dataSetName           partitioned dataset (e.g. 'DATASET.LIB')
+     * @param maxConcurrentRequests maximum number of downloads to run at once
+     * @return summary holding a result per downloaded or revalidated member
+     * @throws Exception error listing the members or writing the index
+     */
+    public TransferSummary update(String dataSetName, int maxConcurrentRequests) throws Exception {
+        Util.checkNullParameter(dataSetName == null, "dataSetName is null");
+        Util.checkIllegalParameter(dataSetName.isEmpty(), "dataSetName not specified");
+        long start = System.nanoTime();
+        String pds = dataSetName.toUpperCase(Locale.ROOT);
+
+        Map<String, Member> remote = new HashMap<>();
+        ListParams params = new ListParams.Builder().attribute(UtilDataset.Attribute.BASE).build();
+        for (Member member : list.listMembers(pds, params)) {
+            member.getMember().ifPresent(m -> remote.put(String.format("%s(%s)", pds, m), member));
+        }
+
+        // the index is not locked while the members download, as each download indexes under the lock
+        List<Callable<TransferResult>> tasks = new ArrayList<>();
+        synchronized (this) {
+            String prefix = pds + "(";
+            for (String name : new ArrayList<>(ids.keySet())) {
+                if (name.startsWith(prefix) && !remote.containsKey(name)) {
+                    remove(name);
+                }
+            }
+
+            for (Map.Entry<String, Member> entry : remote.entrySet()) {
+                String name = entry.getKey();
+                Optional<String> token = UtilDataset.getMemberChangeToken(entry.getValue());
+                Integer id = ids.get(name);
+                Document document = id == null ? null : documents.get(id);
+                if (document != null && token.isPresent() && token.get().equals(document.token)) {
+                    continue;
+                }
+                String etag = document != null && token.isEmpty() ? document.etag : null;
+                tasks.add(getIndexTask(name, token.orElse(null), etag));
+            }
+        }
+        LOG.debug("ZosDsnIndexer::update - {} members, {} to download", remote.size(), tasks.size());
+
+        List<TransferResult> results = UtilFiles.runConcurrently(tasks, maxConcurrentRequests, false);
+        save();
+        return new TransferSummary(results, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Find the lines of the indexed members containing a text
+     *
+     * @param text text to find, ASCII letters match regardless of their case
+     * @return hits ordered by member and line number
+     * @throws Exception error reading the stored content
+     */
+    public synchronized List<SearchHit> findSubstring(String text) throws Exception {
+        Util.checkNullParameter(text == null, "text is null");
+        Util.checkIllegalParameter(text.isEmpty(), "text not specified");
+        String query = text.toLowerCase(Locale.ROOT);
+
+        Set<Integer> candidates = null;
+        if (query.length() < 3) {
+            candidates = allDocuments();
+        } else {
+            for (int i = 0; i + 3 <= query.length(); i++) {
+                Postings postings = trigrams.get(trigram(query, i));
+                if (postings == null) {
+                    return new ArrayList<>();
+                }
+                candidates = intersect(candidates, postings);
+            }
+        }
+        return getHits(candidates, text, line -> line.contains(query));
+    }
+
+    /**
+     * Find the lines of the indexed members containing a token, a token is a run of letters, digits and the
+     * characters #$@_-
+     *
+     * @param token token to find, ASCII letters match regardless of their case
+     * @return hits ordered by member and line number
+     * @throws Exception error reading the stored content
+     */
+    public synchronized List<SearchHit> findToken(String token) throws Exception {
+        Util.checkNullParameter(token == null, "token is null");
+        Util.checkIllegalParameter(token.isEmpty(), "token not specified");
+        String query = token.toLowerCase(Locale.ROOT);
+        Postings postings = tokens.get(query);
+        if (postings == null) {
+            return new ArrayList<>();
+        }
+        return getHits(postings.toSet(), token, line -> Arrays.asList(TOKEN_SEPARATOR.split(line)).contains(query));
+    }
+
+    /**
+     * Retrieve the number of indexed members
+     *
+     * @return member count
+     */
+    public synchronized int getMemberCount() {
+        return ids.size();
+    }
+
+    /**
+     * Build the task downloading a member and indexing its content
+     *
+     * @param name  member name, e.g. DATASET.LIB(MEMBER)
+     * @param token change token of the member or null if it has no ISPF statistics
+     * @param etag  ETag of the indexed content for a conditional request, or null
+     * @return index task
+     */
+    private Callable<TransferResult> getIndexTask(String name, String token, String etag) {
+        return () -> {
+            long start = System.nanoTime();
+            TransferResult.Builder result = new TransferResult.Builder().name(name);
+            try {
+                Response response = download.downloadDsnIfNoneMatch(name, new DownloadParams.Builder().build(), etag);
+                if (response.getStatusCode().orElse(0) != HttpStatus.SC_NOT_MODIFIED) {
+                    byte[] content;
+                    try (InputStream inputStream = (InputStream) response.getResponsePhrase()
+                            .orElse(InputStream.nullInputStream())) {
+                        content = inputStream.readAllBytes();
+                    }
+                    index(name, token, response.getHeader("ETag").orElse(null), content);
+                    result.bytes(content.length).etag(response.getHeader("ETag").orElse(null));
+                }
+            } catch (Exception e) {
+                result.error(e);
+            }
+            return result.elapsedMillis((System.nanoTime() - start) / 1_000_000).build();
+        };
+    }
+
+    /**
+     * Store the content of a member and add its trigrams and tokens to the index
+     *
+     * @param name    member name
+     * @param token   change token of the member
+     * @param etag    ETag of the content
+     * @param content member content
+     * @throws Exception error writing the content
+     */
+    private synchronized void index(String name, String token, String etag, byte[] content) throws Exception {
+        Integer id = ids.get(name);
+        if (id == null) {
+            id = documents.size();
+            documents.add(new Document(name));
+            ids.put(name, id);
+        }
+        Document document = documents.get(id);
+        removePostings(document, id);
+        document.token = token;
+        document.etag = etag;
+        Files.write(getContentFile(id), content);
+
+        String text = new String(content, StandardCharsets.UTF_8).toLowerCase(Locale.ROOT);
+        for (String line : text.split("\r?\n")) {
+            for (int i = 0; i + 3 <= line.length(); i++) {
+                long key = trigram(line, i);
+                if (document.trigramKeys.add(key)) {
+                    trigrams.computeIfAbsent(key, k -> new Postings()).add(id);
+                }
+            }
+            for (String t : TOKEN_SEPARATOR.split(line)) {
+                if (!t.isEmpty() && document.tokenKeys.add(t)) {
+                    tokens.computeIfAbsent(t, k -> new Postings()).add(id);
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove a member from the index
+     *
+     * @param name member name
+     * @throws Exception error deleting the content
+     */
+    private synchronized void remove(String name) throws Exception {
+        Integer id = ids.remove(name);
+        if (id == null) {
+            return;
+        }
+        removePostings(documents.get(id), id);
+        documents.set(id, null);
+        Files.deleteIfExists(getContentFile(id));
+    }
+
+    /**
+     * Remove a member from the postings of its trigrams and tokens only, so the cost does not grow with the
+     * size of the index
+     *
+     * @param document indexed member
+     * @param id       id of the member
+     */
+    private void removePostings(Document document, int id) {
+        for (long key : document.trigramKeys) {
+            Postings postings = trigrams.get(key);
+            postings.remove(id);
+            if (postings.size == 0) {
+                trigrams.remove(key);
+            }
+        }
+        for (String key : document.tokenKeys) {
+            Postings postings = tokens.get(key);
+            postings.remove(id);
+            if (postings.size == 0) {
+                tokens.remove(key);
+            }
+        }
+        document.trigramKeys.clear();
+        document.tokenKeys.clear();
+    }
+
+    /**
+     * Read the stored content of the candidate members and collect the lines accepted by the filter
+     *
+     * @param candidates ids of the members that may hold hits
+     * @param pattern    queried text
+     * @param filter     accepts a lower case line holding a hit
+     * @return hits ordered by member and line number
+     * @throws Exception error reading the stored content
+     */
+    private List<SearchHit> getHits(Set<Integer> candidates, String pattern,
+                                    Predicate<String> filter) throws Exception {
+        List<SearchHit> hits = new ArrayList<>();
+        for (int id : candidates) {
+            Document document = documents.get(id);
+            if (document == null) {
+                continue;
+            }
+            long lineNumber = 0;
+            try (BufferedReader reader = Files.newBufferedReader(getContentFile(id), StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (filter.test(line.toLowerCase(Locale.ROOT))) {
+                        hits.add(new SearchHit.Builder()
+                                .name(document.name)
+                                .lineNumber(lineNumber)
+                                .pattern(pattern)
+                                .line(line)
+                                .build());
+                    }
+                }
+            }
+        }
+        hits.sort(Comparator.comparing((SearchHit h) -> h.getName().orElse(""))
+                .thenComparingLong(SearchHit::getLineNumber));
+        return hits;
+    }
+
+    private Set<Integer> allDocuments() {
+        return new LinkedHashSet<>(ids.values());
+    }
+
+    private static Set<Integer> intersect(Set<Integer> candidates, Postings postings) {
+        if (candidates == null) {
+            return postings.toSet();
+        }
+        Set<Integer> result = new LinkedHashSet<>();
+        for (int id : candidates) {
+            if (Arrays.binarySearch(postings.ids, 0, postings.size, id) >= 0) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    private static long trigram(String text, int index) {
+        return ((long) text.charAt(index) << 32) | ((long) text.charAt(index + 1) << 16) | text.charAt(index + 2);
+    }
+
+    private Path getContentFile(int id) {
+        return directory.resolve(CONTENT_DIRECTORY).resolve(id + ".txt");
+    }
+
+    /**
+     * Read the index file written by a previous run
+     *
+     * @throws Exception error reading the index file
+     */
+    @SuppressWarnings("unchecked")
+    private void load() throws Exception {
+        Path path = directory.resolve(INDEX_FILE);
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (ObjectInputStream inputStream = new ObjectInputStream(
+                new BufferedInputStream(Files.newInputStream(path)))) {
+            if (inputStream.readInt() != INDEX_VERSION) {
+                LOG.debug("ZosDsnIndexer::load - {} has an unknown version, starting over", path);
+                return;
+            }
+            documents = (ArrayList<Document>) inputStream.readObject();
+            trigrams = (HashMap<Long, Postings>) inputStream.readObject();
+            tokens = (HashMap<String, Postings>) inputStream.readObject();
+        }
+        for (int id = 0; id < documents.size(); id++) {
+            Document document = documents.get(id);
+            if (document != null) {
+                ids.put(document.name, id);
+                document.trigramKeys = new HashSet<>();
+                document.tokenKeys = new HashSet<>();
+            }
+        }
+        for (Map.Entry<Long, Postings> entry : trigrams.entrySet()) {
+            Postings postings = entry.getValue();
+            for (int i = 0; i < postings.size; i++) {
+                documents.get(postings.ids[i]).trigramKeys.add(entry.getKey());
+            }
+        }
+        for (Map.Entry<String, Postings> entry : tokens.entrySet()) {
+            Postings postings = entry.getValue();
+            for (int i = 0; i < postings.size; i++) {
+                documents.get(postings.ids[i]).tokenKeys.add(entry.getKey());
+            }
+        }
+        LOG.debug("ZosDsnIndexer::load - {} members restored from {}", ids.size(), path);
+    }
+
+    /**
+     * Write the index file, the file is replaced atomically
+     *
+     * @throws Exception error writing the index file
+     */
+    private synchronized void save() throws Exception {
+        Path path = directory.resolve(INDEX_FILE);
+        Path temp = directory.resolve(INDEX_FILE + ".tmp");
+        try (ObjectOutputStream outputStream = new ObjectOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            outputStream.writeInt(INDEX_VERSION);
+            outputStream.writeObject(documents);
+            outputStream.writeObject(trigrams);
+            outputStream.writeObject(tokens);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+}
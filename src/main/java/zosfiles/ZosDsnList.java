@@ -20,8 +20,11 @@ import utility.UtilDataset;
 import utility.UtilRest;
 import zosfiles.input.ListParams;
 import zosfiles.response.Dataset;
+import zosfiles.response.Member;
 
+import java.io.InputStream;
 import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * ZosDsnList class that provides Dataset member list function
@@ -33,6 +36,8 @@ public class ZosDsnList {
 
     private static final Logger LOG = LogManager.getLogger(ZosDsnList.class);
 
+    private static final int DEFAULT_PAGE_SIZE = 1000;
+
     private final ZOSConnection connection;
 
     /**
@@ -57,41 +62,149 @@ public class ZosDsnList {
      */
     @SuppressWarnings("unchecked")
     public List<String> listDsnMembers(String dataSetName, ListParams params) throws Exception {
+        List<String> members = new ArrayList<>();
+        getMemberItems(dataSetName, params).forEach(item -> members.add(((JSONObject) item).get("member").toString()));
+        return members;
+    }
+
+    /**
+     * Get a list of members from a Dataset including their ISPF statistics. The statistics are only returned
+     * when the params attribute is BASE.
+     *
+     * @param dataSetName name of a dataset (e.g. 'DATASET.LIB')
+     * @param params      list parameters, see ListParams object
+     * @return list of Member objects
+     * @throws Exception error processing request
+     */
+    @SuppressWarnings("unchecked")
+    public List<Member> listMembers(String dataSetName, ListParams params) throws Exception {
+        List<Member> members = new ArrayList<>();
+        getMemberItems(dataSetName, params).forEach(item ->
+                members.add(UtilDataset.createMemberObjFromJson((JSONObject) item)));
+        return members;
+    }
+
+    /**
+     * Stream the members of a Dataset to a consumer as they are decoded from the response. The response is
+     * never held in memory as a whole, so very large PDSE member lists use bounded memory and the first member
+     * is delivered before the rest of the list arrives. Use the params start and maxLength to page through
+     * the list, and attribute BASE to include the ISPF statistics.
+     *
+     * @param dataSetName name of a dataset (e.g. 'DATASET.LIB')
+     * @param params      list parameters, see ListParams object
+     * @param consumer    receives each Member object
+     * @return number of members delivered
+     * @throws Exception error processing request
+     */
+    public long listMembers(String dataSetName, ListParams params, Consumer<Member> consumer) throws Exception {
         Util.checkNullParameter(params == null, "params is null");
         Util.checkNullParameter(dataSetName == null, "dataSetName is null");
         Util.checkIllegalParameter(dataSetName.isEmpty(), "dataSetName not specified");
+        Util.checkNullParameter(consumer == null, "consumer is null");
 
         Map<String, String> headers = new HashMap<>();
-        List<String> members = new ArrayList<>();
-        String url = "https://" + connection.getHost() + ":" + connection.getZosmfPort() +
-                ZosFilesConstants.RESOURCE + ZosFilesConstants.RES_DS_FILES + "/" +
-                Util.encodeURIComponent(dataSetName) + ZosFilesConstants.RES_DS_MEMBERS;
-
-        if (params.getPattern().isPresent()) {
-            url += QueryConstants.QUERY_ID + ZosFilesConstants.QUERY_PATTERN +
-                    Util.encodeURIComponent(params.getPattern().get());
-        }
+        String url = getMembersUrl(dataSetName, params);
 
-        Response response = getResponse(params, headers, url);
+        Response response = getResponse(params, headers, url, ZoweRequestType.VerbType.GET_STREAM);
         if (response.isEmpty())
-            return members;
+            return 0;
 
         try {
             UtilRest.checkHttpErrors(response);
         } catch (Exception e) {
-            UtilDataset.checkHttpErrors(e.getMessage(), Arrays.asList(dataSetName), UtilDataset.Operation.read);
+            UtilDataset.checkHttpErrors(e, Arrays.asList(dataSetName), UtilDataset.Operation.read);
         }
 
-        JSONObject results = (JSONObject) response.getResponsePhrase().orElse(new JSONObject());
-        if (results.isEmpty())
-            return members;
-        JSONArray items = (JSONArray) results.get("items");
-        items.forEach(item -> {
-            JSONObject datasetObj = (JSONObject) item;
-            members.add(datasetObj.get("member").toString());
+        Optional<Object> phrase = response.getResponsePhrase();
+        if (phrase.isEmpty())
+            return 0;
+        long[] count = {0};
+        UtilRest.parseJsonItems((InputStream) phrase.get(), ZosFilesConstants.RESPONSE_ITEMS, item -> {
+            consumer.accept(UtilDataset.createMemberObjFromJson(item));
+            count[0]++;
         });
+        return count[0];
+    }
 
-        return members;
+    /**
+     * Iterate over all members of a Dataset, fetching them lazily a page at a time. Each page is requested
+     * with the params maxLength, or 1000 members if not specified, and streamed as in listMembers, so only
+     * one page is held in memory. As z/OSMF returns the start member again at the top of the next page,
+     * maxLength must be at least 2.
+     * <p>
+     * The iterator throws an IllegalStateException holding the cause if a page request fails.
+     *
+     * @param dataSetName name of a dataset (e.g. 'DATASET.LIB')
+     * @param params      list parameters, see ListParams object
+     * @return Member iterator
+     */
+    public Iterator<Member> iterateMembers(String dataSetName, ListParams params) {
+        Util.checkNullParameter(params == null, "params is null");
+        Util.checkNullParameter(dataSetName == null, "dataSetName is null");
+        Util.checkIllegalParameter(dataSetName.isEmpty(), "dataSetName not specified");
+        int pageSize;
+        try {
+            pageSize = Integer.parseInt(params.getMaxLength().orElse(String.valueOf(DEFAULT_PAGE_SIZE)).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("maxLength is not a number", e);
+        }
+        // the first member of a page repeats the start member, a page of 1 would never advance
+        Util.checkIllegalParameter(pageSize < 2, "maxLength must be at least 2");
+
+        return new Iterator<>() {
+
+            private final Deque<Member> page = new ArrayDeque<>();
+            private String start = params.getStart().orElse(null);
+            private String lastOfPreviousPage;
+            private boolean more = true;
+
+            @Override
+            public boolean hasNext() {
+                while (page.isEmpty() && more) {
+                    fetch();
+                }
+                return !page.isEmpty();
+            }
+
+            @Override
+            public Member next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return page.poll();
+            }
+
+            private void fetch() {
+                ListParams pageParams = new ListParams.Builder()
+                        .volume(params.getVolume().orElse(null))
+                        .attribute(params.getAttribute().orElse(null))
+                        .pattern(params.getPattern().orElse(null))
+                        .recall(params.getRecall().orElse(null))
+                        .responseTimeout(params.getResponseTimeout().orElse(null))
+                        .maxLength(String.valueOf(pageSize))
+                        .start(start)
+                        .build();
+                String previous = lastOfPreviousPage;
+                String[] last = {null};
+                long count;
+                try {
+                    count = listMembers(dataSetName, pageParams, member -> {
+                        last[0] = member.getMember().orElse(null);
+                        // start is inclusive, the last member of the previous page is returned again
+                        if (previous == null || !previous.equals(last[0])) {
+                            page.add(member);
+                        }
+                    });
+                } catch (Exception e) {
+                    throw new IllegalStateException(e.getMessage(), e);
+                }
+                // a full page means more members may follow, unless the page did not get past its start
+                more = count == pageSize && last[0] != null && !last[0].equals(previous);
+                start = last[0];
+                lastOfPreviousPage = last[0];
+            }
+
+        };
     }
 
     /**
@@ -109,6 +222,14 @@ public class ZosDsnList {
         Util.checkNullParameter(dataSetName == null, "dataSetName is null");
         Util.checkIllegalParameter(dataSetName.isEmpty(), "dataSetName not specified");
 
+        Optional<CatalogCache> cache = CatalogCache.get(connection);
+        if (cache.isPresent()) {
+            Optional<List<Dataset>> cached = cache.get().lookup(dataSetName, params);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
+
         Map<String, String> headers = new HashMap<>();
         List<Dataset> datasets = new ArrayList<>();
         String url = "https://" + connection.getHost() + ":" + connection.getZosmfPort() + ZosFilesConstants.RESOURCE +
@@ -124,14 +245,14 @@ public class ZosDsnList {
             url += QueryConstants.COMBO_ID + ZosFilesConstants.QUERY_START + params.getStart().get();
         }
 
-        Response response = getResponse(params, headers, url);
+        Response response = getResponse(params, headers, url, ZoweRequestType.VerbType.GET_JSON);
         if (response.isEmpty())
             return datasets;
 
         try {
             UtilRest.checkHttpErrors(response);
         } catch (Exception e) {
-            UtilDataset.checkHttpErrors(e.getMessage(), Arrays.asList(dataSetName), UtilDataset.Operation.read);
+            UtilDataset.checkHttpErrors(e, Arrays.asList(dataSetName), UtilDataset.Operation.read);
         }
 
         JSONObject results = (JSONObject) response.getResponsePhrase().orElse(new JSONObject());
@@ -143,23 +264,80 @@ public class ZosDsnList {
             datasets.add(UtilDataset.createDatasetObjFromJson(datasetObj));
         });
 
+        cache.ifPresent(c -> c.put(dataSetName, params, datasets));
         return datasets;
     }
 
+    /**
+     * Perform the member list request and return its items
+     *
+     * @param dataSetName name of a dataset
+     * @param params      list parameters
+     * @return json array of member items
+     * @throws Exception error processing request
+     */
+    private JSONArray getMemberItems(String dataSetName, ListParams params) throws Exception {
+        Util.checkNullParameter(params == null, "params is null");
+        Util.checkNullParameter(dataSetName == null, "dataSetName is null");
+        Util.checkIllegalParameter(dataSetName.isEmpty(), "dataSetName not specified");
+
+        Map<String, String> headers = new HashMap<>();
+        String url = getMembersUrl(dataSetName, params);
+
+        Response response = getResponse(params, headers, url, ZoweRequestType.VerbType.GET_JSON);
+        if (response.isEmpty())
+            return new JSONArray();
+
+        try {
+            UtilRest.checkHttpErrors(response);
+        } catch (Exception e) {
+            UtilDataset.checkHttpErrors(e, Arrays.asList(dataSetName), UtilDataset.Operation.read);
+        }
+
+        JSONObject results = (JSONObject) response.getResponsePhrase().orElse(new JSONObject());
+        if (results.isEmpty())
+            return new JSONArray();
+        return (JSONArray) results.get("items");
+    }
+
+    /**
+     * Build the member list url
+     *
+     * @param dataSetName name of a dataset
+     * @param params      list parameters
+     * @return url for http request
+     */
+    private String getMembersUrl(String dataSetName, ListParams params) {
+        String url = "https://" + connection.getHost() + ":" + connection.getZosmfPort() +
+                ZosFilesConstants.RESOURCE + ZosFilesConstants.RES_DS_FILES + "/" +
+                Util.encodeURIComponent(dataSetName) + ZosFilesConstants.RES_DS_MEMBERS;
+
+        String separator = QueryConstants.QUERY_ID;
+        if (params.getPattern().isPresent()) {
+            url += separator + ZosFilesConstants.QUERY_PATTERN + Util.encodeURIComponent(params.getPattern().get());
+            separator = QueryConstants.COMBO_ID;
+        }
+        if (params.getStart().isPresent()) {
+            url += separator + ZosFilesConstants.QUERY_START + Util.encodeURIComponent(params.getStart().get());
+        }
+        return url;
+    }
+
     /**
      * Perform the http request
      *
      * @param params  list parameters
      * @param headers list of headers for http request
      * @param url     url for http request
+     * @param type    request type, GET_JSON or GET_STREAM
      * @return response object with http response info
      * @author Frank Giordano
      */
-    private Response getResponse(ListParams params, Map<String, String> headers, String url) throws Exception {
+    private Response getResponse(ListParams params, Map<String, String> headers, String url,
+                                 ZoweRequestType.VerbType type) throws Exception {
         LOG.debug(url);
         setHeaders(params, headers);
-        ZoweRequest request = ZoweRequestFactory.buildRequest(connection, url, null,
-                ZoweRequestType.VerbType.GET_JSON);
+        ZoweRequest request = ZoweRequestFactory.buildRequest(connection, url, null, type);
         request.setHeaders(headers);
         return request.executeRequest();
     }
@@ -193,7 +371,7 @@ public class ZosDsnList {
             value = params.getMaxLength().get();
         } else {
             key = ZosmfHeaders.HEADERS.get("X_IBM_MAX_ITEMS").get(0);
-            value = ZosmfHeaders.HEADERS.get("X_IBM_ATTRIBUTES_BASE").get(1);
+            value = ZosmfHeaders.HEADERS.get("X_IBM_MAX_ITEMS").get(1);
         }
         headers.put(key, value);
         if (params.getResponseTimeout().isPresent()) {
@@ -0,0 +1,232 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package zosfiles;
+
+import core.ZOSConnection;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.simple.JSONObject;
+import rest.Response;
+import rest.ZoweRequest;
+import rest.ZoweRequestFactory;
+import rest.ZoweRequestType;
+import utility.Util;
+import utility.UtilDataset;
+import utility.UtilFiles;
+import utility.UtilRest;
+import zosfiles.input.ListParams;
+import zosfiles.response.Dataset;
+import zosfiles.response.TransferResult;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Provides recall of datasets migrated by DFSMShsm.
+ * <p>
+ * Reading a migrated dataset with recall wait blocks until its recall completes, so reading many of them one
+ * after the other serializes their recalls. recallDatasets instead starts a no-wait recall for every migrated
+ * dataset at once, letting HSM work on them in parallel, and then polls their migration status with one
+ * dataset list query per high level qualifier per interval. Each dataset gets a future which completes once
+ * the dataset is recalled.
+ *
+ * @version 1.0
+ */
+public class ZosDsnRecall {
+
+    private static final Logger LOG = LogManager.getLogger(ZosDsnRecall.class);
+
+    /**
+     * Default interval between two polls of the migration status
+     */
+    public static final long DEFAULT_POLL_INTERVAL_MILLIS = 10_000;
+
+    private final ZOSConnection connection;
+
+    /**
+     * ZosDsnRecall constructor
+     *
+     * @param connection connection information, see ZOSConnection object
+     */
+    public ZosDsnRecall(ZOSConnection connection) {
+        Util.checkConnection(connection);
+        this.connection = connection;
+    }
+
+    /**
+     * Recall a migrated dataset
+     *
+     * @param dataSetName name of a dataset (e.g. 'DATASET.LIB')
+     * @param wait        wait for the recall to complete, otherwise return once it is started
+     * @return http response object
+     * @throws Exception error processing request
+     */
+    @SuppressWarnings("unchecked")
+    public Response recallDsn(String dataSetName, boolean wait) throws Exception {
+        Util.checkNullParameter(dataSetName == null, "dataSetName is null");
+        Util.checkIllegalParameter(dataSetName.isEmpty(), "dataSetName not specified");
+
+        String url = "https://" + connection.getHost() + ":" + connection.getZosmfPort() + ZosFilesConstants.RESOURCE +
+                ZosFilesConstants.RES_DS_FILES + "/" + Util.encodeURIComponent(dataSetName);
+
+        LOG.debug(url);
+
+        Map<String, Object> jsonMap = new HashMap<>();
+        jsonMap.put("request", "hrecall");
+        jsonMap.put("wait", wait);
+        String body = new JSONObject(jsonMap).toString();
+
+        ZoweRequest request = ZoweRequestFactory.buildRequest(connection, url, body, ZoweRequestType.VerbType.PUT_JSON);
+        Response response = request.executeRequest();
+
+        try {
+            UtilRest.checkHttpErrors(response);
+        } catch (Exception e) {
+            UtilDataset.checkHttpErrors(e, Arrays.asList(dataSetName), UtilDataset.Operation.recall);
+        }
+
+        CatalogCache.invalidate(connection, dataSetName);
+        return response;
+    }
+
+    /**
+     * Recall datasets in parallel, see the class description. Datasets that are not migrated complete right
+     * away. The polling runs on a background thread which ends once all futures are complete.
+     *
+     * @param dataSetNames          names of the datasets to recall
+     * @param maxConcurrentRequests maximum number of recall requests to start at once
+     * @param pollIntervalMillis    interval between two polls of the migration status
+     * @param timeoutMillis         time after which the datasets still migrated complete with a TimeoutException
+     * @return future per dataset name in the given order, completing with the dataset information once it is
+     * no longer migrated or exceptionally if it does not exist, its recall failed or timed out
+     * @throws Exception error listing the datasets
+     */
+    public Map<String, CompletableFuture<Dataset>> recallDatasets(List<String> dataSetNames, int maxConcurrentRequests,
+                                                                  long pollIntervalMillis, long timeoutMillis)
+            throws Exception {
+        Util.checkNullParameter(dataSetNames == null, "dataSetNames is null");
+        Util.checkIllegalParameter(pollIntervalMillis < 1, "pollIntervalMillis must be at least 1");
+        Util.checkIllegalParameter(timeoutMillis < 1, "timeoutMillis must be at least 1");
+
+        Map<String, CompletableFuture<Dataset>> futures = new LinkedHashMap<>();
+        for (String dataSetName : dataSetNames) {
+            Util.checkNullParameter(dataSetName == null, "dataSetName is null");
+            futures.put(dataSetName.toUpperCase(Locale.ROOT), new CompletableFuture<>());
+        }
+        Map<String, CompletableFuture<Dataset>> pending = new ConcurrentHashMap<>(futures);
+
+        poll(pending, true);
+        List<String> migrated = new ArrayList<>(pending.keySet());
+        LOG.debug("ZosDsnRecall::recallDatasets - {} of {} datasets migrated", migrated.size(), futures.size());
+        if (migrated.isEmpty()) {
+            return futures;
+        }
+
+        List<Callable<TransferResult>> tasks = new ArrayList<>();
+        for (String dataSetName : migrated) {
+            tasks.add(() -> {
+                try {
+                    recallDsn(dataSetName, false);
+                } catch (Exception e) {
+                    CompletableFuture<Dataset> future = pending.remove(dataSetName);
+                    if (future != null) {
+                        future.completeExceptionally(e);
+                    }
+                }
+                return new TransferResult.Builder().name(dataSetName).build();
+            });
+        }
+        UtilFiles.runConcurrently(tasks, maxConcurrentRequests, false);
+
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ZosDsnRecall");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                poll(pending, false);
+            } catch (Exception e) {
+                LOG.debug("ZosDsnRecall::recallDatasets - poll failed, retrying next interval: {}", e.getMessage());
+            }
+            if (!pending.isEmpty() && System.currentTimeMillis() >= deadline) {
+                TimeoutException timeout = new TimeoutException("recall did not complete within " +
+                        timeoutMillis + " ms");
+                new ArrayList<>(pending.keySet()).forEach(name -> pending.remove(name).completeExceptionally(timeout));
+            }
+            if (pending.isEmpty()) {
+                executor.shutdown();
+            }
+        }, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+
+        return futures;
+    }
+
+    /**
+     * Query the migration status of the pending datasets with one list request per high level qualifier and
+     * complete the futures of those no longer migrated
+     *
+     * @param pending  futures of the datasets still migrated by name
+     * @param complete true to also complete the futures of datasets that do not exist
+     * @throws Exception error listing the datasets
+     */
+    private void poll(Map<String, CompletableFuture<Dataset>> pending, boolean complete) throws Exception {
+        Map<String, List<String>> byQualifier = new TreeMap<>();
+        for (String dataSetName : pending.keySet()) {
+            byQualifier.computeIfAbsent(dataSetName.split("\\.")[0], q -> new ArrayList<>()).add(dataSetName);
+        }
+
+        ZosDsnList zosDsnList = new ZosDsnList(connection);
+        ListParams params = new ListParams.Builder().attribute(UtilDataset.Attribute.BASE).recall("nowait").build();
+        for (List<String> names : byQualifier.values()) {
+            // the status is about to change, do not answer the query from the catalog cache
+            names.forEach(name -> CatalogCache.invalidate(connection, name));
+            Map<String, Dataset> found = new HashMap<>();
+            for (Dataset dataset : zosDsnList.listDsn(getPattern(names), params)) {
+                dataset.getDsname().ifPresent(name -> found.put(name.toUpperCase(Locale.ROOT), dataset));
+            }
+            for (String name : names) {
+                Dataset dataset = found.get(name);
+                if (dataset == null) {
+                    if (complete) {
+                        pending.remove(name).completeExceptionally(new Exception("dataset " + name + " not found"));
+                    }
+                } else if (!"YES".equalsIgnoreCase(dataset.getMigr().orElse(""))) {
+                    pending.remove(name).complete(dataset);
+                }
+            }
+        }
+    }
+
+    /**
+     * Build a pattern matching all given datasets from their leading qualifiers in common
+     *
+     * @param names dataset names sharing their high level qualifier
+     * @return dataset name or pattern
+     */
+    private static String getPattern(List<String> names) {
+        if (names.size() == 1) {
+            return names.get(0);
+        }
+        List<String> common = new ArrayList<>(List.of(names.get(0).split("\\.")));
+        for (String name : names) {
+            String[] qualifiers = name.split("\\.");
+            int i = 0;
+            while (i < common.size() && (i == 0 || i < qualifiers.length - 1) &&
+                    common.get(i).equals(qualifiers[i])) {
+                i++;
+            }
+            common = common.subList(0, i);
+        }
+        return String.join(".", common) + ".**";
+    }
+
+}
@@ -0,0 +1,270 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package zosfiles;
+
+import core.ZOSConnection;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import utility.AhoCorasick;
+import utility.Util;
+import utility.UtilDataset;
+import utility.UtilFiles;
+import zosfiles.input.DownloadParams;
+import zosfiles.input.ListParams;
+import zosfiles.input.SearchParams;
+import zosfiles.response.Dataset;
+import zosfiles.response.SearchHit;
+import zosfiles.response.TransferResult;
+import zosfiles.response.TransferSummary;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+
+/**
+ * Provides content search across sequential datasets and partitioned dataset members.
+ * <p>
+ * The members and datasets to search are downloaded concurrently and matched as they stream in with an
+ * Aho-Corasick automaton, so all patterns are found in a single pass and content is never turned into
+ * Strings except for the lines holding a hit.
+ *
+ * @version 1.0
+ */
+public class ZosDsnSearch {
+
+    private static final Logger LOG = LogManager.getLogger(ZosDsnSearch.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Default number of members or datasets downloaded at once, see SearchParams maxConcurrentRequests
+     */
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 8;
+
+    private final ZOSConnection connection;
+
+    /**
+     * ZosDsnSearch constructor
+     *
+     * @param connection connection information, see ZOSConnection object
+     */
+    public ZosDsnSearch(ZOSConnection connection) {
+        Util.checkConnection(connection);
+        this.connection = connection;
+    }
+
+    /**
+     * Search datasets for a pattern and return all hits
+     *
+     * @param pattern      pattern to search for
+     * @param dataSetNames sequential datasets, partitioned datasets, members or dataset name patterns
+     *                     (e.g. 'DATASET.LIB', 'DATASET.LIB(MEMBER)' or 'HLQ.**.COBOL')
+     * @param params       search parameters, see SearchParams object
+     * @return list of hits, ordered by dataset and line number
+     * @throws Exception error listing the datasets or the first failed download
+     */
+    public List<SearchHit> search(String pattern, List<String> dataSetNames, SearchParams params) throws Exception {
+        Util.checkNullParameter(pattern == null, "pattern is null");
+        List<SearchHit> hits = new ArrayList<>();
+        TransferSummary summary = search(List.of(pattern), dataSetNames, params, hits::add);
+        if (!summary.getFailed().isEmpty()) {
+            TransferResult failed = summary.getFailed().get(0);
+            throw new Exception(String.format("search of '%s' failed: %s", failed.getName().orElse(""),
+                    failed.getError().map(Exception::getMessage).orElse("")), failed.getError().orElse(null));
+        }
+        hits.sort(Comparator.comparing((SearchHit h) -> h.getName().orElse(""))
+                .thenComparingLong(SearchHit::getLineNumber));
+        return hits;
+    }
+
+    /**
+     * Search datasets for several patterns at once, handing each hit to the consumer as soon as it is found.
+     * The consumer is never called by two threads at the same time.
+     *
+     * @param patterns     patterns to search for
+     * @param dataSetNames sequential datasets, partitioned datasets, members or dataset name patterns
+     *                     (e.g. 'DATASET.LIB', 'DATASET.LIB(MEMBER)' or 'HLQ.**.COBOL')
+     * @param params       search parameters, see SearchParams object
+     * @param consumer     receives each hit
+     * @return summary holding a result per searched dataset or member, the bytes value is the bytes scanned
+     * @throws Exception error listing the datasets
+     */
+    public TransferSummary search(List<String> patterns, List<String> dataSetNames, SearchParams params,
+                                  Consumer<SearchHit> consumer) throws Exception {
+        Util.checkNullParameter(patterns == null, "patterns is null");
+        Util.checkNullParameter(dataSetNames == null, "dataSetNames is null");
+        Util.checkNullParameter(params == null, "params is null");
+        Util.checkNullParameter(consumer == null, "consumer is null");
+        long start = System.nanoTime();
+
+        AhoCorasick matcher = new AhoCorasick(patterns, params.getIgnoreCase().orElse(false));
+        DownloadParams downloadParams = new DownloadParams.Builder()
+                .encoding(params.getEncoding().orElse(null))
+                .responseTimeout(params.getResponseTimeout().orElse(null))
+                .build();
+        Consumer<SearchHit> serialized = hit -> {
+            synchronized (consumer) {
+                consumer.accept(hit);
+            }
+        };
+
+        List<String> targets = getTargets(dataSetNames, params);
+        LOG.debug("ZosDsnSearch::search - {} datasets or members to search", targets.size());
+
+        List<Callable<TransferResult>> tasks = new ArrayList<>();
+        for (String target : targets) {
+            tasks.add(() -> {
+                long taskStart = System.nanoTime();
+                TransferResult.Builder result = new TransferResult.Builder().name(target);
+                try {
+                    InputStream content = new ZosDsnDownload(connection).downloadDsn(target, downloadParams);
+                    if (content != null) {
+                        try (InputStream inputStream = content) {
+                            result.bytes(scan(target, inputStream, matcher, serialized));
+                        }
+                    }
+                } catch (Exception e) {
+                    result.error(e);
+                }
+                return result.elapsedMillis((System.nanoTime() - taskStart) / 1_000_000).build();
+            });
+        }
+
+        List<TransferResult> results = UtilFiles.runConcurrently(tasks,
+                params.getMaxConcurrentRequests().orElse(DEFAULT_MAX_CONCURRENT_REQUESTS), false);
+        return new TransferSummary(results, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Match a content stream line by line, each pattern is reported at most once per line
+     *
+     * @param name        dataset or member name
+     * @param inputStream content stream
+     * @param matcher     compiled patterns
+     * @param consumer    receives each hit
+     * @return number of bytes scanned
+     * @throws Exception error reading the stream
+     */
+    private static long scan(String name, InputStream inputStream, AhoCorasick matcher,
+                             Consumer<SearchHit> consumer) throws Exception {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        byte[] line = new byte[256];
+        int lineLength = 0;
+        long lineNumber = 1;
+        long bytes = 0;
+        BitSet found = new BitSet();
+        int state = matcher.start();
+
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            bytes += read;
+            for (int i = 0; i < read; i++) {
+                byte b = buffer[i];
+                if (b == '\n') {
+                    report(name, lineNumber, line, lineLength, found, matcher, consumer);
+                    lineLength = 0;
+                    lineNumber++;
+                    state = matcher.start();
+                    continue;
+                }
+                if (lineLength == line.length) {
+                    line = Arrays.copyOf(line, line.length * 2);
+                }
+                line[lineLength++] = b;
+                state = matcher.next(state, b);
+                for (int match : matcher.getMatches(state)) {
+                    found.set(match);
+                }
+            }
+        }
+        report(name, lineNumber, line, lineLength, found, matcher, consumer);
+        return bytes;
+    }
+
+    /**
+     * Hand the hits of a completed line to the consumer and clear them
+     *
+     * @param name       dataset or member name
+     * @param lineNumber line number starting at 1
+     * @param line       line content buffer
+     * @param lineLength length of the line content
+     * @param found      indexes of the patterns found on the line
+     * @param matcher    compiled patterns
+     * @param consumer   receives each hit
+     */
+    private static void report(String name, long lineNumber, byte[] line, int lineLength, BitSet found,
+                               AhoCorasick matcher, Consumer<SearchHit> consumer) {
+        if (found.isEmpty()) {
+            return;
+        }
+        if (lineLength > 0 && line[lineLength - 1] == '\r') {
+            lineLength--;
+        }
+        String text = new String(line, 0, lineLength, StandardCharsets.UTF_8);
+        for (int i = found.nextSetBit(0); i >= 0; i = found.nextSetBit(i + 1)) {
+            consumer.accept(new SearchHit.Builder()
+                    .name(name)
+                    .lineNumber(lineNumber)
+                    .pattern(matcher.getPattern(i))
+                    .line(text)
+                    .build());
+        }
+        found.clear();
+    }
+
+    /**
+     * Resolve the given names to the sequential datasets and members to search
+     *
+     * @param dataSetNames dataset names, member names or dataset name patterns
+     * @param params       search parameters
+     * @return sequential dataset and member names
+     * @throws Exception error listing the datasets or members
+     */
+    private List<String> getTargets(List<String> dataSetNames, SearchParams params) throws Exception {
+        ZosDsnList zosDsnList = new ZosDsnList(connection);
+        List<String> targets = new ArrayList<>();
+        for (String dataSetName : dataSetNames) {
+            Util.checkNullParameter(dataSetName == null, "dataSetName is null");
+            Util.checkIllegalParameter(dataSetName.isEmpty(), "dataSetName not specified");
+            if (dataSetName.contains("(")) {
+                targets.add(dataSetName);
+                continue;
+            }
+
+            List<Dataset> datasets;
+            if (dataSetName.contains("*") || dataSetName.contains("%")) {
+                datasets = zosDsnList.listDsn(dataSetName,
+                        new ListParams.Builder().attribute(UtilDataset.Attribute.BASE).build());
+            } else {
+                datasets = List.of(new ZosDsn(connection).getDataSetInfo(dataSetName));
+            }
+
+            for (Dataset dataset : datasets) {
+                String name = dataset.getDsname().orElse(dataSetName);
+                String dsorg = dataset.getDsorg().orElse("");
+                if (dsorg.startsWith("PO")) {
+                    ListParams listParams = new ListParams.Builder().pattern(params.getMemberPattern().orElse(null))
+                            .build();
+                    for (String member : zosDsnList.listDsnMembers(name, listParams)) {
+                        targets.add(String.format("%s(%s)", name, member));
+                    }
+                } else if (dsorg.startsWith("PS")) {
+                    targets.add(name);
+                } else {
+                    LOG.debug("ZosDsnSearch::getTargets - {} skipped, organization {}", name, dsorg);
+                }
+            }
+        }
+        return targets;
+    }
+
+}
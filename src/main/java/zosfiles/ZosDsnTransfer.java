@@ -0,0 +1,119 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package zosfiles;
+
+import com.google.common.io.CountingInputStream;
+import core.ZOSConnection;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import rest.Response;
+import utility.Util;
+import utility.UtilDataset;
+import zosfiles.input.DownloadParams;
+import zosfiles.input.UploadParams;
+import zosfiles.response.TransferResult;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+
+/**
+ * Transfers dataset content between two z/OS systems without staging it on the client.
+ * <p>
+ * The response stream of the GET on the source system is handed directly to a chunked PUT on the target
+ * system through a fixed size buffer. The PUT only reads from the source as fast as the target accepts the
+ * content, so the source connection is throttled by TCP flow control and memory use is bounded by the buffer
+ * whatever the size of the dataset. Nothing is written to disk.
+ *
+ * @version 1.0
+ */
+public class ZosDsnTransfer {
+
+    private static final Logger LOG = LogManager.getLogger(ZosDsnTransfer.class);
+
+    /**
+     * Default size of the buffer between the source and the target connection
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+
+    private final int bufferSize;
+
+    /**
+     * ZosDsnTransfer constructor using the default buffer size
+     */
+    public ZosDsnTransfer() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * ZosDsnTransfer constructor
+     *
+     * @param bufferSize size in bytes of the buffer between the source and the target connection
+     */
+    public ZosDsnTransfer(int bufferSize) {
+        Util.checkIllegalParameter(bufferSize < 1, "bufferSize must be at least 1");
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Transfer the content of a sequential dataset or member on one system to a sequential dataset or member
+     * on another system, or on the same system through another connection. The target dataset must exist.
+     * <p>
+     * BINARY and RECORD mode copy the content byte for byte, RECORD mode also keeps the record boundaries of
+     * variable length records. TEXT mode converts the content to the client code page and back, which is
+     * only lossless for printable characters.
+     *
+     * @param source         connection to the source system, see ZOSConnection object
+     * @param srcDataSetName source dataset (e.g. 'DATASET.SEQ') or member (e.g. 'DATASET.LIB(MEMBER)')
+     * @param target         connection to the target system, see ZOSConnection object
+     * @param dstDataSetName target dataset (e.g. 'DATASET.SEQ') or member (e.g. 'DATASET.LIB(MEMBER)')
+     * @param mode           transfer mode, see UtilDataset.DataType
+     * @return transfer result holding the number of bytes read from the source, the time taken and the ETag
+     * of the written target content
+     * @throws Exception error processing either request
+     */
+    public TransferResult transfer(ZOSConnection source, String srcDataSetName, ZOSConnection target,
+                                   String dstDataSetName, UtilDataset.DataType mode) throws Exception {
+        Util.checkConnection(source);
+        Util.checkConnection(target);
+        Util.checkNullParameter(srcDataSetName == null, "srcDataSetName is null");
+        Util.checkIllegalParameter(srcDataSetName.isEmpty(), "srcDataSetName not specified");
+        Util.checkNullParameter(dstDataSetName == null, "dstDataSetName is null");
+        Util.checkIllegalParameter(dstDataSetName.isEmpty(), "dstDataSetName not specified");
+        Util.checkNullParameter(mode == null, "mode is null");
+        long start = System.nanoTime();
+
+        DownloadParams downloadParams = new DownloadParams.Builder()
+                .binary(mode == UtilDataset.DataType.BINARY ? Boolean.TRUE : null)
+                .record(mode == UtilDataset.DataType.RECORD)
+                .build();
+        UploadParams uploadParams = new UploadParams.Builder()
+                .binary(mode == UtilDataset.DataType.BINARY)
+                .record(mode == UtilDataset.DataType.RECORD)
+                .build();
+
+        InputStream content = new ZosDsnDownload(source).downloadDsn(srcDataSetName, downloadParams);
+        if (content == null) {
+            throw new Exception("no content returned for " + srcDataSetName);
+        }
+        try (CountingInputStream counting = new CountingInputStream(new BufferedInputStream(content, bufferSize))) {
+            Response response = new ZosDsn(target).writeDsn(dstDataSetName, counting, uploadParams);
+            TransferResult result = new TransferResult.Builder()
+                    .name(dstDataSetName)
+                    .file(srcDataSetName)
+                    .bytes(counting.getCount())
+                    .etag(response.getHeader("ETag").orElse(null))
+                    .elapsedMillis((System.nanoTime() - start) / 1_000_000)
+                    .build();
+            LOG.debug(result);
+            return result;
+        }
+    }
+
+}
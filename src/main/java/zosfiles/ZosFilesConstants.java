@@ -81,6 +81,11 @@ public class ZosFilesConstants {
      */
     public static final int MAX_AMS_BUFFER = 2;
 
+    /**
+     * Usable bytes of a 3390 track with half track blocking, used to estimate dataset content size
+     */
+    public static final int BYTES_PER_TRACK = 55996;
+
     /**
      * Minimum numbers of days for which to retain a dataset.
      */
@@ -9,8 +9,12 @@
  */
 package zosfiles.input;
 
+import rest.BandwidthLimiter;
+import utility.TransferDigest;
+
 import java.util.HashMap;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * This interface defines the options that can be sent into the download data set function
@@ -85,6 +89,11 @@ public class DownloadParams {
      */
     private final Optional<Boolean> binary;
 
+    /**
+     * The indicator to view the data set in record mode, each record prefixed with its 4 byte length
+     */
+    private final Optional<Boolean> record;
+
     /**
      * Code page encoding
      */
@@ -105,6 +114,16 @@ public class DownloadParams {
      */
     private final Optional<String> responseTimeout;
 
+    /**
+     * Digests to compute of the content as it is transferred, returned in the TransferResult
+     */
+    private final Optional<Set<TransferDigest.Algorithm>> digests;
+
+    /**
+     * Priority of the download requests, BULK when not set, see BandwidthLimiter
+     */
+    private final Optional<BandwidthLimiter.Priority> priority;
+
     private DownloadParams(zosfiles.input.DownloadParams.Builder builder) {
         this.file = Optional.ofNullable(builder.file);
         this.extension = Optional.ofNullable(builder.extension);
@@ -116,10 +135,13 @@ public class DownloadParams {
         this.preserveOriginalLetterCase = Optional.ofNullable(builder.preserveOriginalLetterCase);
         this.failFast = Optional.ofNullable(builder.failFast);
         this.binary = Optional.ofNullable(builder.binary);
+        this.record = Optional.ofNullable(builder.record);
         this.encoding = Optional.ofNullable(builder.encoding);
         this.volume = Optional.ofNullable(builder.volume);
         this.task = Optional.ofNullable(builder.task);
         this.responseTimeout = Optional.ofNullable(builder.responseTimeout);
+        this.digests = Optional.ofNullable(builder.digests);
+        this.priority = Optional.ofNullable(builder.priority);
     }
 
     /**
@@ -178,6 +200,18 @@ public class DownloadParams {
      * @return maxConcurrentRequests value
      * @author Nikunj Goyal
      */
+    public Optional<Integer> getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    /**
+     * Retrieve maxConcurrentRequests value
+     *
+     * @return maxConcurrentRequests value
+     * @author Nikunj Goyal
+     * @deprecated misspelled, use getMaxConcurrentRequests instead
+     */
+    @Deprecated
     public Optional<Integer> getNaxConcurrentRequests() {
         return maxConcurrentRequests;
     }
@@ -222,6 +256,15 @@ public class DownloadParams {
         return binary;
     }
 
+    /**
+     * Retrieve record value
+     *
+     * @return record value
+     */
+    public Optional<Boolean> getRecord() {
+        return record;
+    }
+
     /**
      * Retrieve encoding value
      *
@@ -262,6 +305,24 @@ public class DownloadParams {
         return responseTimeout;
     }
 
+    /**
+     * Retrieve digests value
+     *
+     * @return digests value
+     */
+    public Optional<Set<TransferDigest.Algorithm>> getDigests() {
+        return digests;
+    }
+
+    /**
+     * Retrieve priority value
+     *
+     * @return priority value
+     */
+    public Optional<BandwidthLimiter.Priority> getPriority() {
+        return priority;
+    }
+
     @Override
     public String toString() {
         return "DownloadOptions{" +
@@ -275,10 +336,13 @@ public class DownloadParams {
                 ", preserveOriginalLetterCase=" + preserveOriginalLetterCase +
                 ", failFast=" + failFast +
                 ", binary=" + binary +
+                ", record=" + record +
                 ", encoding=" + encoding +
                 ", volume=" + volume +
                 ", task=" + task +
                 ", responseTimeout=" + responseTimeout +
+                ", digests=" + digests +
+                ", priority=" + priority +
                 '}';
     }
 
@@ -294,10 +358,13 @@ public class DownloadParams {
         private Boolean preserveOriginalLetterCase;
         private Boolean failFast;
         private Boolean binary;
+        private Boolean record;
         private Integer encoding;
         private String volume;
         private String task;
         private String responseTimeout;
+        private Set<TransferDigest.Algorithm> digests;
+        private BandwidthLimiter.Priority priority;
 
         public zosfiles.input.DownloadParams.Builder file(String file) {
             this.file = file;
@@ -349,6 +416,11 @@ public class DownloadParams {
             return this;
         }
 
+        public zosfiles.input.DownloadParams.Builder record(Boolean record) {
+            this.record = record;
+            return this;
+        }
+
         public zosfiles.input.DownloadParams.Builder encoding(Integer encoding) {
             this.encoding = encoding;
             return this;
@@ -369,6 +441,16 @@ public class DownloadParams {
             return this;
         }
 
+        public DownloadParams.Builder digests(Set<TransferDigest.Algorithm> digests) {
+            this.digests = digests;
+            return this;
+        }
+
+        public DownloadParams.Builder priority(BandwidthLimiter.Priority priority) {
+            this.priority = priority;
+            return this;
+        }
+
         public zosfiles.input.DownloadParams build() {
             return new zosfiles.input.DownloadParams(this);
         }
@@ -0,0 +1,150 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package zosfiles.input;
+
+import java.util.Optional;
+
+/**
+ * This interface defines the options that can be sent into the dataset content search function
+ *
+ * @version 1.0
+ */
+public class SearchParams {
+
+    /**
+     * Match ASCII letters regardless of their case, default false
+     */
+    private final Optional<Boolean> ignoreCase;
+
+    /**
+     * Pattern selecting the members of partitioned datasets to search, e.g. "ABC*", default all members
+     */
+    private final Optional<String> memberPattern;
+
+    /**
+     * The maximum number of members or datasets downloaded at once, default
+     * ZosDsnSearch DEFAULT_MAX_CONCURRENT_REQUESTS
+     */
+    private final Optional<Integer> maxConcurrentRequests;
+
+    /**
+     * Code page encoding of the datasets used for text mode conversion, e.g. 1047
+     */
+    private final Optional<Integer> encoding;
+
+    /**
+     * Request time out value
+     */
+    private final Optional<String> responseTimeout;
+
+    private SearchParams(SearchParams.Builder builder) {
+        this.ignoreCase = Optional.ofNullable(builder.ignoreCase);
+        this.memberPattern = Optional.ofNullable(builder.memberPattern);
+        this.maxConcurrentRequests = Optional.ofNullable(builder.maxConcurrentRequests);
+        this.encoding = Optional.ofNullable(builder.encoding);
+        this.responseTimeout = Optional.ofNullable(builder.responseTimeout);
+    }
+
+    /**
+     * Retrieve ignoreCase value
+     *
+     * @return ignoreCase value
+     */
+    public Optional<Boolean> getIgnoreCase() {
+        return ignoreCase;
+    }
+
+    /**
+     * Retrieve memberPattern value
+     *
+     * @return memberPattern value
+     */
+    public Optional<String> getMemberPattern() {
+        return memberPattern;
+    }
+
+    /**
+     * Retrieve maxConcurrentRequests value
+     *
+     * @return maxConcurrentRequests value
+     */
+    public Optional<Integer> getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    /**
+     * Retrieve encoding value
+     *
+     * @return encoding value
+     */
+    public Optional<Integer> getEncoding() {
+        return encoding;
+    }
+
+    /**
+     * Retrieve responseTimeout value
+     *
+     * @return responseTimeout value
+     */
+    public Optional<String> getResponseTimeout() {
+        return responseTimeout;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchParams{" +
+                "ignoreCase=" + ignoreCase +
+                ", memberPattern=" + memberPattern +
+                ", maxConcurrentRequests=" + maxConcurrentRequests +
+                ", encoding=" + encoding +
+                ", responseTimeout=" + responseTimeout +
+                '}';
+    }
+
+    public static class Builder {
+
+        private Boolean ignoreCase;
+        private String memberPattern;
+        private Integer maxConcurrentRequests;
+        private Integer encoding;
+        private String responseTimeout;
+
+        public SearchParams.Builder ignoreCase(Boolean ignoreCase) {
+            this.ignoreCase = ignoreCase;
+            return this;
+        }
+
+        public SearchParams.Builder memberPattern(String memberPattern) {
+            this.memberPattern = memberPattern;
+            return this;
+        }
+
+        public SearchParams.Builder maxConcurrentRequests(Integer maxConcurrentRequests) {
+            this.maxConcurrentRequests = maxConcurrentRequests;
+            return this;
+        }
+
+        public SearchParams.Builder encoding(Integer encoding) {
+            this.encoding = encoding;
+            return this;
+        }
+
+        public SearchParams.Builder responseTimeout(String responseTimeout) {
+            this.responseTimeout = responseTimeout;
+            return this;
+        }
+
+        public SearchParams build() {
+            return new SearchParams(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,195 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package zosfiles.input;
+
+import utility.TransferDigest;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * This interface defines the options that can be sent into the streaming write data set function
+ *
+ * @version 1.0
+ */
+public class UploadParams {
+
+    /**
+     * The indicator to upload the content in binary mode, no conversion is performed
+     */
+    private final Optional<Boolean> binary;
+
+    /**
+     * The indicator to upload the content in record mode, each record is prefixed by its 4 byte length
+     */
+    private final Optional<Boolean> record;
+
+    /**
+     * Code page encoding of the dataset used for text mode conversion, e.g. 1047
+     */
+    private final Optional<Integer> encoding;
+
+    /**
+     * ETag of the content previously read, the write fails with HTTP 412 if the dataset changed since
+     */
+    private final Optional<String> etag;
+
+    /**
+     * The volume on which the data set is stored
+     */
+    private final Optional<String> volume;
+
+    /**
+     * Request time out value
+     */
+    private final Optional<String> responseTimeout;
+
+    /**
+     * Digests to compute of the content as it is transferred, returned in the TransferResult
+     */
+    private final Optional<Set<TransferDigest.Algorithm>> digests;
+
+    private UploadParams(UploadParams.Builder builder) {
+        this.binary = Optional.ofNullable(builder.binary);
+        this.record = Optional.ofNullable(builder.record);
+        this.encoding = Optional.ofNullable(builder.encoding);
+        this.etag = Optional.ofNullable(builder.etag);
+        this.volume = Optional.ofNullable(builder.volume);
+        this.responseTimeout = Optional.ofNullable(builder.responseTimeout);
+        this.digests = Optional.ofNullable(builder.digests);
+    }
+
+    /**
+     * Retrieve binary value
+     *
+     * @return binary value
+     */
+    public Optional<Boolean> getBinary() {
+        return binary;
+    }
+
+    /**
+     * Retrieve record value
+     *
+     * @return record value
+     */
+    public Optional<Boolean> getRecord() {
+        return record;
+    }
+
+    /**
+     * Retrieve encoding value
+     *
+     * @return encoding value
+     */
+    public Optional<Integer> getEncoding() {
+        return encoding;
+    }
+
+    /**
+     * Retrieve etag value
+     *
+     * @return etag value
+     */
+    public Optional<String> getEtag() {
+        return etag;
+    }
+
+    /**
+     * Retrieve volume value
+     *
+     * @return volume value
+     */
+    public Optional<String> getVolume() {
+        return volume;
+    }
+
+    /**
+     * Retrieve responseTimeout value
+     *
+     * @return responseTimeout value
+     */
+    public Optional<String> getResponseTimeout() {
+        return responseTimeout;
+    }
+
+    /**
+     * Retrieve digests value
+     *
+     * @return digests value
+     */
+    public Optional<Set<TransferDigest.Algorithm>> getDigests() {
+        return digests;
+    }
+
+    @Override
+    public String toString() {
+        return "UploadParams{" +
+                "binary=" + binary +
+                ", record=" + record +
+                ", encoding=" + encoding +
+                ", etag=" + etag +
+                ", volume=" + volume +
+                ", responseTimeout=" + responseTimeout +
+                ", digests=" + digests +
+                '}';
+    }
+
+    public static class Builder {
+
+        private Boolean binary;
+        private Boolean record;
+        private Integer encoding;
+        private String etag;
+        private String volume;
+        private String responseTimeout;
+        private Set<TransferDigest.Algorithm> digests;
+
+        public UploadParams.Builder binary(Boolean binary) {
+            this.binary = binary;
+            return this;
+        }
+
+        public UploadParams.Builder record(Boolean record) {
+            this.record = record;
+            return this;
+        }
+
+        public UploadParams.Builder encoding(Integer encoding) {
+            this.encoding = encoding;
+            return this;
+        }
+
+        public UploadParams.Builder etag(String etag) {
+            this.etag = etag;
+            return this;
+        }
+
+        public UploadParams.Builder volume(String volume) {
+            this.volume = volume;
+            return this;
+        }
+
+        public UploadParams.Builder responseTimeout(String responseTimeout) {
+            this.responseTimeout = responseTimeout;
+            return this;
+        }
+
+        public UploadParams.Builder digests(Set<TransferDigest.Algorithm> digests) {
+            this.digests = digests;
+            return this;
+        }
+
+        public UploadParams build() {
+            return new UploadParams(this);
+        }
+    }
+
+}
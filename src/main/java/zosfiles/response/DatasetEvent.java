@@ -0,0 +1,137 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package zosfiles.response;
+
+import java.util.Optional;
+
+/**
+ * Represents a change of a partitioned dataset member detected by DatasetWatcher
+ *
+ * @version 1.0
+ */
+public class DatasetEvent {
+
+    /**
+     * Type enum of a detected change.
+     * <p>
+     * ADDED the member did not exist at the previous poll.
+     * CHANGED the ISPF statistics of the member differ from the previous poll.
+     * DELETED the member no longer exists.
+     */
+    public enum Type {
+        ADDED, CHANGED, DELETED
+    }
+
+    /**
+     * The type of change
+     */
+    private final Optional<Type> type;
+
+    /**
+     * The partitioned dataset name, e.g. DATASET.LIB
+     */
+    private final Optional<String> dataSetName;
+
+    /**
+     * The member name
+     */
+    private final Optional<String> memberName;
+
+    /**
+     * The member information as listed, empty for a deleted member
+     */
+    private final Optional<Member> member;
+
+    private DatasetEvent(DatasetEvent.Builder builder) {
+        this.type = Optional.ofNullable(builder.type);
+        this.dataSetName = Optional.ofNullable(builder.dataSetName);
+        this.memberName = Optional.ofNullable(builder.memberName);
+        this.member = Optional.ofNullable(builder.member);
+    }
+
+    /**
+     * Retrieve type value
+     *
+     * @return type value
+     */
+    public Optional<Type> getType() {
+        return type;
+    }
+
+    /**
+     * Retrieve dataSetName value
+     *
+     * @return dataSetName value
+     */
+    public Optional<String> getDataSetName() {
+        return dataSetName;
+    }
+
+    /**
+     * Retrieve memberName value
+     *
+     * @return memberName value
+     */
+    public Optional<String> getMemberName() {
+        return memberName;
+    }
+
+    /**
+     * Retrieve member value
+     *
+     * @return member value
+     */
+    public Optional<Member> getMember() {
+        return member;
+    }
+
+    @Override
+    public String toString() {
+        return "DatasetEvent{" +
+                "type=" + type +
+                ", dataSetName=" + dataSetName +
+                ", memberName=" + memberName +
+                '}';
+    }
+
+    public static class Builder {
+
+        private Type type;
+        private String dataSetName;
+        private String memberName;
+        private Member member;
+
+        public DatasetEvent.Builder type(Type type) {
+            this.type = type;
+            return this;
+        }
+
+        public DatasetEvent.Builder dataSetName(String dataSetName) {
+            this.dataSetName = dataSetName;
+            return this;
+        }
+
+        public DatasetEvent.Builder memberName(String memberName) {
+            this.memberName = memberName;
+            return this;
+        }
+
+        public DatasetEvent.Builder member(Member member) {
+            this.member = member;
+            return this;
+        }
+
+        public DatasetEvent build() {
+            return new DatasetEvent(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,253 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package zosfiles.response;
+
+import java.util.Optional;
+
+/**
+ * Represents a member of a z/OS partitioned data set and its ISPF statistics
+ *
+ * @version 1.0
+ */
+public class Member {
+
+    /**
+     * The name of the member
+     */
+    private final Optional<String> member;
+
+    /**
+     * The ISPF version number of the member
+     */
+    private final Optional<String> vers;
+
+    /**
+     * The ISPF modification level of the member
+     */
+    private final Optional<String> mod;
+
+    /**
+     * The date the member was created, yyyy/mm/dd
+     */
+    private final Optional<String> c4date;
+
+    /**
+     * The date the member was last modified, yyyy/mm/dd
+     */
+    private final Optional<String> m4date;
+
+    /**
+     * The current number of records in the member
+     */
+    private final Optional<String> cnorc;
+
+    /**
+     * The initial number of records in the member
+     */
+    private final Optional<String> inorc;
+
+    /**
+     * The number of modified records in the member
+     */
+    private final Optional<String> mnorc;
+
+    /**
+     * The time the member was last modified, hh:mm
+     */
+    private final Optional<String> mtime;
+
+    /**
+     * The seconds of the time the member was last modified
+     */
+    private final Optional<String> msec;
+
+    /**
+     * The user id that last modified the member
+     */
+    private final Optional<String> user;
+
+    /**
+     * Indicates if the member was last modified by SCLM
+     */
+    private final Optional<String> sclm;
+
+    private Member(Member.Builder builder) {
+        this.member = Optional.ofNullable(builder.member);
+        this.vers = Optional.ofNullable(builder.vers);
+        this.mod = Optional.ofNullable(builder.mod);
+        this.c4date = Optional.ofNullable(builder.c4date);
+        this.m4date = Optional.ofNullable(builder.m4date);
+        this.cnorc = Optional.ofNullable(builder.cnorc);
+        this.inorc = Optional.ofNullable(builder.inorc);
+        this.mnorc = Optional.ofNullable(builder.mnorc);
+        this.mtime = Optional.ofNullable(builder.mtime);
+        this.msec = Optional.ofNullable(builder.msec);
+        this.user = Optional.ofNullable(builder.user);
+        this.sclm = Optional.ofNullable(builder.sclm);
+    }
+
+    public Optional<String> getMember() {
+        return member;
+    }
+
+    public Optional<String> getVers() {
+        return vers;
+    }
+
+    public Optional<String> getMod() {
+        return mod;
+    }
+
+    public Optional<String> getC4date() {
+        return c4date;
+    }
+
+    public Optional<String> getM4date() {
+        return m4date;
+    }
+
+    public Optional<String> getCnorc() {
+        return cnorc;
+    }
+
+    public Optional<String> getInorc() {
+        return inorc;
+    }
+
+    public Optional<String> getMnorc() {
+        return mnorc;
+    }
+
+    public Optional<String> getMtime() {
+        return mtime;
+    }
+
+    public Optional<String> getMsec() {
+        return msec;
+    }
+
+    public Optional<String> getUser() {
+        return user;
+    }
+
+    public Optional<String> getSclm() {
+        return sclm;
+    }
+
+    /**
+     * Does the member carry ISPF statistics, members of load libraries or members written without ISPF
+     * statistics only have a name
+     *
+     * @return boolean true if statistics are present
+     */
+    public boolean hasStatistics() {
+        return m4date.isPresent();
+    }
+
+    @Override
+    public String toString() {
+        return "Member{" +
+                "member=" + member +
+                ", vers=" + vers +
+                ", mod=" + mod +
+                ", c4date=" + c4date +
+                ", m4date=" + m4date +
+                ", cnorc=" + cnorc +
+                ", inorc=" + inorc +
+                ", mnorc=" + mnorc +
+                ", mtime=" + mtime +
+                ", msec=" + msec +
+                ", user=" + user +
+                ", sclm=" + sclm +
+                '}';
+    }
+
+    public static class Builder {
+
+        private String member;
+        private String vers;
+        private String mod;
+        private String c4date;
+        private String m4date;
+        private String cnorc;
+        private String inorc;
+        private String mnorc;
+        private String mtime;
+        private String msec;
+        private String user;
+        private String sclm;
+
+        public Member.Builder member(String member) {
+            this.member = member;
+            return this;
+        }
+
+        public Member.Builder vers(String vers) {
+            this.vers = vers;
+            return this;
+        }
+
+        public Member.Builder mod(String mod) {
+            this.mod = mod;
+            return this;
+        }
+
+        public Member.Builder c4date(String c4date) {
+            this.c4date = c4date;
+            return this;
+        }
+
+        public Member.Builder m4date(String m4date) {
+            this.m4date = m4date;
+            return this;
+        }
+
+        public Member.Builder cnorc(String cnorc) {
+            this.cnorc = cnorc;
+            return this;
+        }
+
+        public Member.Builder inorc(String inorc) {
+            this.inorc = inorc;
+            return this;
+        }
+
+        public Member.Builder mnorc(String mnorc) {
+            this.mnorc = mnorc;
+            return this;
+        }
+
+        public Member.Builder mtime(String mtime) {
+            this.mtime = mtime;
+            return this;
+        }
+
+        public Member.Builder msec(String msec) {
+            this.msec = msec;
+            return this;
+        }
+
+        public Member.Builder user(String user) {
+            this.user = user;
+            return this;
+        }
+
+        public Member.Builder sclm(String sclm) {
+            this.sclm = sclm;
+            return this;
+        }
+
+        public Member build() {
+            return new Member(this);
+        }
+
+    }
+
+}
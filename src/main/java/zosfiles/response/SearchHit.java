@@ -0,0 +1,127 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package zosfiles.response;
+
+import java.util.Optional;
+
+/**
+ * Represents a line of a dataset or member containing a searched pattern
+ *
+ * @version 1.0
+ */
+public class SearchHit {
+
+    /**
+     * The dataset or dataset member name, e.g. DATASET.LIB(MEMBER)
+     */
+    private final Optional<String> name;
+
+    /**
+     * The line number of the hit, starting at 1
+     */
+    private final long lineNumber;
+
+    /**
+     * The pattern found on the line
+     */
+    private final Optional<String> pattern;
+
+    /**
+     * The content of the line
+     */
+    private final Optional<String> line;
+
+    private SearchHit(SearchHit.Builder builder) {
+        this.name = Optional.ofNullable(builder.name);
+        this.lineNumber = builder.lineNumber;
+        this.pattern = Optional.ofNullable(builder.pattern);
+        this.line = Optional.ofNullable(builder.line);
+    }
+
+    /**
+     * Retrieve name value
+     *
+     * @return name value
+     */
+    public Optional<String> getName() {
+        return name;
+    }
+
+    /**
+     * Retrieve lineNumber value
+     *
+     * @return lineNumber value
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Retrieve pattern value
+     *
+     * @return pattern value
+     */
+    public Optional<String> getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Retrieve line value
+     *
+     * @return line value
+     */
+    public Optional<String> getLine() {
+        return line;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchHit{" +
+                "name=" + name +
+                ", lineNumber=" + lineNumber +
+                ", pattern=" + pattern +
+                ", line=" + line +
+                '}';
+    }
+
+    public static class Builder {
+
+        private String name;
+        private long lineNumber;
+        private String pattern;
+        private String line;
+
+        public SearchHit.Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public SearchHit.Builder lineNumber(long lineNumber) {
+            this.lineNumber = lineNumber;
+            return this;
+        }
+
+        public SearchHit.Builder pattern(String pattern) {
+            this.pattern = pattern;
+            return this;
+        }
+
+        public SearchHit.Builder line(String line) {
+            this.line = line;
+            return this;
+        }
+
+        public SearchHit build() {
+            return new SearchHit(this);
+        }
+
+    }
+
+}
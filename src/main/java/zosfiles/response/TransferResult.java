@@ -0,0 +1,232 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package zosfiles.response;
+
+import utility.TransferDigest;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Represents the outcome of a single dataset or member transfer performed as part of a bulk operation
+ *
+ * @version 1.0
+ */
+public class TransferResult {
+
+    /**
+     * The dataset or dataset member name, e.g. DATASET.LIB(MEMBER)
+     */
+    private final Optional<String> name;
+
+    /**
+     * The local file the content was transferred to or from
+     */
+    private final Optional<String> file;
+
+    /**
+     * Number of bytes transferred
+     */
+    private final long bytes;
+
+    /**
+     * Time taken for the transfer in milliseconds
+     */
+    private final long elapsedMillis;
+
+    /**
+     * The ETag of the dataset content as reported by z/OSMF
+     */
+    private final Optional<String> etag;
+
+    /**
+     * Digests of the transferred content computed as it flowed, hex encoded per algorithm
+     */
+    private final Map<TransferDigest.Algorithm, String> digests;
+
+    /**
+     * The error that caused the transfer to fail
+     */
+    private final Optional<Exception> error;
+
+    private TransferResult(TransferResult.Builder builder) {
+        this.name = Optional.ofNullable(builder.name);
+        this.file = Optional.ofNullable(builder.file);
+        this.bytes = builder.bytes;
+        this.elapsedMillis = builder.elapsedMillis;
+        this.etag = Optional.ofNullable(builder.etag);
+        this.digests = Collections.unmodifiableMap(new EnumMap<>(builder.digests));
+        this.error = Optional.ofNullable(builder.error);
+    }
+
+    /**
+     * Retrieve name value
+     *
+     * @return name value
+     */
+    public Optional<String> getName() {
+        return name;
+    }
+
+    /**
+     * Retrieve file value
+     *
+     * @return file value
+     */
+    public Optional<String> getFile() {
+        return file;
+    }
+
+    /**
+     * Retrieve bytes value
+     *
+     * @return bytes value
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Retrieve elapsedMillis value
+     *
+     * @return elapsedMillis value
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Retrieve etag value
+     *
+     * @return etag value
+     */
+    public Optional<String> getEtag() {
+        return etag;
+    }
+
+    /**
+     * Retrieve digests value
+     *
+     * @return map of algorithm and hex digest, empty if no digest was requested
+     */
+    public Map<TransferDigest.Algorithm, String> getDigests() {
+        return digests;
+    }
+
+    /**
+     * Retrieve the digest of the content for an algorithm
+     *
+     * @param algorithm digest algorithm, see TransferDigest.Algorithm
+     * @return hex digest value
+     */
+    public Optional<String> getDigest(TransferDigest.Algorithm algorithm) {
+        return Optional.ofNullable(digests.get(algorithm));
+    }
+
+    /**
+     * Retrieve error value
+     *
+     * @return error value
+     */
+    public Optional<Exception> getError() {
+        return error;
+    }
+
+    /**
+     * Retrieve the throughput of the transfer
+     *
+     * @return bytes per second value
+     */
+    public double getBytesPerSecond() {
+        if (elapsedMillis <= 0) {
+            return bytes;
+        }
+        return bytes * 1000.0 / elapsedMillis;
+    }
+
+    /**
+     * Did the transfer complete without an error
+     *
+     * @return boolean true if no error occurred
+     */
+    public boolean isSuccess() {
+        return error.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "TransferResult{" +
+                "name=" + name +
+                ", file=" + file +
+                ", bytes=" + bytes +
+                ", elapsedMillis=" + elapsedMillis +
+                ", etag=" + etag +
+                ", digests=" + digests +
+                ", error=" + error +
+                '}';
+    }
+
+    public static class Builder {
+
+        private String name;
+        private String file;
+        private long bytes;
+        private long elapsedMillis;
+        private String etag;
+        private Map<TransferDigest.Algorithm, String> digests = new EnumMap<>(TransferDigest.Algorithm.class);
+        private Exception error;
+
+        public TransferResult.Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public TransferResult.Builder file(String file) {
+            this.file = file;
+            return this;
+        }
+
+        public TransferResult.Builder bytes(long bytes) {
+            this.bytes = bytes;
+            return this;
+        }
+
+        public TransferResult.Builder elapsedMillis(long elapsedMillis) {
+            this.elapsedMillis = elapsedMillis;
+            return this;
+        }
+
+        public TransferResult.Builder etag(String etag) {
+            this.etag = etag;
+            return this;
+        }
+
+        public TransferResult.Builder digests(Map<TransferDigest.Algorithm, String> digests) {
+            this.digests = new EnumMap<>(TransferDigest.Algorithm.class);
+            if (digests != null) {
+                this.digests.putAll(digests);
+            }
+            return this;
+        }
+
+        public TransferResult.Builder error(Exception error) {
+            this.error = error;
+            return this;
+        }
+
+        public TransferResult build() {
+            return new TransferResult(this);
+        }
+
+    }
+
+}
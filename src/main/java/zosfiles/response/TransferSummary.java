@@ -0,0 +1,144 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package zosfiles.response;
+
+import utility.TransferDigest;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Summary of a bulk operation containing each individual transfer result and overall throughput
+ *
+ * @version 1.0
+ */
+public class TransferSummary {
+
+    /**
+     * Individual results in the order the items were requested
+     */
+    private final List<TransferResult> results;
+
+    /**
+     * Wall clock time of the whole bulk operation in milliseconds
+     */
+    private final long elapsedMillis;
+
+    /**
+     * TransferSummary constructor
+     *
+     * @param results       individual results, see TransferResult object
+     * @param elapsedMillis wall clock time of the whole bulk operation in milliseconds
+     */
+    public TransferSummary(List<TransferResult> results, long elapsedMillis) {
+        this.results = Collections.unmodifiableList(results);
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Retrieve results value
+     *
+     * @return results value
+     */
+    public List<TransferResult> getResults() {
+        return results;
+    }
+
+    /**
+     * Retrieve the results that completed without an error
+     *
+     * @return list of successful results
+     */
+    public List<TransferResult> getSucceeded() {
+        return results.stream().filter(TransferResult::isSuccess).collect(Collectors.toList());
+    }
+
+    /**
+     * Retrieve the results that failed
+     *
+     * @return list of failed results
+     */
+    public List<TransferResult> getFailed() {
+        return results.stream().filter(r -> !r.isSuccess()).collect(Collectors.toList());
+    }
+
+    /**
+     * Retrieve the total number of bytes transferred
+     *
+     * @return total bytes value
+     */
+    public long getTotalBytes() {
+        return results.stream().mapToLong(TransferResult::getBytes).sum();
+    }
+
+    /**
+     * Retrieve elapsedMillis value
+     *
+     * @return elapsedMillis value
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Retrieve the overall throughput of the bulk operation
+     *
+     * @return bytes per second value
+     */
+    public double getBytesPerSecond() {
+        if (elapsedMillis <= 0) {
+            return getTotalBytes();
+        }
+        return getTotalBytes() * 1000.0 / elapsedMillis;
+    }
+
+    /**
+     * Retrieve the overall rate of the bulk operation, e.g. for deletes which transfer no bytes
+     *
+     * @return items per second value
+     */
+    public double getItemsPerSecond() {
+        if (elapsedMillis <= 0) {
+            return results.size();
+        }
+        return results.size() * 1000.0 / elapsedMillis;
+    }
+
+    /**
+     * Retrieve the digests of the successful transfers in the format of the sha256sum and similar tools, one
+     * line per transfer holding the hex digest, two spaces and the local file, or the name when no local file
+     * is known. The content can be saved as an audit record or checked later with e.g. "sha256sum -c".
+     *
+     * @param algorithm digest algorithm, see TransferDigest.Algorithm
+     * @return digest lines, transfers without a digest for the algorithm are left out
+     */
+    public String getDigestManifest(TransferDigest.Algorithm algorithm) {
+        StringBuilder manifest = new StringBuilder();
+        for (TransferResult result : getSucceeded()) {
+            result.getDigest(algorithm).ifPresent(digest -> manifest.append(digest).append("  ")
+                    .append(result.getFile().orElse(result.getName().orElse(""))).append('\n'));
+        }
+        return manifest.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "TransferSummary{" +
+                "items=" + results.size() +
+                ", failed=" + getFailed().size() +
+                ", totalBytes=" + getTotalBytes() +
+                ", elapsedMillis=" + elapsedMillis +
+                ", bytesPerSecond=" + String.format("%.0f", getBytesPerSecond()) +
+                ", itemsPerSecond=" + String.format("%.1f", getItemsPerSecond()) +
+                '}';
+    }
+
+}
@@ -15,16 +15,22 @@ import org.apache.logging.log4j.Logger;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import rest.*;
+import utility.TransferDigest;
 import utility.Util;
+import utility.UtilFiles;
 import utility.UtilJobs;
 import utility.UtilRest;
+import zosfiles.response.TransferResult;
 import zosjobs.input.CommonJobParams;
 import zosjobs.input.GetJobParams;
 import zosjobs.input.JobFile;
 import zosjobs.response.Job;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Class to handle obtaining of z/OS batch job information
@@ -456,7 +462,8 @@ public class GetJobs {
     }
 
     /**
-     * Get spool content from a job (keeping naming convention patter with this duplication function).
+     * Get spool content from a job (keeping naming convention patter with this duplication function). The
+     * content is transferred as BULK, see BandwidthLimiter.
      *
      * @param jobFile spool file for which you want to retrieve the content
      * @return spool content
@@ -464,11 +471,25 @@ public class GetJobs {
      * @author Frank Giordano
      */
     public String getSpoolContent(JobFile jobFile) throws Exception {
-        return getSpoolContentCommon(jobFile);
+        return getSpoolContent(jobFile, BandwidthLimiter.Priority.BULK);
     }
 
     /**
-     * Get spool content from a job using the job name, job ID, and spool ID number from z/OSMF.
+     * Get spool content from a job transferred with the given priority, see BandwidthLimiter.
+     *
+     * @param jobFile  spool file for which you want to retrieve the content
+     * @param priority transfer priority, INTERACTIVE is never bandwidth limited
+     * @return spool content
+     * @throws Exception error on getting spool content
+     */
+    public String getSpoolContent(JobFile jobFile, BandwidthLimiter.Priority priority) throws Exception {
+        Util.checkNullParameter(priority == null, "priority is null");
+        return BandwidthLimiter.callWithPriority(priority, () -> getSpoolContentCommon(jobFile));
+    }
+
+    /**
+     * Get spool content from a job using the job name, job ID, and spool ID number from z/OSMF. The content is
+     * transferred as BULK, see BandwidthLimiter.
      *
      * @param jobName job name for the job containing the spool content
      * @param jobId   job id for the job containing the spool content
@@ -493,7 +514,8 @@ public class GetJobs {
         } else {
             request.setRequest(url);
         }
-        Response response = request.executeRequest();
+        Response response = BandwidthLimiter.callWithPriority(BandwidthLimiter.Priority.BULK,
+                request::executeRequest);
         if (response.isEmpty())
             return "";
         UtilRest.checkHttpErrors(response);
@@ -532,6 +554,61 @@ public class GetJobs {
         return (String) response.getResponsePhrase().orElse("");
     }
 
+    /**
+     * Download spool content from a job into a local file, resuming an interrupted transfer instead of
+     * starting over.
+     * <p>
+     * Progress is saved by complete record in a checkpoint file next to the target file. A failure is resumed
+     * with a record range request starting at the first missing record, either within this call or by calling
+     * it again after the process restarted.
+     *
+     * @param jobFile spool file for which you want to retrieve the content
+     * @param file    local file to write
+     * @return transfer result holding the size of the completed file
+     * @throws Exception error on getting spool content
+     */
+    public TransferResult downloadSpoolContentResumable(JobFile jobFile, Path file) throws Exception {
+        return downloadSpoolContentResumable(jobFile, file, Set.of());
+    }
+
+    /**
+     * Download spool content from a job into a local file, resuming an interrupted transfer, see
+     * downloadSpoolContentResumable, computing digests of the content as it is written.
+     *
+     * @param jobFile spool file for which you want to retrieve the content
+     * @param file    local file to write
+     * @param digests digests to compute, see TransferDigest.Algorithm
+     * @return transfer result holding the size and the digests of the completed file
+     * @throws Exception error on getting spool content
+     */
+    public TransferResult downloadSpoolContentResumable(JobFile jobFile, Path file,
+                                                        Set<TransferDigest.Algorithm> digests) throws Exception {
+        Util.checkNullParameter(digests == null, "digests is null");
+        Util.checkNullParameter(jobFile == null, "jobFile is null");
+        Util.checkIllegalParameter(jobFile.getJobName().isEmpty(), "jobName not specified");
+        Util.checkIllegalParameter(jobFile.getJobId().isEmpty(), "jobId not specified");
+        Util.checkIllegalParameter(jobFile.getId().isEmpty(), "id not specified");
+        Util.checkNullParameter(file == null, "file is null");
+
+        String spoolUrl = "https://" + connection.getHost() + ":" + connection.getZosmfPort() +
+                JobsConstants.RESOURCE + "/" + Util.encodeURIComponent(jobFile.getJobName().get()) + "/" +
+                jobFile.getJobId().get() + JobsConstants.RESOURCE_SPOOL_FILES + "/" + jobFile.getId().get() +
+                JobsConstants.RESOURCE_SPOOL_CONTENT;
+
+        LOG.debug(spoolUrl);
+
+        String name = jobFile.getJobName().get() + "/" + jobFile.getJobId().get() + "/" + jobFile.getId().get();
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        return UtilFiles.downloadResumable(name, file, headers -> {
+            ZoweRequest streamRequest = ZoweRequestFactory.buildRequest(connection, spoolUrl, null,
+                    ZoweRequestType.VerbType.GET_STREAM);
+            streamRequest.setHeaders(headers);
+            Response response = streamRequest.executeRequest();
+            UtilRest.checkHttpErrors(response);
+            return response;
+        }, false, digests);
+    }
+
     /**
      * Get url specified for rest processing.
      *
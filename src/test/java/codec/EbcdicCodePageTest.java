@@ -0,0 +1,88 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package codec;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class EbcdicCodePageTest {
+
+    private static byte[] allBytes() {
+        byte[] bytes = new byte[256];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        return bytes;
+    }
+
+    @Test
+    public void tstDecodeMatchesCharsetSuccess() {
+        byte[] bytes = allBytes();
+        for (String name : new String[]{"IBM037", "IBM1047", "IBM273", "IBM01140"}) {
+            String expected = new String(bytes, Charset.forName(name));
+            EbcdicCodePage codePage = EbcdicCodePage.forName(name);
+            assertEquals(name, expected, codePage.decode(bytes, 0, bytes.length));
+            assertArrayEquals(name, expected.getBytes(Charset.forName(name)), codePage.encode(expected));
+        }
+    }
+
+    @Test
+    public void tstForNameSuccess() {
+        EbcdicCodePage codePage = EbcdicCodePage.forNumber(1047);
+        assertSame(codePage, EbcdicCodePage.forName("IBM-1047"));
+        assertSame(codePage, EbcdicCodePage.forName("cp1047"));
+        assertEquals("IBM-037", EbcdicCodePage.forName("37").getName());
+        assertEquals(EbcdicCodePage.SUB, codePage.encode('\u4E00'));
+        EbcdicCodePage ibm037 = EbcdicCodePage.forNumber(37);
+        assertEquals('\n', ibm037.decode((byte) 0x25));
+        assertEquals(0x15, ibm037.encode('\n'));
+    }
+
+    @Test
+    public void tstForNameFailure() {
+        assertThrows(IllegalArgumentException.class, () -> EbcdicCodePage.forName("UTF-8"));
+        assertThrows(IllegalArgumentException.class, () -> EbcdicCodePage.forNumber(437));
+    }
+
+    @Test
+    public void tstStreamsSuccess() throws Exception {
+        EbcdicCodePage codePage = EbcdicCodePage.forNumber(1047);
+        String text = "HELLO, w\u00F6rld [ok] \u20AC?\n".repeat(5000);
+        Charset charset = Charset.forName("IBM1047");
+
+        ByteArrayOutputStream ebcdic = new ByteArrayOutputStream();
+        try (Writer writer = new EbcdicWriter(ebcdic, codePage)) {
+            writer.write(text);
+        }
+        assertArrayEquals(text.getBytes(charset), ebcdic.toByteArray());
+
+        StringBuilder decoded = new StringBuilder();
+        try (Reader reader = new EbcdicReader(new ByteArrayInputStream(ebcdic.toByteArray()), codePage)) {
+            char[] buffer = new char[1000];
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                decoded.append(buffer, 0, read);
+            }
+        }
+        assertEquals(new String(ebcdic.toByteArray(), charset), decoded.toString());
+
+        byte[] utf8 = new EbcdicInputStream(new ByteArrayInputStream(ebcdic.toByteArray()), codePage).readAllBytes();
+        assertArrayEquals(decoded.toString().getBytes(StandardCharsets.UTF_8), utf8);
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package codec;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class RecordInputStreamTest {
+
+    private final EbcdicCodePage codePage = EbcdicCodePage.forNumber(1047);
+
+    private List<String> readAll(InputStream inputStream) throws IOException {
+        List<String> records = new ArrayList<>();
+        try (RecordReader reader = new RecordReader(inputStream, RecordReader.Format.RECORD, 0)) {
+            ByteBuffer record;
+            while ((record = reader.next()) != null) {
+                records.add(codePage.decode(record));
+            }
+        }
+        return records;
+    }
+
+    @Test
+    public void tstIteratorSuccess() throws Exception {
+        List<String> expected = List.of("FIRST", "", "X".repeat(70_000), "LAST");
+        List<ByteBuffer> records = expected.stream().map(r -> ByteBuffer.wrap(codePage.encode(r)))
+                .collect(Collectors.toList());
+        RecordInputStream inputStream = new RecordInputStream(records.iterator());
+
+        assertEquals(expected, readAll(inputStream));
+        assertEquals(4, inputStream.getRecordCount());
+        assertEquals(0, records.get(0).position());
+    }
+
+    @Test
+    public void tstPublisherSuccess() throws Exception {
+        List<String> expected = IntStream.range(0, 1000).mapToObj(i -> "RECORD " + i).collect(Collectors.toList());
+        SubmissionPublisher<ByteBuffer> publisher = new SubmissionPublisher<>();
+        RecordInputStream inputStream = RecordInputStream.fromPublisher(publisher, 4);
+        Thread producer = new Thread(() -> {
+            expected.forEach(r -> publisher.submit(ByteBuffer.wrap(codePage.encode(r))));
+            publisher.close();
+        });
+        producer.start();
+
+        assertEquals(expected, readAll(inputStream));
+        producer.join();
+    }
+
+    @Test
+    public void tstPublisherFailure() throws Exception {
+        SubmissionPublisher<ByteBuffer> publisher = new SubmissionPublisher<>();
+        RecordInputStream inputStream = RecordInputStream.fromPublisher(publisher, 4);
+        publisher.submit(ByteBuffer.wrap(codePage.encode("FIRST")));
+        publisher.closeExceptionally(new IllegalStateException("source failed"));
+
+        assertThrows(IOException.class, () -> readAll(inputStream));
+    }
+
+}
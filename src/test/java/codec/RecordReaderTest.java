@@ -0,0 +1,107 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package codec;
+
+import org.junit.Test;
+import utility.UtilDataset;
+import zosfiles.response.Dataset;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class RecordReaderTest {
+
+    private final EbcdicCodePage codePage = EbcdicCodePage.forNumber(1047);
+
+    private List<String> readAll(RecordReader reader) throws IOException {
+        List<String> records = new ArrayList<>();
+        ByteBuffer record;
+        while ((record = reader.next()) != null) {
+            records.add(codePage.decode(record));
+        }
+        return records;
+    }
+
+    private static void writeShort(ByteArrayOutputStream out, int value) {
+        out.write(value >> 8);
+        out.write(value);
+    }
+
+    private byte[] variable(String... records) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (String record : records) {
+            writeShort(out, record.length() + 4);
+            writeShort(out, 0);
+            out.writeBytes(codePage.encode(record));
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    public void tstRecordModeSuccess() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        String large = "X".repeat(100_000);
+        for (String record : new String[]{"FIRST", "", large}) {
+            out.write(record.length() >>> 24);
+            out.write(record.length() >>> 16);
+            writeShort(out, record.length());
+            out.writeBytes(codePage.encode(record));
+        }
+
+        RecordReader reader = new RecordReader(new ByteArrayInputStream(out.toByteArray()),
+                RecordReader.Format.RECORD, 0);
+        assertEquals(List.of("FIRST", "", large), readAll(reader));
+        assertEquals(3, reader.getRecordCount());
+    }
+
+    @Test
+    public void tstFixedSuccess() throws Exception {
+        Dataset dataset = new Dataset.Builder().recfm("FB").lrectl("8").build();
+        byte[] content = codePage.encode("RECORD 1RECORD 2");
+        RecordReader reader = RecordReader.forDataset(new ByteArrayInputStream(content), dataset,
+                UtilDataset.DataType.BINARY);
+        assertEquals(List.of("RECORD 1", "RECORD 2"), readAll(reader));
+    }
+
+    @Test
+    public void tstVariableBlockedSuccess() throws Exception {
+        byte[] block1 = variable("ONE", "TWO");
+        byte[] block2 = variable("THREE");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] block : new byte[][]{block1, block2}) {
+            writeShort(out, block.length + 4);
+            writeShort(out, 0);
+            out.writeBytes(block);
+        }
+
+        Dataset dataset = new Dataset.Builder().recfm("VB").lrectl("255").build();
+        RecordReader reader = RecordReader.forDataset(new ByteArrayInputStream(out.toByteArray()), dataset,
+                UtilDataset.DataType.BINARY);
+        assertEquals(List.of("ONE", "TWO", "THREE"), readAll(reader));
+
+        reader = new RecordReader(new ByteArrayInputStream(variable("ONE", "TWO")), RecordReader.Format.VARIABLE, 0);
+        assertEquals(List.of("ONE", "TWO"), readAll(reader));
+    }
+
+    @Test
+    public void tstTruncatedFailure() throws Exception {
+        byte[] content = codePage.encode("RECORD 1REC");
+        RecordReader reader = new RecordReader(new ByteArrayInputStream(content), RecordReader.Format.FIXED, 8);
+        assertNotNull(reader.next());
+        assertThrows(IOException.class, reader::next);
+    }
+
+}
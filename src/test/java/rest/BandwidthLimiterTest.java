@@ -0,0 +1,95 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package rest;
+
+import core.ZOSConnection;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.protocol.BasicHttpContext;
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.powermock.reflect.Whitebox;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+
+public class BandwidthLimiterTest {
+
+    private final ZOSConnection connection = new ZOSConnection("1", "1", "1", "1");
+
+    @After
+    public void tearDown() {
+        BandwidthLimiter.setLimiter(connection, null);
+        BandwidthLimiter.setGlobal(null);
+    }
+
+    @Test
+    public void tstReserveWaitsOnceTheBurstIsSpent() {
+        BandwidthLimiter limiter = new BandwidthLimiter(1000, 500);
+        assertEquals(0, limiter.reserve(500));
+        long waitNanos = limiter.reserve(1000);
+        assertTrue(waitNanos > 900_000_000L && waitNanos <= 1_000_000_000L);
+    }
+
+    @Test
+    public void tstLimitAppliesToBulkPriorityOnly() throws Exception {
+        BandwidthLimiter.setLimiter(connection, new BandwidthLimiter(1000));
+        InputStream body = new ByteArrayInputStream(new byte[10]);
+
+        assertSame(body, BandwidthLimiter.limit(connection, body));
+        InputStream limited = BandwidthLimiter.callWithPriority(BandwidthLimiter.Priority.BULK,
+                () -> BandwidthLimiter.limit(connection, body));
+        assertNotSame(body, limited);
+        assertEquals(10, limited.readAllBytes().length);
+        assertEquals(BandwidthLimiter.Priority.INTERACTIVE, BandwidthLimiter.getPriority());
+    }
+
+    @Test
+    public void tstLimitWithoutLimiterKeepsStream() throws Exception {
+        InputStream body = new ByteArrayInputStream(new byte[10]);
+        assertSame(body, BandwidthLimiter.callWithPriority(BandwidthLimiter.Priority.BULK,
+                () -> BandwidthLimiter.limit(connection, body)));
+    }
+
+    @Test
+    public void tstTextBodyOfBulkRequestLimited() throws Exception {
+        BandwidthLimiter limiter = new BandwidthLimiter(1000, 1000);
+        BandwidthLimiter.setLimiter(connection, limiter);
+        String body = "x".repeat(1000);
+
+        assertEquals(body, getTextRequest(body).executeRequest().getResponsePhrase().orElse(""));
+        assertEquals(0, limiter.reserve(0));
+
+        TextGetRequest request = getTextRequest(body);
+        Response response = BandwidthLimiter.callWithPriority(BandwidthLimiter.Priority.BULK,
+                request::executeRequest);
+        assertEquals(body, response.getResponsePhrase().orElse(""));
+        assertTrue(limiter.reserve(1000) > 0);
+    }
+
+    private TextGetRequest getTextRequest(String body) throws Exception {
+        HttpClient httpClient = Mockito.mock(HttpClient.class);
+        BasicHttpResponse httpResponse = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+        httpResponse.setEntity(new StringEntity(body));
+        Mockito.when(httpClient.execute(any(HttpUriRequest.class), any(BasicHttpContext.class)))
+                .thenReturn(httpResponse);
+        TextGetRequest request = new TextGetRequest(connection, "http://url:23");
+        Whitebox.setInternalState(request, "client", httpClient);
+        return request;
+    }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package utility;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class AhoCorasickTest {
+
+    private static List<String> findAll(AhoCorasick matcher, String text) {
+        List<String> found = new ArrayList<>();
+        int state = matcher.start();
+        for (byte b : text.getBytes(StandardCharsets.UTF_8)) {
+            state = matcher.next(state, b);
+            for (int match : matcher.getMatches(state)) {
+                found.add(matcher.getPattern(match));
+            }
+        }
+        return found;
+    }
+
+    @Test
+    public void tstOverlappingPatternsSuccess() {
+        AhoCorasick matcher = new AhoCorasick(List.of("he", "she", "his", "hers"), false);
+        List<String> found = findAll(matcher, "ushers");
+        assertEquals(3, found.size());
+        assertTrue(found.containsAll(List.of("she", "he", "hers")));
+    }
+
+    @Test
+    public void tstIgnoreCaseSuccess() {
+        AhoCorasick matcher = new AhoCorasick(List.of("Perform"), true);
+        assertEquals(List.of("Perform"), findAll(matcher, "       PERFORM PARA-1"));
+        assertTrue(findAll(new AhoCorasick(List.of("Perform"), false), "PERFORM").isEmpty());
+    }
+
+    @Test
+    public void tstEmptyPatternFail() {
+        String msg = null;
+        try {
+            new AhoCorasick(List.of("a", ""), false);
+        } catch (Exception e) {
+            msg = e.getMessage();
+        }
+        assertEquals("patterns contain an empty pattern", msg);
+    }
+
+}
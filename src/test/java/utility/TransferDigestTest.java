@@ -0,0 +1,65 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package utility;
+
+import org.junit.Test;
+import zosfiles.response.TransferResult;
+import zosfiles.response.TransferSummary;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class TransferDigestTest {
+
+    private static final byte[] CHECK = "123456789".getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    public void tstDigestsOfStreamedContent() throws Exception {
+        TransferDigest digest = new TransferDigest(EnumSet.allOf(TransferDigest.Algorithm.class));
+        try (InputStream inputStream = digest.wrap(new ByteArrayInputStream(CHECK))) {
+            assertEquals(CHECK.length, inputStream.readAllBytes().length);
+        }
+
+        Map<TransferDigest.Algorithm, String> digests = digest.getDigests();
+        assertEquals("e3069283", digests.get(TransferDigest.Algorithm.CRC32C));
+        assertEquals("15e2b0d3c33891ebb0f1ef609ec419420c20e320ce94c65fbc8c3312448eb225",
+                digests.get(TransferDigest.Algorithm.SHA256));
+    }
+
+    @Test
+    public void tstDisabledDigestKeepsStream() {
+        TransferDigest digest = new TransferDigest(Set.of());
+        InputStream inputStream = new ByteArrayInputStream(CHECK);
+        assertFalse(digest.isEnabled());
+        assertSame(inputStream, digest.wrap(inputStream));
+        assertTrue(digest.getDigests().isEmpty());
+    }
+
+    @Test
+    public void tstDigestManifestListsSucceededTransfers() {
+        TransferDigest digest = new TransferDigest(Set.of(TransferDigest.Algorithm.CRC32C));
+        digest.update(CHECK, 0, CHECK.length);
+        TransferResult succeeded = new TransferResult.Builder().name("A.B").file("a.b.txt")
+                .digests(digest.getDigests()).build();
+        TransferResult failed = new TransferResult.Builder().name("A.C").error(new Exception("failed")).build();
+
+        TransferSummary summary = new TransferSummary(List.of(succeeded, failed), 1);
+        assertEquals("e3069283  a.b.txt\n", summary.getDigestManifest(TransferDigest.Algorithm.CRC32C));
+        assertEquals("", summary.getDigestManifest(TransferDigest.Algorithm.SHA256));
+    }
+
+}
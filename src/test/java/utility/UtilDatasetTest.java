@@ -0,0 +1,69 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package utility;
+
+import org.junit.Test;
+import rest.Response;
+import rest.ZosmfError;
+import rest.ZosmfRequestException;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class UtilDatasetTest {
+
+    @Test
+    public void tstZosmfErrorParsedFromBody() {
+        ZosmfError error = UtilRest.getZosmfError("{\"category\":4,\"rc\":8,\"reason\":528," +
+                "\"message\":\"Dynamic allocation Error\",\"details\":[\"IKJ56225I DATA SET PROD.LIB ALREADY IN USE\"]}");
+        assertNotNull(error);
+        assertEquals(Long.valueOf(4), error.getCategory().orElse(null));
+        assertEquals(Long.valueOf(528), error.getReason().orElse(null));
+        assertEquals(1, error.getDetails().size());
+        assertNull(UtilRest.getZosmfError("<html>Internal Server Error</html>"));
+        assertNull(UtilRest.getZosmfError(""));
+    }
+
+    @Test
+    public void tstCheckHttpErrorsKeepsZosmfError() {
+        ZosmfError enq = new ZosmfError(4L, 8L, 0x210L, "Dynamic allocation Error", null);
+        try {
+            UtilRest.checkHttpErrors(new Response("Internal Server Error", 500, null, enq));
+            fail();
+        } catch (Exception e) {
+            try {
+                UtilDataset.checkHttpErrors(e, List.of("PROD.LIB(A)"), UtilDataset.Operation.write);
+                fail();
+            } catch (Exception error) {
+                assertTrue(error.getMessage().contains("for WRITE request"));
+                assertTrue(UtilDataset.isEnqContention(error));
+            }
+        }
+    }
+
+    @Test
+    public void tstEnqContentionClassifiedByErrorDocument() {
+        assertTrue(UtilDataset.isEnqContention(new ZosmfRequestException("Http error code 500.", 500,
+                new ZosmfError(4L, 8L, 0x210L, "Dynamic allocation Error", null))));
+        assertTrue(UtilDataset.isEnqContention(new ZosmfRequestException("Http error code 500.", 500,
+                new ZosmfError(4L, 8L, 0L, "Dynamic allocation Error",
+                        List.of("IKJ56225I DATA SET PROD.LIB ALREADY IN USE, TRY LATER")))));
+
+        // a dataset name or reason phrase naming "ENQ" or "in use" is no contention
+        assertFalse(UtilDataset.isEnqContention(new Exception("Http error code 500 for WRITE request. " +
+                "You may not have permission to 'PROD.ENQUIRY' in use")));
+        assertFalse(UtilDataset.isEnqContention(new ZosmfRequestException("Http error code 409 Conflict.", 409,
+                null)));
+        assertFalse(UtilDataset.isEnqContention(new ZosmfRequestException("Http error code 500.", 500,
+                new ZosmfError(8L, 4L, 0L, "ISRZ002 Data set PROD.ENQUIRY not cataloged", null))));
+    }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package utility;
+
+import org.junit.Test;
+import zosfiles.response.TransferResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.junit.Assert.assertEquals;
+
+public class UtilFilesTest {
+
+    @Test
+    public void tstGetLargestFirstOrderKeepsUnknownSizesLast() {
+        List<Integer> order = UtilFiles.getLargestFirstOrder(List.of(0L, 10L, 0L, 500L, 10L));
+        assertEquals(List.of(3, 1, 4, 0, 2), order);
+    }
+
+    @Test
+    public void tstRunConcurrentlyStartsLargestFirstAndKeepsTaskOrder() throws Exception {
+        List<String> started = Collections.synchronizedList(new ArrayList<>());
+        List<Callable<TransferResult>> tasks = new ArrayList<>();
+        for (String name : List.of("A", "B", "C")) {
+            tasks.add(() -> {
+                started.add(name);
+                return new TransferResult.Builder().name(name).build();
+            });
+        }
+
+        List<TransferResult> results = UtilFiles.runConcurrently(tasks, List.of(1L, 300L, 20L), 1, true);
+
+        assertEquals(List.of("B", "C", "A"), started);
+        assertEquals("A", results.get(0).getName().orElse(""));
+        assertEquals("B", results.get(1).getName().orElse(""));
+        assertEquals("C", results.get(2).getName().orElse(""));
+    }
+
+}
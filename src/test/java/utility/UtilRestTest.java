@@ -0,0 +1,54 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package utility;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class UtilRestTest {
+
+    @Test
+    public void tstParseJsonItemsSuccess() throws Exception {
+        String json = "{\"items\":[{\"member\":\"A\",\"vers\":1,\"tags\":[\"x\",{\"y\":2}]},{\"member\":\"B\"}]," +
+                "\"returnedRows\":2,\"moreRows\":true,\"JSONversion\":1}";
+        List<JSONObject> items = new ArrayList<>();
+
+        JSONObject fields = UtilRest.parseJsonItems(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), "items", items::add);
+
+        assertEquals(2, items.size());
+        assertEquals("A", items.get(0).get("member"));
+        assertEquals(1L, items.get(0).get("vers"));
+        JSONArray tags = (JSONArray) items.get(0).get("tags");
+        assertEquals("x", tags.get(0));
+        assertEquals(2L, ((JSONObject) tags.get(1)).get("y"));
+        assertEquals("B", items.get(1).get("member"));
+        assertEquals(2L, fields.get("returnedRows"));
+        assertEquals(true, fields.get("moreRows"));
+        assertFalse(fields.containsKey("items"));
+    }
+
+    @Test
+    public void tstParseJsonItemsEmptySuccess() throws Exception {
+        List<JSONObject> items = new ArrayList<>();
+        UtilRest.parseJsonItems(new ByteArrayInputStream("{\"items\":[]}".getBytes(StandardCharsets.UTF_8)),
+                "items", items::add);
+        assertTrue(items.isEmpty());
+    }
+
+}
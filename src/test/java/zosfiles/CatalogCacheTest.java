@@ -0,0 +1,92 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package zosfiles;
+
+import core.ZOSConnection;
+import org.junit.Test;
+import zosfiles.input.ListParams;
+import zosfiles.response.Dataset;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class CatalogCacheTest {
+
+    private final ZOSConnection connection = new ZOSConnection("1", "1", "1", "1");
+
+    private final ListParams params = new ListParams.Builder().build();
+
+    private static Dataset dataset(String name) {
+        return new Dataset.Builder().dsname(name).build();
+    }
+
+    private static List<String> names(List<Dataset> datasets) {
+        return datasets.stream().map(d -> d.getDsname().orElse("")).collect(Collectors.toList());
+    }
+
+    @Test
+    public void tstNarrowerPatternSuccess() {
+        CatalogCache cache = CatalogCache.enable(connection, 60_000, 100);
+        cache.put("PROD.**", params, List.of(dataset("PROD.APP.COBOL"), dataset("PROD.APP.JCL"),
+                dataset("PROD.OTHER.COBOL")));
+
+        assertEquals(List.of("PROD.APP.COBOL", "PROD.APP.JCL"), names(cache.lookup("prod.app.**", params).get()));
+        assertEquals(List.of("PROD.APP.COBOL", "PROD.OTHER.COBOL"), names(cache.lookup("PROD.*.COBOL", params).get()));
+        assertFalse(cache.lookup("TEST.**", params).isPresent());
+        assertFalse(cache.lookup("PROD.APP.**", new ListParams.Builder().volume("VOL001").build()).isPresent());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        CatalogCache.disable(connection);
+    }
+
+    @Test
+    public void tstInvalidateSuccess() {
+        CatalogCache cache = CatalogCache.enable(connection, 60_000, 100);
+        cache.put("PROD.APP.**", params, List.of(dataset("PROD.APP.COBOL")));
+        cache.put("TEST.**", params, List.of(dataset("TEST.APP.COBOL")));
+
+        CatalogCache.invalidate(connection, "PROD.APP.NEW(MEMBER)");
+
+        assertFalse(cache.lookup("PROD.APP.**", params).isPresent());
+        assertTrue(cache.lookup("TEST.**", params).isPresent());
+        assertEquals(1, cache.getDatasetCount());
+        CatalogCache.disable(connection);
+    }
+
+    @Test
+    public void tstInvalidateLiteralPrefixSuccess() {
+        CatalogCache cache = CatalogCache.enable(connection, 60_000, 100);
+        cache.put("PROD.APP", params, List.of(dataset("PROD.APP.COBOL")));
+        cache.put("PROD.APPL", params, List.of(dataset("PROD.APPL.COBOL")));
+        cache.put("PROD.APP.NEW.OLD", params, List.of(dataset("PROD.APP.NEW.OLD")));
+
+        CatalogCache.invalidate(connection, "PROD.APP.NEW");
+
+        assertFalse(cache.lookup("PROD.APP", params).isPresent());
+        assertTrue(cache.lookup("PROD.APPL", params).isPresent());
+        assertTrue(cache.lookup("PROD.APP.NEW.OLD", params).isPresent());
+        CatalogCache.disable(connection);
+    }
+
+    @Test
+    public void tstSizeBoundSuccess() {
+        CatalogCache cache = CatalogCache.enable(connection, 60_000, 2);
+        cache.put("A.**", params, List.of(dataset("A.X"), dataset("A.Y")));
+        cache.put("B.**", params, List.of(dataset("B.X")));
+
+        assertFalse(cache.lookup("A.**", params).isPresent());
+        assertTrue(cache.lookup("B.**", params).isPresent());
+        assertEquals(1, cache.getDatasetCount());
+        CatalogCache.disable(connection);
+    }
+
+}
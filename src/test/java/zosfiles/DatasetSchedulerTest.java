@@ -0,0 +1,103 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package zosfiles;
+
+import org.junit.Test;
+import rest.ZosmfError;
+import rest.ZosmfRequestException;
+import zosfiles.response.TransferResult;
+import zosfiles.response.TransferSummary;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class DatasetSchedulerTest {
+
+    @Test
+    public void tstSerializedPerDatasetSuccess() throws Exception {
+        Map<String, AtomicInteger> running = new ConcurrentHashMap<>();
+        AtomicInteger maxPerDataset = new AtomicInteger();
+        AtomicInteger total = new AtomicInteger();
+        AtomicInteger maxTotal = new AtomicInteger();
+        List<String> members = IntStream.range(0, 40)
+                .mapToObj(i -> String.format("HLQ.LIB%d(MEM%d)", i % 4, i)).collect(Collectors.toList());
+
+        TransferSummary summary;
+        try (DatasetScheduler scheduler = new DatasetScheduler(8, 1)) {
+            summary = scheduler.runAll(members, member -> () -> {
+                AtomicInteger counter = running.computeIfAbsent(member.substring(0, 8), k -> new AtomicInteger());
+                maxPerDataset.accumulateAndGet(counter.incrementAndGet(), Math::max);
+                maxTotal.accumulateAndGet(total.incrementAndGet(), Math::max);
+                Thread.sleep(5);
+                total.decrementAndGet();
+                counter.decrementAndGet();
+            });
+        }
+
+        assertEquals(40, summary.getSucceeded().size());
+        assertEquals(1, maxPerDataset.get());
+        assertTrue(maxTotal.get() > 1);
+        assertEquals("HLQ.LIB0(MEM0)", summary.getResults().get(0).getName().orElse(""));
+    }
+
+    @Test
+    public void tstRetryEnqContentionSuccess() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        try (DatasetScheduler scheduler = new DatasetScheduler(2, 1, 3, 1)) {
+            assertTrue(scheduler.submit("HLQ.LIB(A)", () -> {
+                if (attempts.incrementAndGet() < 3) {
+                    throw new ZosmfRequestException("Http error code 500 Internal Server Error.", 500,
+                            new ZosmfError(4L, 8L, 0x210L, "Dynamic allocation Error", null));
+                }
+            }).get().isSuccess());
+            assertEquals(2, scheduler.getRetryCount());
+
+            assertFalse(scheduler.submit("HLQ.LIB(B)", () -> {
+                throw new Exception("http error code 404 Not Found");
+            }).get().isSuccess());
+            assertEquals(2, scheduler.getRetryCount());
+        }
+    }
+
+    @Test
+    public void tstOnlyEnqContentionRetried() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        try (DatasetScheduler scheduler = new DatasetScheduler(2, 1, 3, 1)) {
+            TransferResult notFound = scheduler.submit("HLQ.LIB(A)", () -> {
+                attempts.incrementAndGet();
+                throw new ZosmfRequestException("Http error code 404 Not Found.", 404,
+                        new ZosmfError(1L, 4L, 8L, "Data set not found", null));
+            }).get();
+            TransferResult permission = scheduler.submit("HLQ.ENQUIRY(B)", () -> {
+                attempts.incrementAndGet();
+                throw new ZosmfRequestException("Http error code 500 Internal Server Error.", 500,
+                        new ZosmfError(5L, 8L, 0L, "Not authorized to HLQ.ENQUIRY, data set in use by RACF",
+                                List.of("ICH408I USER(ABC) ACCESS INTENT(UPDATE) ACCESS ALLOWED(READ)")));
+            }).get();
+            TransferResult untyped = scheduler.submit("HLQ.LIB(C)", () -> {
+                attempts.incrementAndGet();
+                throw new Exception("Http error code 500 Internal Server Error.");
+            }).get();
+
+            assertFalse(notFound.isSuccess());
+            assertFalse(permission.isSuccess());
+            assertFalse(untyped.isSuccess());
+            assertEquals(3, attempts.get());
+            assertEquals(0, scheduler.getRetryCount());
+        }
+    }
+
+}
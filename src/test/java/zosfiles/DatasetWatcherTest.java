@@ -0,0 +1,59 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package zosfiles;
+
+import org.junit.Test;
+import zosfiles.response.DatasetEvent;
+import zosfiles.response.Member;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class DatasetWatcherTest {
+
+    private static Member member(String name, String mtime) {
+        return new Member.Builder().member(name).vers("01").mod("01").m4date("2026/10/19").mtime(mtime).build();
+    }
+
+    private static List<String> describe(List<DatasetEvent> events) {
+        return events.stream().map(e -> e.getType().get() + " " + e.getMemberName().get())
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void tstDiffSuccess() {
+        Map<String, Long> first = new HashMap<>();
+        List<DatasetEvent> events = DatasetWatcher.diff("HLQ.LIB", Map.of(),
+                List.of(member("A", "10:00"), member("B", "10:00"), member("C", "10:00")).iterator(), first);
+        assertEquals(List.of("ADDED A", "ADDED B", "ADDED C"), describe(events));
+
+        Map<String, Long> second = new HashMap<>();
+        events = DatasetWatcher.diff("HLQ.LIB", first,
+                List.of(member("A", "10:00"), member("B", "11:00"), member("D", "11:00")).iterator(), second);
+        assertEquals(List.of("CHANGED B", "ADDED D", "DELETED C"), describe(events));
+        assertEquals("HLQ.LIB", events.get(0).getDataSetName().get());
+        assertTrue(events.get(0).getMember().isPresent());
+        assertFalse(events.get(2).getMember().isPresent());
+        assertEquals(first.get("A"), second.get("A"));
+    }
+
+    @Test
+    public void tstNextIntervalSuccess() {
+        assertEquals(5_000, DatasetWatcher.getNextInterval(5_000, true, 5_000, 60_000));
+        assertEquals(7_500, DatasetWatcher.getNextInterval(5_000, false, 5_000, 60_000));
+        assertEquals(20_000, DatasetWatcher.getNextInterval(40_000, true, 5_000, 60_000));
+        assertEquals(60_000, DatasetWatcher.getNextInterval(50_000, false, 5_000, 60_000));
+    }
+
+}
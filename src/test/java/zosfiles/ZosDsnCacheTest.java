@@ -0,0 +1,107 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package zosfiles;
+
+import core.ZOSConnection;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.powermock.reflect.Whitebox;
+import rest.Response;
+import zosfiles.input.DownloadParams;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+
+public class ZosDsnCacheTest {
+
+    private final ZOSConnection connection = new ZOSConnection("1", "1", "1", "1");
+
+    private final DownloadParams params = new DownloadParams.Builder().build();
+
+    private Path directory;
+
+    @Before
+    public void init() throws Exception {
+        directory = Files.createTempDirectory("zosdsncache");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(f -> f.toFile().delete());
+        }
+    }
+
+    @Test
+    public void tstInvalidateRemovesDiskEntries() throws Exception {
+        // entries larger than the memory tier go straight to disk
+        ZosDsnCache cache = getCache();
+        cache.download("HLQ.LIB(A)", params);
+        cache.download("HLQ.LIB(B)", params);
+        assertEquals(0, cache.getMemoryBytes());
+        assertEquals(20, cache.getDiskBytes());
+
+        cache.invalidate("hlq.lib(a)");
+
+        assertEquals(10, cache.getDiskBytes());
+        assertEquals(3, countFiles());
+
+        // a cache reusing the directory only finds the remaining entry
+        assertEquals(10, getCache().getDiskBytes());
+    }
+
+    @Test
+    public void tstCallerCannotModifyCachedContent() throws Exception {
+        ZosDsnCache cache = new ZosDsnCache(connection, 1000);
+        ZosDsnDownload download = Mockito.mock(ZosDsnDownload.class);
+        Mockito.when(download.downloadDsnIfNoneMatch(anyString(), any(DownloadParams.class), isNull()))
+                .thenAnswer(invocation -> new Response(new ByteArrayInputStream(
+                        "0123456789".getBytes(StandardCharsets.UTF_8)), 200, Map.of("ETag", "\"1\"")));
+        Mockito.when(download.downloadDsnIfNoneMatch(anyString(), any(DownloadParams.class), eq("\"1\"")))
+                .thenAnswer(invocation -> new Response(null, 304, Map.of("ETag", "\"1\"")));
+        Whitebox.setInternalState(cache, "download", download);
+
+        cache.download("HLQ.LIB(A)", params)[0] = 'X';
+        cache.download("HLQ.LIB(A)", params)[1] = 'X';
+
+        assertEquals("0123456789", new String(cache.download("HLQ.LIB(A)", params), StandardCharsets.UTF_8));
+        assertEquals(2, cache.getHitCount());
+    }
+
+    private ZosDsnCache getCache() throws Exception {
+        ZosDsnCache cache = new ZosDsnCache(connection, 4, directory, 1000);
+        ZosDsnDownload download = Mockito.mock(ZosDsnDownload.class);
+        Mockito.when(download.downloadDsnIfNoneMatch(anyString(), any(DownloadParams.class), isNull()))
+                .thenAnswer(invocation -> new Response(new ByteArrayInputStream(
+                        "0123456789".getBytes(StandardCharsets.UTF_8)), 200, Map.of("ETag", "\"1\"")));
+        Whitebox.setInternalState(cache, "download", download);
+        return cache;
+    }
+
+    private long countFiles() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+}
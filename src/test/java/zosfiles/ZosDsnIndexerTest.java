@@ -0,0 +1,165 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package zosfiles;
+
+import core.ZOSConnection;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.powermock.reflect.Whitebox;
+import rest.Response;
+import zosfiles.input.DownloadParams;
+import zosfiles.input.ListParams;
+import zosfiles.response.Member;
+import zosfiles.response.SearchHit;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+public class ZosDsnIndexerTest {
+
+    private final ZOSConnection connection = new ZOSConnection("1", "1", "1", "1");
+
+    /**
+     * Member content and change token as returned by the stubbed z/OSMF
+     */
+    private final Map<String, String> contents = new HashMap<>();
+    private final Map<String, String> tokens = new HashMap<>();
+    private final List<String> downloads = Collections.synchronizedList(new ArrayList<>());
+
+    private Path directory;
+
+    @Before
+    public void init() throws Exception {
+        directory = Files.createTempDirectory("zosdsnindexer");
+        put("A", "//JOB1 JOB\n//STEP EXEC PGM=IEFBR14\n", "1");
+        put("B", "abc xyz bcd\nMOVE WS-ABCD TO OUT\n", "1");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(f -> f.toFile().delete());
+        }
+    }
+
+    @Test
+    public void tstTrigramIntersectionSuccess() throws Exception {
+        ZosDsnIndexer indexer = getIndexer();
+        assertEquals(2, indexer.update("HLQ.LIB", 2).getSucceeded().size());
+
+        // B holds the trigrams abc and bcd in one line, but abcd only in the second line
+        List<SearchHit> hits = indexer.findSubstring("ABCD");
+        assertEquals(1, hits.size());
+        assertEquals("HLQ.LIB(B)", hits.get(0).getName().orElse(""));
+        assertEquals(2, hits.get(0).getLineNumber());
+
+        assertEquals(List.of("HLQ.LIB(A)"), getNames(indexer.findSubstring("iefbr14")));
+        assertTrue(indexer.findSubstring("qqq").isEmpty());
+        assertEquals(List.of("HLQ.LIB(A)"), getNames(indexer.findToken("pgm")));
+        assertTrue(indexer.findToken("abcd").isEmpty());
+    }
+
+    @Test
+    public void tstIncrementalUpdateByChangeToken() throws Exception {
+        ZosDsnIndexer indexer = getIndexer();
+        indexer.update("HLQ.LIB", 2);
+        downloads.clear();
+
+        assertEquals(0, indexer.update("HLQ.LIB", 2).getResults().size());
+        assertTrue(downloads.isEmpty());
+
+        // the changed member is downloaded again and its old postings are dropped
+        put("A", "//JOB2 JOB\n", "2");
+        indexer.update("HLQ.LIB", 2);
+        assertEquals(List.of("HLQ.LIB(A)"), downloads);
+        assertTrue(indexer.findToken("iefbr14").isEmpty());
+        assertEquals(List.of("HLQ.LIB(A)"), getNames(indexer.findToken("job2")));
+    }
+
+    @Test
+    public void tstDeletedMemberRemoved() throws Exception {
+        ZosDsnIndexer indexer = getIndexer();
+        indexer.update("HLQ.LIB", 2);
+        assertEquals(2, indexer.getMemberCount());
+
+        contents.remove("A");
+        tokens.remove("A");
+        indexer.update("HLQ.LIB", 2);
+
+        assertEquals(1, indexer.getMemberCount());
+        assertTrue(indexer.findToken("iefbr14").isEmpty());
+        assertTrue(indexer.findSubstring("job").isEmpty());
+        try (Stream<Path> files = Files.list(directory.resolve("content"))) {
+            assertEquals(1, files.count());
+        }
+
+        // the index is restored by a new indexer without the deleted member
+        ZosDsnIndexer restored = getIndexer();
+        assertEquals(1, restored.getMemberCount());
+        assertEquals(List.of("HLQ.LIB(B)"), getNames(restored.findSubstring("abcd")));
+    }
+
+    @Test
+    public void tstRestoredIndexDropsChangedPostings() throws Exception {
+        getIndexer().update("HLQ.LIB", 2);
+
+        // the postings of a member are found again after the index is restored
+        ZosDsnIndexer restored = getIndexer();
+        put("B", "abc xyz\n", "2");
+        restored.update("HLQ.LIB", 2);
+
+        assertTrue(restored.findSubstring("abcd").isEmpty());
+        assertTrue(restored.findToken("ws-abcd").isEmpty());
+        assertEquals(List.of("HLQ.LIB(B)"), getNames(restored.findToken("xyz")));
+        assertEquals(List.of("HLQ.LIB(A)"), getNames(restored.findToken("iefbr14")));
+    }
+
+    private void put(String member, String content, String token) {
+        contents.put(member, content);
+        tokens.put(member, token);
+    }
+
+    private static List<String> getNames(List<SearchHit> hits) {
+        return hits.stream().map(h -> h.getName().orElse("")).distinct().collect(Collectors.toList());
+    }
+
+    private ZosDsnIndexer getIndexer() throws Exception {
+        ZosDsnIndexer indexer = new ZosDsnIndexer(connection, directory);
+
+        ZosDsnList list = Mockito.mock(ZosDsnList.class);
+        Mockito.when(list.listMembers(anyString(), any(ListParams.class))).thenAnswer(invocation ->
+                tokens.keySet().stream().sorted().map(m -> new Member.Builder().member(m).m4date("2024/01/01")
+                        .vers(tokens.get(m)).build()).collect(Collectors.toList()));
+        ZosDsnDownload download = Mockito.mock(ZosDsnDownload.class);
+        Mockito.when(download.downloadDsnIfNoneMatch(anyString(), any(DownloadParams.class), any()))
+                .thenAnswer(invocation -> {
+                    String name = invocation.getArgument(0);
+                    downloads.add(name);
+                    String member = name.substring(name.indexOf('(') + 1, name.length() - 1);
+                    return new Response(new ByteArrayInputStream(contents.get(member)
+                            .getBytes(StandardCharsets.UTF_8)), 200, Map.of("ETag", "\"" + tokens.get(member) + "\""));
+                });
+        Whitebox.setInternalState(indexer, "list", list);
+        Whitebox.setInternalState(indexer, "download", download);
+        return indexer;
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package zosfiles;
+
+import core.ZOSConnection;
+import org.junit.Test;
+import org.mockito.Mockito;
+import zosfiles.input.ListParams;
+import zosfiles.response.Member;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+public class ZosDsnListTest {
+
+    private static final List<String> MEMBERS = List.of("A", "B", "C", "D", "E");
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void tstIterateMembersPagesWithRepeatedStart() throws Exception {
+        ZosDsnList zosDsnList = Mockito.spy(new ZosDsnList(new ZOSConnection("1", "1", "1", "1")));
+        // z/OSMF returns up to maxLength members starting at and including the start member
+        Mockito.doAnswer(invocation -> {
+            ListParams params = invocation.getArgument(1);
+            Consumer<Member> consumer = invocation.getArgument(2);
+            int from = params.getStart().map(MEMBERS::indexOf).orElse(0);
+            int to = Math.min(from + Integer.parseInt(params.getMaxLength().orElse("1000")), MEMBERS.size());
+            MEMBERS.subList(from, to).forEach(name -> consumer.accept(new Member.Builder().member(name).build()));
+            return (long) (to - from);
+        }).when(zosDsnList).listMembers(anyString(), any(ListParams.class), any(Consumer.class));
+
+        for (String maxLength : List.of("2", "3", "5", "1000")) {
+            List<String> names = new ArrayList<>();
+            Iterator<Member> members = zosDsnList.iterateMembers("HLQ.LIB",
+                    new ListParams.Builder().maxLength(maxLength).build());
+            members.forEachRemaining(member -> names.add(member.getMember().orElse("")));
+            assertEquals(MEMBERS, names);
+
+            names.clear();
+            members = zosDsnList.iterateMembers("HLQ.LIB",
+                    new ListParams.Builder().maxLength(maxLength).start("B").build());
+            members.forEachRemaining(member -> names.add(member.getMember().orElse("")));
+            assertEquals(MEMBERS.subList(1, MEMBERS.size()), names);
+        }
+    }
+
+    @Test
+    public void tstIterateMembersRejectsInvalidMaxLength() {
+        ZosDsnList zosDsnList = new ZosDsnList(new ZOSConnection("1", "1", "1", "1"));
+        for (String maxLength : List.of("1", "0", "abc")) {
+            try {
+                zosDsnList.iterateMembers("HLQ.LIB", new ListParams.Builder().maxLength(maxLength).build());
+                fail();
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage().contains("maxLength"));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+package zosfiles;
+
+import core.ZOSConnection;
+import org.junit.Test;
+import org.mockito.Mockito;
+import rest.Response;
+import zosfiles.response.TransferSummary;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.anyString;
+
+public class ZosDsnTest {
+
+    private final List<String> members = IntStream.range(0, 12).mapToObj(i -> "MEM" + i)
+            .collect(Collectors.toList());
+
+    @Test
+    public void tstDeleteMembersConcurrentByDefault() throws Exception {
+        AtomicInteger maxRunning = new AtomicInteger();
+        ZosDsn zosDsn = getZosDsn(maxRunning);
+
+        TransferSummary summary = zosDsn.deleteMembers("HLQ.LIB", members, 8);
+
+        assertEquals(12, summary.getSucceeded().size());
+        assertEquals("HLQ.LIB(MEM0)", summary.getResults().get(0).getName().orElse(""));
+        assertTrue(maxRunning.get() > 1);
+        assertTrue(maxRunning.get() <= 8);
+    }
+
+    @Test
+    public void tstDeleteMembersBoundByMaxPerDataset() throws Exception {
+        AtomicInteger maxRunning = new AtomicInteger();
+        ZosDsn zosDsn = getZosDsn(maxRunning);
+
+        TransferSummary summary = zosDsn.deleteMembers("HLQ.LIB", members, 8, 2);
+
+        assertEquals(12, summary.getSucceeded().size());
+        assertTrue(maxRunning.get() <= 2);
+    }
+
+    private ZosDsn getZosDsn(AtomicInteger maxRunning) throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        ZosDsn zosDsn = Mockito.spy(new ZosDsn(new ZOSConnection("1", "1", "1", "1")));
+        Mockito.doAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return new Response(null, 204);
+        }).when(zosDsn).deleteDsn(anyString());
+        return zosDsn;
+    }
+
+}